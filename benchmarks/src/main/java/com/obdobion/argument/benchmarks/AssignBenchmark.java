@@ -0,0 +1,115 @@
+package com.obdobion.argument.benchmarks;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.obdobion.argument.CmdLine;
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * Assigns many values into array and list fields, which is mostly the work of
+ * the {@link com.obdobion.argument.variables.VariableAssigner}.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignBenchmark
+{
+    static public class ArrayOptions
+    {
+        @Arg(shortName = 'i')
+        int[]    ints;
+
+        @Arg(shortName = 's')
+        String[] strings;
+    }
+
+    static public class ListOptions
+    {
+        @Arg(shortName = 'i')
+        List<Integer> ints;
+
+        @Arg(shortName = 's')
+        List<String>  strings;
+    }
+
+    /**
+     * The number of values given to each argument.
+     */
+    @Param({ "10", "1000" })
+    public int     values;
+
+    private String args;
+
+    /**
+     * <p>
+     * assignArrays.
+     * </p>
+     *
+     * @return the target.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public ArrayOptions assignArrays() throws ParseException, IOException
+    {
+        final ArrayOptions target = new ArrayOptions();
+        CmdLine.load(target, args);
+        return target;
+    }
+
+    /**
+     * <p>
+     * assignLists.
+     * </p>
+     *
+     * @return the target.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public ListOptions assignLists() throws ParseException, IOException
+    {
+        final ListOptions target = new ListOptions();
+        CmdLine.load(target, args);
+        return target;
+    }
+
+    /**
+     * <p>
+     * setup.
+     * </p>
+     */
+    @Setup
+    public void setup()
+    {
+        final StringBuilder ints = new StringBuilder("-i");
+        final StringBuilder strings = new StringBuilder(" -s");
+        for (int v = 0; v < values; v++)
+        {
+            ints.append(' ').append(v);
+            strings.append(" value").append(v);
+        }
+        args = ints.append(strings).toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.obdobion.argument.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line options. Unless they
+ * say otherwise the results are written as JSON to target/jmh-result.json so
+ * that runs from different releases can be compared.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class BenchmarkMain
+{
+    /** Constant <code>DefaultResultFile="target/jmh-result.json"</code> */
+    public static final String DefaultResultFile = "target/jmh-result.json";
+
+    /**
+     * <p>
+     * main.
+     * </p>
+     *
+     * @param args the JMH command line options.
+     * @throws java.lang.Exception if any.
+     */
+    public static void main(final String[] args) throws Exception
+    {
+        final CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+
+        if (!cmdOptions.getResultFormat().hasValue())
+        {
+            options.resultFormat(ResultFormatType.JSON);
+            if (!cmdOptions.getResult().hasValue())
+                options.result(DefaultResultFile);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,133 @@
+package com.obdobion.argument.benchmarks;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.obdobion.argument.CmdLine;
+import com.obdobion.argument.CompiledCmdLine;
+import com.obdobion.argument.CompiledCmdLineRegistry;
+import com.obdobion.argument.ICmdLine;
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * Compiles the annotations of a small and a wide option class, and loads them
+ * once the compiled definition has been registered.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompileBenchmark
+{
+    static public class SmallOptions
+    {
+        @Arg(shortName = 'v')
+        boolean verbose;
+
+        @Arg(shortName = 'n')
+        String  name;
+
+        @Arg(shortName = 'c')
+        int     count;
+    }
+
+    static private final String SmallArgs = "-v -n benchmark -c 10";
+
+    private String              wideArgs;
+
+    /**
+     * <p>
+     * compileSmall.
+     * </p>
+     *
+     * @return the compiled definition.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public CompiledCmdLine compileSmall() throws ParseException, IOException
+    {
+        CompiledCmdLineRegistry.forget(SmallOptions.class);
+        return CompiledCmdLine.compile(SmallOptions.class);
+    }
+
+    /**
+     * <p>
+     * compileWide.
+     * </p>
+     *
+     * @return the compiled definition.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public CompiledCmdLine compileWide() throws ParseException, IOException
+    {
+        CompiledCmdLineRegistry.forget(WideOptions.class);
+        return CompiledCmdLine.compile(WideOptions.class);
+    }
+
+    /**
+     * <p>
+     * loadSmall.
+     * </p>
+     *
+     * @return the parsed command line.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public ICmdLine loadSmall() throws ParseException, IOException
+    {
+        return CmdLine.load(new SmallOptions(), SmallArgs);
+    }
+
+    /**
+     * <p>
+     * loadWide.
+     * </p>
+     *
+     * @return the parsed command line.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public ICmdLine loadWide() throws ParseException, IOException
+    {
+        return CmdLine.load(new WideOptions(), wideArgs);
+    }
+
+    /**
+     * Supplies every argument of the wide class by its full name.
+     */
+    @Setup
+    public void setup()
+    {
+        final String[] sampleValues = { "text", "1", null, "1.5", "x y z", "9" };
+        final StringBuilder args = new StringBuilder();
+        for (int o = 0; o < 60; o++)
+        {
+            args.append(String.format(" --option%02d", o));
+            if (sampleValues[o % 6] != null)
+                args.append(' ').append(sampleValues[o % 6]);
+        }
+        wideArgs = args.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.obdobion.argument.benchmarks;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.obdobion.argument.CmdLine;
+import com.obdobion.argument.ICmdLine;
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * Exports a parsed command line in each of the supported formats and loads
+ * the export back into a new target.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportBenchmark
+{
+    static public class Inner
+    {
+        @Arg(shortName = 'k')
+        String key;
+
+        @Arg(shortName = 'i')
+        int[]  values;
+    }
+
+    static public class Options
+    {
+        @Arg(shortName = 'v')
+        boolean  verbose;
+
+        @Arg(shortName = 'n')
+        String   name;
+
+        @Arg(shortName = 'd')
+        double[] doubles;
+
+        @Arg(shortName = 'g')
+        Inner[]  groups;
+    }
+
+    private ICmdLine parsed;
+
+    /**
+     * <p>
+     * commandLineRoundTrip.
+     * </p>
+     *
+     * @return the reloaded command line.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public ICmdLine commandLineRoundTrip() throws ParseException, IOException
+    {
+        final StringBuilder out = new StringBuilder();
+        parsed.exportCommandLine(out);
+        return CmdLine.load(new Options(), out.toString());
+    }
+
+    /**
+     * <p>
+     * namespaceRoundTrip.
+     * </p>
+     *
+     * @return the reloaded command line.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public ICmdLine namespaceRoundTrip() throws ParseException, IOException
+    {
+        final StringBuilder out = new StringBuilder();
+        parsed.exportNamespace("", out);
+        return CmdLine.loadProperties(new Options(), out.toString().split("\n"));
+    }
+
+    /**
+     * <p>
+     * setup.
+     * </p>
+     *
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Setup
+    public void setup() throws ParseException, IOException
+    {
+        parsed = CmdLine.load(new Options(),
+                "-v -n 'export benchmark' -d 1.5 2.5 3.5 -g (-k one -i 1 2 3) (-k two -i 4 5 6) (-k three -i 7)");
+    }
+
+    /**
+     * <p>
+     * xmlRoundTrip.
+     * </p>
+     *
+     * @return the reloaded command line.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public ICmdLine xmlRoundTrip() throws ParseException, IOException
+    {
+        final StringBuilder out = new StringBuilder();
+        out.append("<cmdline>");
+        parsed.exportXml(out);
+        out.append("</cmdline>");
+        return CmdLine.loadXml(new Options(), out.toString());
+    }
+}
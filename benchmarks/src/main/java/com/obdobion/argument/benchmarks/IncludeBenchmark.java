@@ -0,0 +1,110 @@
+package com.obdobion.argument.benchmarks;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.obdobion.argument.CmdLine;
+import com.obdobion.argument.ICmdLine;
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * Parses a command line that reads most of its arguments from an include
+ * file.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncludeBenchmark
+{
+    static public class Options
+    {
+        @Arg(shortName = 'v')
+        boolean  verbose;
+
+        @Arg(shortName = 'n')
+        String[] names;
+
+        @Arg(shortName = 'c')
+        int      count;
+    }
+
+    /**
+     * The number of values in the include file.
+     */
+    @Param({ "10", "1000" })
+    public int     values;
+
+    private File   includeFile;
+
+    private String args;
+
+    /**
+     * <p>
+     * parseInclude.
+     * </p>
+     *
+     * @return the parsed command line.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public ICmdLine parseInclude() throws ParseException, IOException
+    {
+        return CmdLine.load(new Options(), args);
+    }
+
+    /**
+     * <p>
+     * setup.
+     * </p>
+     *
+     * @throws java.io.IOException if any.
+     */
+    @Setup
+    public void setup() throws IOException
+    {
+        includeFile = File.createTempFile("argumentBenchmark", ".txt");
+        try (Writer out = new FileWriter(includeFile))
+        {
+            out.write("-c 5\n-n");
+            for (int v = 0; v < values; v++)
+                out.write(" name" + v);
+            out.write("\n");
+        }
+        args = "-v @" + includeFile.getAbsolutePath();
+    }
+
+    /**
+     * <p>
+     * tearDown.
+     * </p>
+     */
+    @TearDown
+    public void tearDown()
+    {
+        includeFile.delete();
+    }
+}
@@ -0,0 +1,118 @@
+package com.obdobion.argument.benchmarks;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.obdobion.argument.CmdLine;
+import com.obdobion.argument.ICmdLine;
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * Parses groups nested four deep, with several occurrences at each level.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NestedGroupBenchmark
+{
+    static public class Level1
+    {
+        @Arg(shortName = 'a')
+        String   name;
+
+        @Arg(shortName = 'g')
+        Level2[] groups;
+    }
+
+    static public class Level2
+    {
+        @Arg(shortName = 'a')
+        String   name;
+
+        @Arg(shortName = 'g')
+        Level3[] groups;
+    }
+
+    static public class Level3
+    {
+        @Arg(shortName = 'a')
+        String   name;
+
+        @Arg(shortName = 'g')
+        Level4[] groups;
+    }
+
+    static public class Level4
+    {
+        @Arg(shortName = 'a')
+        String name;
+
+        @Arg(shortName = 'i')
+        int[]  values;
+    }
+
+    static private String occurrences(final int level, final int width)
+    {
+        final StringBuilder args = new StringBuilder();
+        args.append("-a level").append(level);
+        if (level == 4)
+            return args.append(" -i 1 2 3").toString();
+        args.append(" -g");
+        for (int w = 0; w < width; w++)
+            args.append(" (").append(occurrences(level + 1, width)).append(')');
+        return args.toString();
+    }
+
+    /**
+     * The number of occurrences of each group inside its parent.
+     */
+    @Param({ "1", "4" })
+    public int     width;
+
+    private String args;
+
+    /**
+     * <p>
+     * parseNested.
+     * </p>
+     *
+     * @return the parsed command line.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public ICmdLine parseNested() throws ParseException, IOException
+    {
+        return CmdLine.load(new Level1(), args);
+    }
+
+    /**
+     * <p>
+     * setup.
+     * </p>
+     */
+    @Setup
+    public void setup()
+    {
+        args = occurrences(1, width);
+    }
+}
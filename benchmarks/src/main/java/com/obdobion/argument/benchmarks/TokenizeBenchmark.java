@@ -0,0 +1,76 @@
+package com.obdobion.argument.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.obdobion.argument.input.CommandLineParser;
+import com.obdobion.argument.input.Token;
+
+/**
+ * Splits command lines into tokens with
+ * {@link CommandLineParser#parseTokens()}.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizeBenchmark
+{
+    /**
+     * The number of times the sample arguments are repeated on the command
+     * line.
+     */
+    @Param({ "1", "1000" })
+    public int      repeats;
+
+    private String[] args;
+
+    /**
+     * <p>
+     * setup.
+     * </p>
+     */
+    @Setup
+    public void setup()
+    {
+        args = new String[repeats * 6];
+        for (int r = 0; r < repeats; r++)
+        {
+            args[r * 6] = "-v";
+            args[r * 6 + 1] = "--name";
+            args[r * 6 + 2] = "\"a quoted value\"";
+            args[r * 6 + 3] = "-n";
+            args[r * 6 + 4] = String.valueOf(r);
+            args[r * 6 + 5] = "(-x 1 -y 'two')";
+        }
+    }
+
+    /**
+     * <p>
+     * parseTokens.
+     * </p>
+     *
+     * @return the tokens.
+     */
+    @Benchmark
+    public Token[] parseTokens()
+    {
+        return CommandLineParser.getInstance('-', args).parseTokens();
+    }
+}
@@ -0,0 +1,193 @@
+package com.obdobion.argument.benchmarks;
+
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * An option class with many arguments, all sharing the same prefix so that
+ * abbreviated keywords have many candidates.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class WideOptions
+{
+    @Arg
+    String   option00;
+
+    @Arg
+    int      option01;
+
+    @Arg
+    boolean  option02;
+
+    @Arg
+    double   option03;
+
+    @Arg
+    String[] option04;
+
+    @Arg
+    long     option05;
+
+    @Arg
+    String   option06;
+
+    @Arg
+    int      option07;
+
+    @Arg
+    boolean  option08;
+
+    @Arg
+    double   option09;
+
+    @Arg
+    String[] option10;
+
+    @Arg
+    long     option11;
+
+    @Arg
+    String   option12;
+
+    @Arg
+    int      option13;
+
+    @Arg
+    boolean  option14;
+
+    @Arg
+    double   option15;
+
+    @Arg
+    String[] option16;
+
+    @Arg
+    long     option17;
+
+    @Arg
+    String   option18;
+
+    @Arg
+    int      option19;
+
+    @Arg
+    boolean  option20;
+
+    @Arg
+    double   option21;
+
+    @Arg
+    String[] option22;
+
+    @Arg
+    long     option23;
+
+    @Arg
+    String   option24;
+
+    @Arg
+    int      option25;
+
+    @Arg
+    boolean  option26;
+
+    @Arg
+    double   option27;
+
+    @Arg
+    String[] option28;
+
+    @Arg
+    long     option29;
+
+    @Arg
+    String   option30;
+
+    @Arg
+    int      option31;
+
+    @Arg
+    boolean  option32;
+
+    @Arg
+    double   option33;
+
+    @Arg
+    String[] option34;
+
+    @Arg
+    long     option35;
+
+    @Arg
+    String   option36;
+
+    @Arg
+    int      option37;
+
+    @Arg
+    boolean  option38;
+
+    @Arg
+    double   option39;
+
+    @Arg
+    String[] option40;
+
+    @Arg
+    long     option41;
+
+    @Arg
+    String   option42;
+
+    @Arg
+    int      option43;
+
+    @Arg
+    boolean  option44;
+
+    @Arg
+    double   option45;
+
+    @Arg
+    String[] option46;
+
+    @Arg
+    long     option47;
+
+    @Arg
+    String   option48;
+
+    @Arg
+    int      option49;
+
+    @Arg
+    boolean  option50;
+
+    @Arg
+    double   option51;
+
+    @Arg
+    String[] option52;
+
+    @Arg
+    long     option53;
+
+    @Arg
+    String   option54;
+
+    @Arg
+    int      option55;
+
+    @Arg
+    boolean  option56;
+
+    @Arg
+    double   option57;
+
+    @Arg
+    String[] option58;
+
+    @Arg
+    long     option59;
+}
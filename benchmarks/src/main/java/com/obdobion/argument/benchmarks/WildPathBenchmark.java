@@ -0,0 +1,124 @@
+package com.obdobion.argument.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.obdobion.argument.type.WildPath;
+
+/**
+ * Scans a generated directory tree with wild card patterns.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WildPathBenchmark
+{
+    static private void generate(final File dir, final int depth, final int directoriesPerDirectory,
+            final int filesPerDirectory) throws IOException
+    {
+        for (int f = 0; f < filesPerDirectory; f++)
+        {
+            new File(dir, "file" + f + ".txt").createNewFile();
+            new File(dir, "Source" + f + ".java").createNewFile();
+        }
+        if (depth == 0)
+            return;
+        for (int d = 0; d < directoriesPerDirectory; d++)
+        {
+            final File subdir = new File(dir, "dir" + d);
+            subdir.mkdir();
+            generate(subdir, depth - 1, directoriesPerDirectory, filesPerDirectory);
+        }
+    }
+
+    /**
+     * The number of directory levels below the root of the tree.
+     */
+    @Param({ "3", "5" })
+    public int  depth;
+
+    private File root;
+
+    /**
+     * Every java file in the tree.
+     *
+     * @return the matching files.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public List<File> recursive() throws ParseException, IOException
+    {
+        return new WildPath(root.getAbsolutePath() + "/**/*.java").files();
+    }
+
+    /**
+     * <p>
+     * setup.
+     * </p>
+     *
+     * @throws java.io.IOException if any.
+     */
+    @Setup
+    public void setup() throws IOException
+    {
+        root = Files.createTempDirectory("argumentBenchmark").toFile();
+        generate(root, depth, 4, 5);
+    }
+
+    /**
+     * Text files in one directory two levels down, which only needs a small
+     * part of the tree.
+     *
+     * @return the matching files.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    @Benchmark
+    public List<File> specificDirectory() throws ParseException, IOException
+    {
+        return new WildPath(root.getAbsolutePath() + "/dir1/dir2/*.txt").files();
+    }
+
+    /**
+     * <p>
+     * tearDown.
+     * </p>
+     *
+     * @throws java.io.IOException if any.
+     */
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(root.toPath()))
+        {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.obdobion.argument.processor;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * How an annotated field is defined and assigned, worked out from its type in
+ * the same way as {@link com.obdobion.argument.type.ClaType#forField} and
+ * {@link com.obdobion.argument.variables.VariableAssigner} do with
+ * reflection. Only the types that those handle without a factory method or a
+ * group are supported here.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+class ArgField
+{
+    static private final Map<String, String> claTypes       = new HashMap<>();
+    static private final Map<String, String> arrayGetters   = new HashMap<>();
+    static private final Map<String, String> scalarGetters  = new HashMap<>();
+    static private final Set<String>         notInArrays    = new HashSet<>();
+    static private final Set<String>         notInLists     = new HashSet<>();
+
+    static
+    {
+        claType("STRING", "java.lang.String");
+        claType("INTEGER", "int", "java.lang.Integer");
+        claType("LONG", "long", "java.lang.Long");
+        claType("FILE", "java.io.File");
+        claType("WILDFILE", "com.obdobion.argument.type.WildFiles");
+        claType("DOUBLE", "double", "java.lang.Double");
+        claType("FLOAT", "float", "java.lang.Float");
+        claType("PATTERN", "java.util.regex.Pattern");
+        claType("DATETIMEFORMATTER", "java.time.format.DateTimeFormatter");
+        claType("SIMPLEDATEFORMAT", "java.text.SimpleDateFormat");
+        claType("DATE", "java.util.Date");
+        claType("CALENDAR", "java.util.Calendar");
+        claType("LOCALDATETIME", "java.time.LocalDateTime");
+        claType("LOCALDATE", "java.time.LocalDate");
+        claType("LOCALTIME", "java.time.LocalTime");
+        claType("BYTE", "byte", "java.lang.Byte");
+        claType("CHAR", "char", "java.lang.Character");
+        claType("BOOLEAN", "boolean", "java.lang.Boolean");
+        claType("EQU", "com.obdobion.algebrain.Equ");
+
+        arrayGetters.put("java.lang.String", "getValueAsStringArray");
+        arrayGetters.put("java.lang.Integer", "getValueAsIntegerArray");
+        arrayGetters.put("int", "getValueAsintArray");
+        arrayGetters.put("java.lang.Double", "getValueAsDoubleArray");
+        arrayGetters.put("double", "getValueAsdoubleArray");
+        arrayGetters.put("java.lang.Long", "getValueAsLongArray");
+        arrayGetters.put("long", "getValueAslongArray");
+        arrayGetters.put("byte", "getValueAsbyteArray");
+        arrayGetters.put("char", "getValueAscharArray");
+        arrayGetters.put("float", "getValueAsfloatArray");
+        arrayGetters.put("java.lang.Float", "getValueAsFloatArray");
+        arrayGetters.put("java.util.regex.Pattern", "getValueAsPatternArray");
+        arrayGetters.put("java.time.format.DateTimeFormatter", "getValueAsDateTimeFormatterArray");
+        arrayGetters.put("java.text.SimpleDateFormat", "getValueAsSimpleDateFormatArray");
+        arrayGetters.put("com.obdobion.algebrain.Equ", "getValueAsEquationArray");
+        arrayGetters.put("java.util.Date", "getValueAsDateArray");
+        arrayGetters.put("java.util.Calendar", "getValueAsCalendarArray");
+        arrayGetters.put("java.time.LocalDateTime", "getValueAsLocalDateTimeArray");
+        arrayGetters.put("java.time.LocalDate", "getValueAsLocalDateArray");
+        arrayGetters.put("java.time.LocalTime", "getValueAsLocalTimeArray");
+        arrayGetters.put("java.lang.Byte", "getValueAsByteArray");
+        arrayGetters.put("java.lang.Character", "getValueAsCharacterArray");
+        arrayGetters.put("java.io.File", "getValueAsFileArray");
+
+        scalarGetters.put("java.util.regex.Pattern", "getValueAsPattern");
+        scalarGetters.put("java.time.format.DateTimeFormatter", "getValueAsDateTimeFormatter");
+        scalarGetters.put("java.text.SimpleDateFormat", "getValueAsSimpleDateFormat");
+        scalarGetters.put("com.obdobion.algebrain.Equ", "getValueAsEquation");
+
+        notInArrays.add("boolean");
+        notInArrays.add("java.lang.Boolean");
+        /*
+         * WildFiles[] is assigned as a single value, leave that to reflection.
+         */
+        notInArrays.add("com.obdobion.argument.type.WildFiles");
+
+        notInLists.add("java.lang.Boolean");
+        notInLists.add("com.obdobion.argument.type.WildFiles");
+    }
+
+    /**
+     * Work out how a field is defined and assigned.
+     *
+     * @return null if the field must be left to reflection.
+     */
+    static ArgField forField(final VariableElement field, final Elements elements, final Types types)
+    {
+        final TypeMirror fieldType = field.asType();
+
+        if (fieldType.getKind() == TypeKind.ARRAY)
+        {
+            final TypeMirror component = ((ArrayType) fieldType).getComponentType();
+            final String componentName = typeName(component, types);
+            if (componentName == null || notInArrays.contains(componentName) || !claTypes.containsKey(componentName))
+                return null;
+            return new ArgField(field, claTypes.get(componentName), Shape.ARRAY, className(component, elements),
+                    arrayGetters.get(componentName), null);
+        }
+
+        final String name = typeName(fieldType, types);
+        if (name == null)
+            return null;
+
+        if ("java.util.List".equals(name))
+        {
+            final List<? extends TypeMirror> typeArgs = ((DeclaredType) fieldType).getTypeArguments();
+            if (typeArgs.size() != 1 || typeArgs.get(0).getKind() != TypeKind.DECLARED)
+                return null;
+            final String elementName = typeName(typeArgs.get(0), types);
+            if (notInLists.contains(elementName) || !claTypes.containsKey(elementName)
+                    || !((DeclaredType) typeArgs.get(0)).getTypeArguments().isEmpty())
+                return null;
+            return new ArgField(field, claTypes.get(elementName), Shape.LIST, className(typeArgs.get(0), elements),
+                    null, null);
+        }
+
+        if (fieldType.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) fieldType).asElement().getKind() == ElementKind.ENUM)
+            return new ArgField(field, "ENUM", Shape.ENUM, className(fieldType, elements), null, name);
+
+        if (!claTypes.containsKey(name))
+            return null;
+        final String castTo = fieldType.getKind().isPrimitive()
+                ? types.boxedClass(types.getPrimitiveType(fieldType.getKind())).getQualifiedName().toString()
+                : name;
+        return new ArgField(field, claTypes.get(name), Shape.SCALAR, null, scalarGetters.get(name), castTo);
+    }
+
+    static private void claType(final String claType, final String... typeNames)
+    {
+        for (final String typeName : typeNames)
+            claTypes.put(typeName, claType);
+    }
+
+    /**
+     * @return the name that {@link Class#getName()} gives for the type.
+     */
+    static private String className(final TypeMirror type, final Elements elements)
+    {
+        if (type.getKind().isPrimitive())
+            return type.toString();
+        return elements.getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+    }
+
+    /**
+     * @return the qualified name of a primitive or class type without any type
+     *         arguments, or null for any other type.
+     */
+    static private String typeName(final TypeMirror type, final Types types)
+    {
+        if (type.getKind().isPrimitive())
+            return type.toString();
+        if (type.getKind() != TypeKind.DECLARED)
+            return null;
+        return ((TypeElement) ((DeclaredType) types.erasure(type)).asElement()).getQualifiedName().toString();
+    }
+
+    enum Shape
+    {
+        SCALAR,
+        ENUM,
+        ARRAY,
+        LIST
+    }
+
+    final VariableElement field;
+    final String          claType;
+    final Shape           shape;
+    /*
+     * The instanceClass that the factory would give the argument.
+     */
+    final String          instanceClass;
+    final String          getter;
+    final String          castTo;
+
+    private ArgField(
+            final VariableElement _field,
+            final String _claType,
+            final Shape _shape,
+            final String _instanceClass,
+            final String _getter,
+            final String _castTo)
+    {
+        field = _field;
+        claType = _claType;
+        shape = _shape;
+        instanceClass = _instanceClass;
+        getter = _getter;
+        castTo = _castTo;
+    }
+
+    boolean isMultiple()
+    {
+        return shape == Shape.ARRAY || shape == Shape.LIST;
+    }
+
+    String name()
+    {
+        return field.getSimpleName().toString();
+    }
+}
@@ -0,0 +1,231 @@
+package com.obdobion.argument.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic.Kind;
+
+import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.annotation.Args;
+import com.obdobion.argument.annotation.GeneratedArgs;
+
+/**
+ * Generates an {@link com.obdobion.argument.annotation.IGeneratedArgs} for
+ * each class with {@link Arg} or {@link Args} fields. The generated class
+ * defines the arguments with the values of the annotations, so they are not
+ * read with reflection at run time, and assigns the parsed values directly to
+ * the fields.
+ * <p>
+ * A class is skipped, and left to reflection, if any of its arguments need
+ * something that is only known at run time. That includes groups, factory
+ * methods, enum lists, instance classes, references to embedded variables and
+ * private or final fields. The reason is given as a note.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+@SupportedAnnotationTypes({ "com.obdobion.argument.annotation.Arg", "com.obdobion.argument.annotation.Args" })
+public class ArgsProcessor extends AbstractProcessor
+{
+    static private class Skip extends Exception
+    {
+        private static final long serialVersionUID = 1L;
+
+        Skip(final String reason)
+        {
+            super(reason);
+        }
+    }
+
+    static private Arg[] annotationsOf(final VariableElement field)
+    {
+        final Args args = field.getAnnotation(Args.class);
+        if (args != null)
+            return args.value();
+        final Arg arg = field.getAnnotation(Arg.class);
+        if (arg != null)
+            return new Arg[] { arg };
+        return new Arg[] {};
+    }
+
+    private final Set<String> generated = new HashSet<>();
+
+    private void check(final ArgField argField, final Arg arg) throws Skip
+    {
+        if (!arg.variable().isEmpty())
+            throw new Skip(argField.name() + " refers to an embedded variable");
+        if (!arg.factoryMethod().isEmpty() || !arg.factoryArgName().isEmpty())
+            throw new Skip(argField.name() + " has a factory method");
+        if (!arg.inEnum().isEmpty())
+            throw new Skip(argField.name() + " has an enum list");
+        if (!arg.instanceClass().isEmpty())
+            throw new Skip(argField.name() + " has an instance class");
+        if (arg.excludeArgs().length > 0)
+            throw new Skip(argField.name() + " excludes arguments");
+        /*
+         * The factory reports these at run time.
+         */
+        final boolean multipleAllowed = argField.isMultiple() || "WILDFILE".equals(argField.claType);
+        if (arg.multimin() != 0 && (!multipleAllowed || arg.multimin() < 1))
+            throw new Skip(argField.name() + " has an invalid multimin");
+        if (arg.multimax() > 0 && (!multipleAllowed || arg.multimax() < arg.multimin()))
+            throw new Skip(argField.name() + " has an invalid multimax");
+    }
+
+    private void checkAccess(final TypeElement type, final VariableElement field) throws Skip
+    {
+        final Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE))
+            throw new Skip(field.getSimpleName() + " is private");
+        if (modifiers.contains(Modifier.FINAL))
+            throw new Skip(field.getSimpleName() + " is final");
+        if (modifiers.contains(Modifier.STATIC))
+            throw new Skip(field.getSimpleName() + " is static");
+
+        final TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+        final Elements elements = processingEnv.getElementUtils();
+        if (!elements.getPackageOf(declaringType).equals(elements.getPackageOf(type))
+                && (!modifiers.contains(Modifier.PUBLIC) || !declaringType.getModifiers().contains(Modifier.PUBLIC)))
+            throw new Skip(field.getSimpleName() + " is not visible from " + type.getQualifiedName());
+    }
+
+    private void checkType(final TypeElement type) throws Skip
+    {
+        if (type.getKind() != ElementKind.CLASS)
+            throw new Skip("only classes are supported");
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)
+            throw new Skip("local and anonymous classes are not supported");
+        if (!type.getTypeParameters().isEmpty())
+            throw new Skip("generic classes are not supported");
+        for (Element outer = type; outer instanceof TypeElement; outer = outer.getEnclosingElement())
+            if (outer.getModifiers().contains(Modifier.PRIVATE))
+                throw new Skip(((TypeElement) outer).getQualifiedName() + " is private");
+    }
+
+    /**
+     * The annotated fields of the class and then of its super classes, in the
+     * order that the reflection based compile finds them.
+     */
+    private List<VariableElement> fieldsOf(final TypeElement type)
+    {
+        final List<VariableElement> fields = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = superclassOf(current))
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements()))
+                if (field.getAnnotation(Arg.class) != null || field.getAnnotation(Args.class) != null)
+                    fields.add(field);
+        return fields;
+    }
+
+    private void generate(final TypeElement type) throws Skip, IOException
+    {
+        checkType(type);
+
+        final List<ArgField> argFields = new ArrayList<>();
+        final List<Arg> args = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        for (final VariableElement field : fieldsOf(type))
+        {
+            checkAccess(type, field);
+            if (!names.add(field.getSimpleName().toString()))
+                throw new Skip(field.getSimpleName() + " is hidden by a field of the same name");
+            final ArgField argField = ArgField.forField(field, processingEnv.getElementUtils(),
+                    processingEnv.getTypeUtils());
+            if (argField == null)
+                throw new Skip(field.getSimpleName() + " is a " + field.asType() + ", which needs reflection");
+            for (final Arg arg : annotationsOf(field))
+            {
+                check(argField, arg);
+                argFields.add(argField);
+                args.add(arg);
+            }
+        }
+
+        final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        final String simpleName = (pkg.isUnnamed()
+                ? binaryName
+                : binaryName.substring(pkg.getQualifiedName().length() + 1)) + GeneratedArgs.SUFFIX;
+        final String qualifiedName = pkg.isUnnamed()
+                ? simpleName
+                : pkg.getQualifiedName() + "." + simpleName;
+
+        try (PrintWriter out = new PrintWriter(
+                processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()))
+        {
+            new GeneratedArgsWriter(out, processingEnv.getElementUtils())
+                    .write(pkg, simpleName, type, argFields, args);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv)
+    {
+        final Set<TypeElement> types = new LinkedHashSet<>();
+        for (final Element field : roundEnv.getElementsAnnotatedWith(Arg.class))
+            types.add((TypeElement) field.getEnclosingElement());
+        for (final Element field : roundEnv.getElementsAnnotatedWith(Args.class))
+            types.add((TypeElement) field.getEnclosingElement());
+
+        for (final TypeElement type : types)
+        {
+            if (!generated.add(type.getQualifiedName().toString()))
+                continue;
+            try
+            {
+                generate(type);
+            } catch (final Skip e)
+            {
+                processingEnv.getMessager().printMessage(Kind.NOTE,
+                        "arguments will be compiled at run time: " + e.getMessage(), type);
+            } catch (final IOException e)
+            {
+                processingEnv.getMessager().printMessage(Kind.ERROR, e.toString(), type);
+            }
+        }
+        /*
+         * Other processors may want these annotations too.
+         */
+        return false;
+    }
+
+    private TypeElement superclassOf(final TypeElement type)
+    {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED)
+            return null;
+        final TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+        if (superType.getQualifiedName().contentEquals(Object.class.getName()))
+            return null;
+        return superType;
+    }
+}
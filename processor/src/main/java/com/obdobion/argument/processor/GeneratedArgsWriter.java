@@ -0,0 +1,181 @@
+package com.obdobion.argument.processor;
+
+import java.io.PrintWriter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * Writes the source of one generated class. The definitions set the same
+ * {@link com.obdobion.argument.type.CLAFactory} variables as
+ * {@link com.obdobion.argument.type.CLAFactory#instanceFor(char, java.lang.reflect.Field, Arg)}
+ * does from an annotation.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+class GeneratedArgsWriter
+{
+    private final PrintWriter out;
+    private final Elements    elements;
+
+    GeneratedArgsWriter(final PrintWriter _out, final Elements _elements)
+    {
+        out = _out;
+        elements = _elements;
+    }
+
+    private String literal(final String value)
+    {
+        return elements.getConstantExpression(value);
+    }
+
+    private String literals(final String[] values)
+    {
+        final StringBuilder sb = new StringBuilder("new String[] {");
+        for (int v = 0; v < values.length; v++)
+        {
+            if (v > 0)
+                sb.append(",");
+            sb.append(" ").append(literal(values[v]));
+        }
+        return sb.append(" }").toString();
+    }
+
+    void write(
+            final PackageElement pkg,
+            final String simpleName,
+            final TypeElement type,
+            final List<ArgField> argFields,
+            final List<Arg> args)
+    {
+        if (!pkg.isUnnamed())
+        {
+            out.println("package " + pkg.getQualifiedName() + ";");
+            out.println();
+        }
+        out.println("/**");
+        out.println(" * Generated by " + ArgsProcessor.class.getName() + " from " + type.getQualifiedName() + ".");
+        out.println(" */");
+        out.println("public final class " + simpleName + " implements com.obdobion.argument.annotation.IGeneratedArgs");
+        out.println("{");
+        writeAssign(type, argFields);
+        out.println();
+        writeDefine(argFields, args);
+        out.println("}");
+    }
+
+    private void writeAssign(final TypeElement type, final List<ArgField> argFields)
+    {
+        out.println("    @Override");
+        out.println("    @SuppressWarnings(\"unchecked\")");
+        out.println("    public boolean assign(final com.obdobion.argument.type.ICmdLineArg<?> arg, final Object target)");
+        out.println("            throws java.text.ParseException");
+        out.println("    {");
+        out.println("        final " + type.getQualifiedName() + " t = (" + type.getQualifiedName() + ") target;");
+        out.println("        switch (arg.getVariable())");
+        out.println("        {");
+
+        final Set<ArgField> assigned = new LinkedHashSet<>(argFields);
+        for (final ArgField argField : assigned)
+        {
+            final String field = "t." + argField.name();
+            out.println("            case " + literal(argField.name()) + ":");
+            switch (argField.shape)
+            {
+                case ARRAY:
+                    out.println("                " + field + " = arg." + argField.getter + "();");
+                    break;
+                case ENUM:
+                    out.println("                " + field + " = (" + argField.castTo + ") arg.asEnum("
+                            + literal(argField.name()) + ", " + argField.castTo + ".values());");
+                    break;
+                case LIST:
+                    out.println("                if (" + field + " == null)");
+                    out.println("                    " + field + " = new java.util.ArrayList<>();");
+                    out.println("                for (int v = 0; v < arg.size(); v++)");
+                    out.println("                    ((java.util.Collection<Object>) (java.util.Collection<?>) "
+                            + field + ").add(arg.getDelegateOrValue(v));");
+                    break;
+                default:
+                    if (argField.getter != null)
+                        out.println("                " + field + " = arg." + argField.getter + "();");
+                    else
+                        out.println("                " + field + " = (" + argField.castTo
+                                + ") arg.getDelegateOrValue();");
+            }
+            out.println("                return true;");
+        }
+        out.println("            default:");
+        out.println("                return false;");
+        out.println("        }");
+        out.println("    }");
+    }
+
+    private void writeDefine(final List<ArgField> argFields, final List<Arg> args)
+    {
+        out.println("    @Override");
+        out.println("    public void define(");
+        out.println("            final com.obdobion.argument.ICmdLine cmdLine,");
+        out.println("            final com.obdobion.argument.type.CLAFactory factory)");
+        out.println("            throws java.text.ParseException, java.io.IOException");
+        out.println("    {");
+        for (int a = 0; a < args.size(); a++)
+        {
+            final ArgField argField = argFields.get(a);
+            final Arg arg = args.get(a);
+
+            out.println();
+            out.println("        factory.resetInstanceVariables();");
+            out.println("        factory.type = com.obdobion.argument.type.ClaType." + argField.claType + ";");
+            if (argField.isMultiple() || arg.multimin() > 0 || arg.multimax() > 0)
+                out.println("        factory.multiple = new Integer[] { "
+                        + (arg.multimin() == 0 ? 1 : arg.multimin())
+                        + ", "
+                        + (arg.multimax() == 0 ? "Integer.MAX_VALUE" : Integer.toString(arg.multimax()))
+                        + " };");
+            out.println("        factory.variable = " + literal(argField.name()) + ";");
+            out.println("        factory.required = " + arg.required() + ";");
+            out.println("        factory.camelCaps = " + arg.allowCamelCaps() + ";");
+            out.println("        factory.metaphone = " + arg.allowMetaphone() + ";");
+            out.println("        factory.positional = " + arg.positional() + ";");
+            out.println("        factory.caseSensitive = " + arg.caseSensitive() + ";");
+            if (arg.lazy())
+                out.println("        factory.lazy = true;");
+            if (arg.defaultValues().length > 0)
+                out.println("        factory.defaultValue = " + literals(arg.defaultValues()) + ";");
+            if (arg.range().length > 0)
+                out.println("        factory.range = " + literals(arg.range()) + ";");
+            if (!arg.matches().isEmpty())
+                out.println("        factory.regx = " + literal(arg.matches()) + ";");
+            if (arg.inList().length > 0)
+                out.println("        factory.list = " + literals(arg.inList()) + ";");
+            if (!arg.help().isEmpty())
+                out.println("        factory.help = " + literal(arg.help()) + ";");
+            if (!arg.format().isEmpty())
+                out.println("        factory.format = " + literal(arg.format()) + ";");
+            if (arg.maxDepth() != -1)
+                out.println("        factory.maxDepth = " + arg.maxDepth() + ";");
+            if (arg.parallelism() != 1)
+                out.println("        factory.parallelism = " + arg.parallelism() + ";");
+            if (argField.instanceClass != null)
+                out.println("        factory.instanceClass = " + literal(argField.instanceClass) + ";");
+
+            String keyword = arg.longName();
+            if (keyword == null || keyword.trim().length() == 0)
+                keyword = argField.name();
+            out.println("        cmdLine.add(factory.instanceFor(cmdLine.getCommandPrefix(), "
+                    + elements.getConstantExpression(arg.shortName())
+                    + ", "
+                    + literal(keyword)
+                    + "));");
+        }
+        out.println("    }");
+    }
+}
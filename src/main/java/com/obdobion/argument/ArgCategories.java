@@ -0,0 +1,96 @@
+package com.obdobion.argument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.obdobion.argument.input.KeywordIndex;
+import com.obdobion.argument.type.CmdLineCLA;
+import com.obdobion.argument.type.ICmdLineArg;
+import com.obdobion.argument.variables.PullPlan;
+
+/**
+ * The subsets of a command line's args that each parsing phase looks at,
+ * along with the keyword indexes that resolve tokens against them.
+ * <p>
+ * Only the positions of the args are remembered. A copy of a command line has
+ * the same args in the same order, so it can share an instance of this class
+ * rather than categorizing and indexing its args again. Instances are
+ * immutable once built, except for the pull plans that are added as they are
+ * made.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+class ArgCategories
+{
+    static ArgCategories of(final List<ICmdLineArg<?>> allArgs)
+    {
+        return new ArgCategories(allArgs);
+    }
+
+    static private int[] positions(final List<Integer> positions)
+    {
+        final int[] result = new int[positions.size()];
+        for (int p = 0; p < result.length; p++)
+            result[p] = positions.get(p);
+        return result;
+    }
+
+    final int[]        namedBooleans;
+    final int[]        namedValueArgs;
+    final int[]        namedGroups;
+    final int[]        positional;
+    final KeywordIndex namedBooleansIndex;
+    final KeywordIndex namedValueArgsIndex;
+    final KeywordIndex namedGroupsIndex;
+    final KeywordIndex allArgsIndex;
+    /**
+     * The plans for pulling these args from objects of each class, made when
+     * they are first needed.
+     */
+    final ConcurrentMap<Class<?>, PullPlan> pullPlans = new ConcurrentHashMap<>();
+
+    private ArgCategories(final List<ICmdLineArg<?>> allArgs)
+    {
+        final List<Integer> booleans = new ArrayList<>();
+        final List<Integer> valueArgs = new ArrayList<>();
+        final List<Integer> groups = new ArrayList<>();
+        final List<Integer> positionals = new ArrayList<>();
+
+        for (int a = 0; a < allArgs.size(); a++)
+        {
+            final ICmdLineArg<?> arg = allArgs.get(a);
+            if (arg.isPositional())
+            {
+                positionals.add(a);
+                continue;
+            }
+            if (arg.isRequiredValue())
+                valueArgs.add(a);
+            else
+                booleans.add(a);
+            if (arg instanceof CmdLineCLA)
+                groups.add(a);
+        }
+
+        namedBooleans = positions(booleans);
+        namedValueArgs = positions(valueArgs);
+        namedGroups = positions(groups);
+        positional = positions(positionals);
+        namedBooleansIndex = new KeywordIndex(select(allArgs, namedBooleans));
+        namedValueArgsIndex = new KeywordIndex(select(allArgs, namedValueArgs));
+        namedGroupsIndex = new KeywordIndex(select(allArgs, namedGroups));
+        allArgsIndex = new KeywordIndex(allArgs);
+    }
+
+    List<ICmdLineArg<?>> select(final List<ICmdLineArg<?>> allArgs, final int[] category)
+    {
+        final List<ICmdLineArg<?>> selected = new ArrayList<>(category.length);
+        for (final int a : category)
+            selected.add(allArgs.get(a));
+        return selected;
+    }
+}
@@ -0,0 +1,299 @@
+package com.obdobion.argument;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.obdobion.argument.input.CommandLineParser;
+
+/**
+ * Parses many argument vectors against one compiled definition, in parallel,
+ * and returns the results in the order of the input.
+ * <p>
+ * Each argument vector is parsed by its own copy of the definition into a new
+ * target from the supplier. A parse that fails does not stop the batch, its
+ * exception is returned in its {@link BatchResult}.
+ * </p>
+ * <p>
+ * At most {@link #setMaxInFlight(int) maxInFlight} argument vectors are read
+ * ahead of the result that is returned next. The input is only read while
+ * the results are being read, so a slow consumer holds back the input rather
+ * than filling memory with results. The input is read on the thread that
+ * reads the results and does not have to be thread-safe.
+ * </p>
+ *
+ * <pre>
+ * final Iterator&lt;BatchResult&lt;JobConfig&gt;&gt; results = SPEC.batch(JobConfig::new)
+ *         .parseLines(jobLog);
+ * </pre>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @param <T>
+ *            the type of the targets.
+ * @since 4.3.8
+ */
+public class BatchParser<T>
+{
+    private class Results implements Iterator<BatchResult<T>>
+    {
+        private final Iterator<String[]>                      input;
+        private final Executor                                runner;
+        private final int                                     window;
+        private final ArrayDeque<FutureTask<BatchResult<T>>> inFlight = new ArrayDeque<>();
+        private long                                          nextIndex;
+
+        Results(final Iterator<String[]> _input, final Executor _runner, final int _window)
+        {
+            input = _input;
+            runner = _runner;
+            window = _window;
+        }
+
+        private void cancel()
+        {
+            for (final FutureTask<BatchResult<T>> task : inFlight)
+                task.cancel(false);
+            inFlight.clear();
+        }
+
+        private void fill()
+        {
+            while (inFlight.size() < window && input.hasNext())
+            {
+                final long index = nextIndex++;
+                final String[] args = input.next();
+                final FutureTask<BatchResult<T>> task = new FutureTask<>(new Callable<BatchResult<T>>()
+                {
+                    @Override
+                    public BatchResult<T> call()
+                    {
+                        return parseOne(index, args);
+                    }
+                });
+                inFlight.add(task);
+                runner.execute(task);
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            fill();
+            return !inFlight.isEmpty();
+        }
+
+        @Override
+        public BatchResult<T> next()
+        {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            final BatchResult<T> result;
+            try
+            {
+                result = inFlight.peek().get();
+            } catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new IllegalStateException("interrupted while waiting for a batch result", e);
+            } catch (final ExecutionException e)
+            {
+                /*
+                 * Exceptions of the parse are in the result, this can only be
+                 * an error.
+                 */
+                cancel();
+                throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+            }
+            inFlight.remove();
+            /*
+             * Keep the window full while the caller works on this result.
+             */
+            fill();
+            return result;
+        }
+    }
+
+    static private <R> Stream<R> streamOf(final Iterator<R> results, final BaseStream<?, ?> input)
+    {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED | Spliterator.NONNULL),
+                false).onClose(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        input.close();
+                    }
+                });
+    }
+
+    private final CompiledCmdLine       definition;
+    private final Supplier<? extends T> targets;
+    private Executor                    executor;
+    private int                         maxInFlight;
+
+    /**
+     * <p>
+     * Constructor for BatchParser.
+     * </p>
+     *
+     * @param _definition
+     *            the compiled definition that every argument vector is parsed
+     *            against.
+     * @param _targets
+     *            supplies a new target for each argument vector, null to only
+     *            parse them.
+     */
+    public BatchParser(final CompiledCmdLine _definition, final Supplier<? extends T> _targets)
+    {
+        definition = _definition;
+        targets = _targets;
+        executor = ForkJoinPool.commonPool();
+        maxInFlight = 4 * ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /**
+     * <p>
+     * Getter for the field <code>maxInFlight</code>.
+     * </p>
+     *
+     * @return the number of argument vectors that are read ahead of the next
+     *         result.
+     */
+    public int getMaxInFlight()
+    {
+        return maxInFlight;
+    }
+
+    /**
+     * Parse each argument vector from an iterator.
+     *
+     * @param argvs
+     *            the argument vectors, each one is a complete command line.
+     * @return the results, in the same order as the argument vectors.
+     */
+    public Iterator<BatchResult<T>> parse(final Iterator<String[]> argvs)
+    {
+        return new Results(argvs, executor, maxInFlight);
+    }
+
+    /**
+     * Parse each argument vector from a stream. The stream is read as the
+     * results are read, closing the results closes it.
+     *
+     * @param argvs
+     *            the argument vectors, each one is a complete command line.
+     * @return a sequential stream of the results, in the same order as the
+     *         argument vectors.
+     */
+    public Stream<BatchResult<T>> parse(final Stream<String[]> argvs)
+    {
+        return streamOf(parse(argvs.iterator()), argvs);
+    }
+
+    /**
+     * Parse each line as a complete command line.
+     *
+     * @param lines
+     *            the command lines, one per line.
+     * @return the results, in the same order as the lines.
+     */
+    public Iterator<BatchResult<T>> parseLines(final Iterator<String> lines)
+    {
+        return parse(new Iterator<String[]>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return lines.hasNext();
+            }
+
+            @Override
+            public String[] next()
+            {
+                return new String[] { lines.next() };
+            }
+        });
+    }
+
+    /**
+     * Parse each line of a stream, like the one from
+     * {@link java.nio.file.Files#lines(java.nio.file.Path)}, as a complete
+     * command line. Closing the results closes the lines.
+     *
+     * @param lines
+     *            the command lines, one per line.
+     * @return a sequential stream of the results, in the same order as the
+     *         lines.
+     */
+    public Stream<BatchResult<T>> parseLines(final Stream<String> lines)
+    {
+        return streamOf(parseLines(lines.iterator()), lines);
+    }
+
+    private BatchResult<T> parseOne(final long index, final String[] args)
+    {
+        T target = null;
+        try
+        {
+            if (targets != null)
+                target = targets.get();
+            final ICmdLine cmdLine = definition.parse(
+                    CommandLineParser.getInstance(definition.getCommandPrefix(), true, args),
+                    target);
+            return new BatchResult<>(index, args, target, cmdLine, null);
+
+        } catch (final ParseException | IOException | RuntimeException e)
+        {
+            return new BatchResult<>(index, args, target, null, e);
+        }
+    }
+
+    /**
+     * Run the parses on an executor other than the common
+     * {@link java.util.concurrent.ForkJoinPool}. A direct executor, one that
+     * runs each task on the calling thread, parses the batch serially.
+     *
+     * @param _executor
+     *            a {@link java.util.concurrent.Executor} object.
+     * @return this {@link com.obdobion.argument.BatchParser}.
+     */
+    public BatchParser<T> setExecutor(final Executor _executor)
+    {
+        if (_executor == null)
+            throw new IllegalArgumentException("executor must not be null");
+        executor = _executor;
+        return this;
+    }
+
+    /**
+     * Limit how far the input is read ahead of the result that is returned
+     * next. This bounds the memory of a batch to that many parses, and the
+     * parallelism with it.
+     *
+     * @param _maxInFlight
+     *            at least 1.
+     * @return this {@link com.obdobion.argument.BatchParser}.
+     */
+    public BatchParser<T> setMaxInFlight(final int _maxInFlight)
+    {
+        if (_maxInFlight < 1)
+            throw new IllegalArgumentException("maxInFlight must be at least 1, not " + _maxInFlight);
+        maxInFlight = _maxInFlight;
+        return this;
+    }
+}
@@ -0,0 +1,132 @@
+package com.obdobion.argument;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+/**
+ * The outcome of parsing one argument vector of a batch, either the parsed
+ * command line and its target or the exception that the parse threw.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @param <T>
+ *            the type of the targets.
+ * @since 4.3.8
+ * @see BatchParser
+ */
+public class BatchResult<T>
+{
+    private final long      index;
+    private final String[]  args;
+    private final T         target;
+    private final ICmdLine  cmdLine;
+    private final Exception error;
+
+    BatchResult(
+            final long _index,
+            final String[] _args,
+            final T _target,
+            final ICmdLine _cmdLine,
+            final Exception _error)
+    {
+        index = _index;
+        args = _args;
+        target = _target;
+        cmdLine = _cmdLine;
+        error = _error;
+    }
+
+    /**
+     * Return the target, or throw the exception of the parse if it failed.
+     *
+     * @return the target that the values were assigned to, null if the batch
+     *         has no targets.
+     * @throws java.text.ParseException
+     *             if any.
+     * @throws java.io.IOException
+     *             if any.
+     */
+    public T get() throws ParseException, IOException
+    {
+        if (error instanceof ParseException)
+            throw (ParseException) error;
+        if (error instanceof IOException)
+            throw (IOException) error;
+        if (error instanceof RuntimeException)
+            throw (RuntimeException) error;
+        return target;
+    }
+
+    /**
+     * <p>
+     * Getter for the field <code>args</code>.
+     * </p>
+     *
+     * @return the argument vector that was parsed.
+     */
+    public String[] getArgs()
+    {
+        return args;
+    }
+
+    /**
+     * <p>
+     * Getter for the field <code>cmdLine</code>.
+     * </p>
+     *
+     * @return the command line holding the values of this parse, null if it
+     *         failed.
+     */
+    public ICmdLine getCmdLine()
+    {
+        return cmdLine;
+    }
+
+    /**
+     * <p>
+     * Getter for the field <code>error</code>.
+     * </p>
+     *
+     * @return the exception thrown by the parse, null if it succeeded.
+     */
+    public Exception getError()
+    {
+        return error;
+    }
+
+    /**
+     * <p>
+     * Getter for the field <code>index</code>.
+     * </p>
+     *
+     * @return the position of the argument vector in the input, starting
+     *         with 0.
+     */
+    public long getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * <p>
+     * Getter for the field <code>target</code>.
+     * </p>
+     *
+     * @return the target, it may be partially assigned if the parse failed.
+     */
+    public T getTarget()
+    {
+        return target;
+    }
+
+    /**
+     * <p>
+     * isSuccessful.
+     * </p>
+     *
+     * @return true if the parse did not throw an exception.
+     */
+    public boolean isSuccessful()
+    {
+        return error == null;
+    }
+}
@@ -2,6 +2,7 @@ package com.obdobion.argument;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.Field;
@@ -11,11 +12,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -24,12 +29,19 @@ import org.slf4j.LoggerFactory;
 import com.obdobion.algebrain.Equ;
 import com.obdobion.argument.annotation.Arg;
 import com.obdobion.argument.annotation.Args;
+import com.obdobion.argument.annotation.GeneratedArgs;
+import com.obdobion.argument.annotation.IGeneratedArgs;
 import com.obdobion.argument.criteria.ICmdLineArgCriteria;
 import com.obdobion.argument.directive.EquDirective;
 import com.obdobion.argument.input.CommandLineParser;
+import com.obdobion.argument.input.CommandLineTokenizer;
 import com.obdobion.argument.input.IParserInput;
+import com.obdobion.argument.input.ITokenReader;
+import com.obdobion.argument.input.IncludeFileCache;
+import com.obdobion.argument.input.KeywordIndex;
 import com.obdobion.argument.input.NamespaceParser;
 import com.obdobion.argument.input.Token;
+import com.obdobion.argument.input.TokenIndex;
 import com.obdobion.argument.input.XmlParser;
 import com.obdobion.argument.type.BooleanCLA;
 import com.obdobion.argument.type.CLAFactory;
@@ -38,6 +50,7 @@ import com.obdobion.argument.type.CmdLineCLA;
 import com.obdobion.argument.type.DefaultCLA;
 import com.obdobion.argument.type.ICmdLineArg;
 import com.obdobion.argument.usage.UsageBuilder;
+import com.obdobion.argument.variables.PullPlan;
 import com.obdobion.argument.variables.VariableAssigner;
 import com.obdobion.argument.variables.VariablePuller;
 
@@ -50,10 +63,42 @@ import com.obdobion.argument.variables.VariablePuller;
  */
 public class CmdLine implements ICmdLine, Cloneable
 {
-    /** Constant <code>ClassLoader</code> */
+    /**
+     * What an embedded command line is compiled from when it is first used,
+     * along with the context of the compile that deferred it.
+     */
+    static private class DeferredCompile
+    {
+        final Class<?>     targetClass;
+        final String[]     excludeArgsByVariableName;
+        final ParseContext context;
+
+        DeferredCompile(
+                final Class<?> _targetClass,
+                final String[] _excludeArgsByVariableName,
+                final ParseContext _context)
+        {
+            targetClass = _targetClass;
+            excludeArgsByVariableName = _excludeArgsByVariableName;
+            context = _context;
+        }
+    }
+
+    /**
+     * The class loader used outside of a parse.
+     *
+     * @deprecated the class loader of a parse is now in its
+     *             {@link com.obdobion.argument.ParseContext}, the parsers no
+     *             longer set this. Use {@link #setParseContext(ParseContext)}
+     *             to parse with a different class loader.
+     */
+    @Deprecated
     static public ClassLoader  ClassLoader         = CmdLine.class.getClassLoader();
 
     final static Logger        logger              = LoggerFactory.getLogger(CmdLine.class);
+
+    static private final AtomicReferenceFieldUpdater<CmdLine, CmdLine> COMPILED_TEMPLATE = AtomicReferenceFieldUpdater
+            .newUpdater(CmdLine.class, CmdLine.class, "compiledTemplate");
     /** Constant <code>INCLUDE_FILE_PREFIX="@"</code> */
     public static final String INCLUDE_FILE_PREFIX = "@";
     /** Constant <code>MaxHelpCommandName="help"</code> */
@@ -63,17 +108,18 @@ public class CmdLine implements ICmdLine, Cloneable
     /** Constant <code>NegateCommandName='!'</code> */
     public static final char   NegateCommandName   = '!';
 
-    static private void checkForUnusedInput(final Token[] tokens) throws ParseException
+    static private void checkForUnusedInput(
+            final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last)
+                    throws ParseException
     {
-        if (tokenCount(tokens) > 0)
+        if (index.hasUnused(first, last))
         {
             final StringBuilder extraInput = new StringBuilder();
-            for (final Token token : tokens)
-            {
-                if (token.isUsed())
-                    continue;
-                extraInput.append(token.getValue());
-            }
+            for (int t = index.nextUnused(first, last); t < last; t = index.nextUnused(t + 1, last))
+                extraInput.append(tokens[t].getValue());
             throw new ParseException("extraneous input is not valid: " + extraInput.toString(), 0);
         }
     }
@@ -117,7 +163,6 @@ public class CmdLine implements ICmdLine, Cloneable
     static public ICmdLine load(final ICmdLine cmdLine, final Object target, final String... args)
             throws IOException, ParseException
     {
-        CmdLine.ClassLoader = target.getClass().getClassLoader();
         final IParserInput data = CommandLineParser.getInstance(cmdLine.getCommandPrefix(), true, args);
         cmdLine.parse(data, target);
         return cmdLine;
@@ -161,7 +206,6 @@ public class CmdLine implements ICmdLine, Cloneable
     static public ICmdLine loadProperties(final Object target, final File propertyFile)
             throws IOException, ParseException
     {
-        CmdLine.ClassLoader = target.getClass().getClassLoader();
         final ICmdLine cmdLine = new CmdLine();
         final IParserInput data = NamespaceParser.getInstance(propertyFile);
         cmdLine.parse(data, target);
@@ -186,7 +230,6 @@ public class CmdLine implements ICmdLine, Cloneable
     static public ICmdLine loadProperties(final Object target, final String... args)
             throws IOException, ParseException
     {
-        CmdLine.ClassLoader = target.getClass().getClassLoader();
         final ICmdLine cmdLine = new CmdLine();
         final IParserInput data = NamespaceParser.getInstance(args);
         cmdLine.parse(data, target);
@@ -209,7 +252,6 @@ public class CmdLine implements ICmdLine, Cloneable
      */
     static public void loadWin(final Object target, final String... args) throws IOException, ParseException
     {
-        CmdLine.ClassLoader = target.getClass().getClassLoader();
         final CmdLine cmdLine = new CmdLine(null, '/', '-');
         final IParserInput data = CommandLineParser.getInstance(cmdLine.commandPrefix, true, args);
         cmdLine.parse(data, target);
@@ -233,7 +275,6 @@ public class CmdLine implements ICmdLine, Cloneable
     static public ICmdLine loadXml(final Object target, final File propertyFile)
             throws IOException, ParseException
     {
-        CmdLine.ClassLoader = target.getClass().getClassLoader();
         final ICmdLine cmdLine = new CmdLine();
         final IParserInput data = XmlParser.getInstance(propertyFile);
         cmdLine.parse(data, target);
@@ -258,7 +299,6 @@ public class CmdLine implements ICmdLine, Cloneable
     static public ICmdLine loadXml(final Object target, final String... args)
             throws IOException, ParseException
     {
-        CmdLine.ClassLoader = target.getClass().getClassLoader();
         final ICmdLine cmdLine = new CmdLine();
         final IParserInput data = XmlParser.getInstance(args);
         cmdLine.parse(data, target);
@@ -326,7 +366,7 @@ public class CmdLine implements ICmdLine, Cloneable
     }
 
     static private boolean mostSalient(
-            final List<ICmdLineArg<?>> possibleArgs,
+            final KeywordIndex possibleArgs,
             final Token[] tokens,
             final int tokenIdx,
             final List<ICmdLineArg<?>> args)
@@ -336,7 +376,7 @@ public class CmdLine implements ICmdLine, Cloneable
             return false;
 
         final List<ICmdLineArg<?>> bestArgs = new ArrayList<>();
-        matchingArgs(bestArgs, possibleArgs, tokens[tokenIdx], true);
+        possibleArgs.matchingArgs(bestArgs, tokens[tokenIdx], true);
 
         if (bestArgs.size() == 0)
             return false;
@@ -373,97 +413,46 @@ public class CmdLine implements ICmdLine, Cloneable
         throw new ParseException(bldr.toString(), -1);
     }
 
-    @SuppressWarnings("null")
-    static private int parseGroup(
-            final CmdLineCLA group,
+    /**
+     * Find the bracket that closes the group starting at groupStart. Tokens
+     * that were already used, by a directive for instance, are not counted.
+     */
+    static private int matchingGroupEnd(
             final Token[] tokens,
-            final int _tokenIndex,
-            final Object target)
-                    throws ParseException, IOException
+            final TokenIndex index,
+            final int groupStart,
+            final int last)
+                    throws ParseException
     {
-        StringBuilder str = null;
-
         int tlex = 0;
-        int tokenIndex = _tokenIndex;
-
-        for (tokenIndex++; tokenIndex < tokens.length; tokenIndex++)
+        for (int tokenIndex = index.nextBracket(groupStart, last); tokenIndex < last; tokenIndex = index
+                .nextBracket(tokenIndex + 1, last))
         {
-            if (tokens[tokenIndex].isUsed())
-                continue;
             if (tokens[tokenIndex].isGroupStart())
-            {
                 tlex++;
-                if (tlex == 1)
-                {
-                    tokens[tokenIndex].setUsed(true);
-                    str = new StringBuilder();
-                    continue;
-                }
-            }
-            if (tokens[tokenIndex].isGroupEnd())
+            else if (tokens[tokenIndex].isGroupEnd())
             {
                 tlex--;
                 if (tlex == 0)
-                {
-                    tokens[tokenIndex].setUsed(true);
-                    group.setValue(group.convert(str.toString(), false, target));
-                    continue;
-                }
-            }
-            if (tlex == 0)
-            {
-                tokenIndex--; // reuse last token later
-                break;
-            }
-
-            if (tokens[tokenIndex].isLiteral())
-            {
-                /*
-                 * Always quote the value in case it was quoted. It doesn't hurt
-                 * to unnecessarily quote. But it would hurt not to quote at
-                 * all.
-                 */
-                String value = tokens[tokenIndex].getValue();
-
-                value = replaceEscapes(value);
-                final boolean singlequote = value.contains("'");
-                final boolean doublequote = value.contains("\"");
-                char delim;
-                if (singlequote)
-                    if (doublequote)
-                    {
-                        delim = '"';
-                        value = value.replace("\"", "\\\"");
-                    } else
-                        delim = '"';
-                else
-                    delim = '\'';
-                str.append(delim);
-                str.append(value);
-                str.append(delim);
-                str.append(" ");
-            } else
-            {
-                str.append(tokens[tokenIndex].getValue());
-                str.append(" ");
+                    return tokenIndex;
             }
-            tokens[tokenIndex].setUsed(true);
         }
-        if (tlex != 0)
-            throw new ParseException("Missing " + tlex + " right bracket(s)", 0);
-        validateMultipleEntries(group);
-        return tokenIndex;
+        throw new ParseException("Missing " + tlex + " right bracket(s)", 0);
     }
 
-    static private void parseOrphaned(final Token[] tokens) throws ParseException
+    static private void parseOrphaned(
+            final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last)
+                    throws ParseException
     {
         final StringBuilder bldr = new StringBuilder();
-        for (int t = 0; t < tokens.length; t++)
-            if (!tokens[t].isUsed())
-            {
-                bldr.append(tokens[t].getValue());
-                bldr.append(' ');
-            }
+        for (int t = index.nextUnused(first, last); t < last; t = index.nextUnused(t + 1, last))
+        {
+            bldr.append(tokens[t].getValue());
+            bldr.append(' ');
+        }
         if (bldr.length() != 0)
             throw new ParseException("unexpected input: " + bldr.toString(), -1);
     }
@@ -475,7 +464,9 @@ public class CmdLine implements ICmdLine, Cloneable
     static private int parseValues(
             final ICmdLineArg arg,
             final Token[] tokens,
-            final int t)
+            final TokenIndex index,
+            final int t,
+            final int last)
                     throws ParseException, IOException
     {
         int tokenIndex = t;
@@ -486,7 +477,7 @@ public class CmdLine implements ICmdLine, Cloneable
         if (!tokens[tokenIndex].isUsed())
         {
             // skip the dash
-            arg.setValue(arg.convert(tokens[tokenIndex].remainderValue(), arg.isCaseSensitive(), null));
+            arg.addValue(tokens[tokenIndex].remainderValue());
             tokens[tokenIndex].setUsed(true);
             aValueWasFound = true;
         }
@@ -496,18 +487,17 @@ public class CmdLine implements ICmdLine, Cloneable
          */
 
         if (!aValueWasFound || arg.isMultiple())
-            for (tokenIndex++; tokenIndex < tokens.length; tokenIndex++)
+            for (tokenIndex = index.nextUnused(tokenIndex + 1, last); tokenIndex < last; tokenIndex = index
+                    .nextUnused(tokenIndex + 1, last))
             {
                 if (arg.isMultiple() && arg.size() == arg.getMultipleMax())
                 {
                     tokenIndex--; // make sure to allow reuse of - token
                     break;
                 }
-                if (tokens[tokenIndex].isUsed())
-                    continue;
                 if (!tokens[tokenIndex].isCommand())
                 {
-                    arg.setValue(arg.convert(tokens[tokenIndex].getValue(), (arg.isCaseSensitive()), null));
+                    arg.addValue(tokens[tokenIndex].getValue());
                     tokens[tokenIndex].setUsed(true);
                     if (!arg.isMultiple())
                         break;
@@ -520,7 +510,11 @@ public class CmdLine implements ICmdLine, Cloneable
 
         validateMultipleEntries(arg);
 
-        if (arg.hasValue() && arg.getCriteria() != null)
+        /*
+         * The criteria of a lazy argument are checked when its values are
+         * converted.
+         */
+        if (!arg.isLazy() && arg.hasValue() && arg.getCriteria() != null)
             for (int v = 0; v < arg.size(); v++)
             {
                 /*
@@ -538,23 +532,6 @@ public class CmdLine implements ICmdLine, Cloneable
         return tokenIndex;
     }
 
-    static private String replaceEscapes(final String value)
-    {
-        final boolean backslash = value.contains("\\");
-        if (backslash)
-            return value.replace("\\", "\\\\");
-        return value;
-    }
-
-    static private int tokenCount(final Token[] tokens)
-    {
-        int cnt = 0;
-        for (int t = 0; t < tokens.length; t++)
-            if (!tokens[t].isUsed())
-                cnt++;
-        return cnt;
-    }
-
     /**
      * Verify the multiple requirement if any. Use group->values().size().
      */
@@ -584,6 +561,21 @@ public class CmdLine implements ICmdLine, Cloneable
     char                 commandPrefix;
     char                 notPrefix;
     final List<File>     defaultIncludeDirectories = new ArrayList<>();
+    IncludeFileCache     includeFileCache;
+    ParseContext         parseContext;
+    /**
+     * Set while the args of an embedded command line have not been compiled.
+     */
+    volatile DeferredCompile deferredCompile;
+    /**
+     * Set on the group templates of a {@link CompiledCmdLine}, which all of
+     * its parsers share. They are never changed, see {@link #compiled()}.
+     */
+    volatile boolean     sealed;
+    /**
+     * The compiled copy of a sealed template that was deferred.
+     */
+    private volatile CmdLine compiledTemplate;
 
     IParserInput         originalInput;
     List<ICmdLineArg<?>> allPossibleArgs           = new ArrayList<>();
@@ -591,6 +583,11 @@ public class CmdLine implements ICmdLine, Cloneable
     List<ICmdLineArg<?>> _namedValueArgs           = null;
     List<ICmdLineArg<?>> _namedGroups              = null;
     List<ICmdLineArg<?>> _positional               = null;
+    ArgCategories        _categories               = null;
+    KeywordIndex         _namedBooleansIndex       = null;
+    KeywordIndex         _namedValueArgsIndex      = null;
+    KeywordIndex         _namedGroupsIndex         = null;
+    KeywordIndex         _allArgsIndex             = null;
     List<ParseException> parseExceptions           = new ArrayList<>();
 
     int                  depth;
@@ -702,14 +699,18 @@ public class CmdLine implements ICmdLine, Cloneable
     @Override
     public void add(final ICmdLineArg<?> arg)
     {
+        checkChangeable();
         allPossibleArgs.add(arg);
+        forgetArgCategories();
     }
 
     /** {@inheritDoc} */
     @Override
     public void add(final int index, final ICmdLineArg<?> arg)
     {
+        checkChangeable();
         allPossibleArgs.add(index, arg);
+        forgetArgCategories();
     }
 
     /** {@inheritDoc} */
@@ -720,11 +721,64 @@ public class CmdLine implements ICmdLine, Cloneable
         defaultIncludeDirectories.add(defaultIncludeDirectory);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void addValue(final String valueStr)
+    {
+        // intentionally left blank
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<ICmdLineArg<?>> allArgs()
     {
-        return allPossibleArgs;
+        final CmdLine compiled = compiledUnchecked();
+        if (sealed)
+            return Collections.unmodifiableList(compiled.allPossibleArgs);
+        /*
+         * Changes made through the list, its iterators and sub lists all come
+         * through here, so the categories are forgotten just as they are by
+         * add and remove.
+         */
+        return new AbstractList<ICmdLineArg<?>>()
+        {
+            @Override
+            public void add(final int index, final ICmdLineArg<?> arg)
+            {
+                allPossibleArgs.add(index, arg);
+                forgetArgCategories();
+                modCount++;
+            }
+
+            @Override
+            public ICmdLineArg<?> get(final int index)
+            {
+                return allPossibleArgs.get(index);
+            }
+
+            @Override
+            public ICmdLineArg<?> remove(final int index)
+            {
+                final ICmdLineArg<?> removed = allPossibleArgs.remove(index);
+                forgetArgCategories();
+                modCount++;
+                return removed;
+            }
+
+            @Override
+            public ICmdLineArg<?> set(final int index, final ICmdLineArg<?> arg)
+            {
+                final ICmdLineArg<?> replaced = allPossibleArgs.set(index, arg);
+                forgetArgCategories();
+                return replaced;
+            }
+
+            @Override
+            public int size()
+            {
+                return allPossibleArgs.size();
+            }
+        };
     }
 
     private List<Field> allAvailableInstanceFields(final Class<?> targetClass)
@@ -771,7 +825,7 @@ public class CmdLine implements ICmdLine, Cloneable
             return null;
 
         final List<ICmdLineArg<?>> bestArgs = new ArrayList<>();
-        matchingArgs(bestArgs, allPossibleArgs, new Token(commandPrefix, commandToken), true);
+        allArgsIndex().matchingArgs(bestArgs, new Token(commandPrefix, commandToken), true);
 
         if (bestArgs.size() == 0)
             // throw new ParseException(commandToken + " is unknown", -1);
@@ -829,15 +883,30 @@ public class CmdLine implements ICmdLine, Cloneable
             if (arg instanceof CmdLineCLA)
             {
                 final CmdLineCLA cmdArg = (CmdLineCLA) arg;
-                for (final ICmdLine cl : cmdArg.getValues())
+                final List<ICmdLine> occurrences = cmdArg.getValues();
+                final List<ICmdLineArg<?>> factoryValueArgs = new ArrayList<>(occurrences.size());
+                for (final ICmdLine cl : occurrences)
+                    factoryValueArgs.add(cl.argForVariableName(cmdArg.getFactoryArgName()));
+                final Object[] newtargets = VariableAssigner.getInstance()
+                        .newGroupVariables(cmdArg, target, factoryValueArgs);
+                for (int o = 0; o < occurrences.size(); o++)
                 {
-                    Object newtarget = VariableAssigner.getInstance()
-                            .newGroupVariable(cmdArg, target, cl.argForVariableName(cmdArg.getFactoryArgName()));
+                    Object newtarget = newtargets == null
+                            ? null
+                            : newtargets[o];
                     if (newtarget == null)
                         newtarget = target;
-                    cl.assignVariables(newtarget);
+                    occurrences.get(o).assignVariables(newtarget);
                 }
             } else if (arg.getVariable() != null && arg.hasValue())
+            {
+                /*
+                 * Lazy values are converted when they are assigned, so that an
+                 * error in one of them is reported as a ParseException.
+                 * Without a target they are left until they are read.
+                 */
+                if (target != null)
+                    arg.validate();
                 if (target instanceof Object[])
                 {
                     final Object[] targetArray = (Object[]) target;
@@ -846,6 +915,7 @@ public class CmdLine implements ICmdLine, Cloneable
                     VariableAssigner.getInstance().assign(arg, ((List<?>) target).get(((List<?>) target).size() - 1));
                 else
                     VariableAssigner.getInstance().assign(arg, target);
+            }
         }
     }
 
@@ -868,23 +938,37 @@ public class CmdLine implements ICmdLine, Cloneable
         */
 
         alreadySeen.add(targetClass);
+        /*
+         * The factory keeps the settings of the arg being created, so a
+         * compile that runs while another one does, such as the first use of
+         * a group in a parallel parse, needs its own.
+         */
+        final CLAFactory factory = new CLAFactory();
 
         try
         {
-            for (final Field oneField : allAvailableInstanceFields(targetClass))
-            {
-                if (isFieldExcluded(oneField, excludeArgsByVariableName))
-                    continue;
-                final Args args = oneField.getAnnotation(Args.class);
-                if (args == null)
+            /*
+             * Arguments that were compiled at build time replace the
+             * annotations, unless some of them are to be left out.
+             */
+            final IGeneratedArgs generated = GeneratedArgs.forClass(targetClass);
+            if (generated != null && excludeArgsByVariableName.length == 0)
+                generated.define(this, factory);
+            else
+                for (final Field oneField : allAvailableInstanceFields(targetClass))
                 {
-                    final Arg argAnnotation = oneField.getAnnotation(Arg.class);
-                    compileArgAnnotation(oneField, argAnnotation, alreadySeen, excludeArgsByVariableName);
+                    if (isFieldExcluded(oneField, excludeArgsByVariableName))
+                        continue;
+                    final Args args = oneField.getAnnotation(Args.class);
+                    if (args == null)
+                    {
+                        final Arg argAnnotation = oneField.getAnnotation(Arg.class);
+                        compileArgAnnotation(factory, oneField, argAnnotation, alreadySeen, excludeArgsByVariableName);
 
-                } else
-                    for (final Arg argAnnotation : args.value())
-                        compileArgAnnotation(oneField, argAnnotation, alreadySeen, excludeArgsByVariableName);
-            }
+                    } else
+                        for (final Arg argAnnotation : args.value())
+                            compileArgAnnotation(factory, oneField, argAnnotation, alreadySeen, excludeArgsByVariableName);
+                }
 
         } finally
         {
@@ -892,7 +976,7 @@ public class CmdLine implements ICmdLine, Cloneable
         }
         if (topLevel)
         {
-            createSystemGeneratedArguments(CLAFactory.getInstance(), this);
+            createSystemGeneratedArguments(factory, this);
             parseExceptions = postCompileAnalysis();
             if (!parseExceptions.isEmpty())
             {
@@ -905,6 +989,13 @@ public class CmdLine implements ICmdLine, Cloneable
         }
     }
 
+    private void checkChangeable()
+    {
+        if (sealed)
+            throw new UnsupportedOperationException(
+                    "the group templates of a compiled definition can not be changed, change a clone of it");
+    }
+
     private void checkRequired() throws ParseException
     {
         final StringBuilder bldr = new StringBuilder();
@@ -922,15 +1013,55 @@ public class CmdLine implements ICmdLine, Cloneable
             throw new ParseException("missing required parameters: " + bldr.toString(), -1);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * The copy is deep, group templates included. A group that has not been
+     * compiled yet is copied with its compile still to do, so that copying
+     * does not compile every group, or never end for a class that contains
+     * itself.
+     */
     @Override
     public ICmdLine clone() throws CloneNotSupportedException
     {
+        final CmdLine clone;
+        /*
+         * A sealed template never changes, the args of any other command line
+         * may be changing under the lock of a deferred compile.
+         */
+        if (sealed)
+            clone = copyArgs();
+        else
+            synchronized (this)
+            {
+                clone = copyArgs();
+            }
+        clone.forgetArgCategoryLists();
+        clone.setDepth(getDepth() + 1);
+        return clone;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ICmdLine cloneOccurrence() throws CloneNotSupportedException
+    {
+        /*
+         * Categorized first so that every occurrence shares the categories,
+         * and the pull plans kept with them.
+         */
+        final CmdLine compiled = compiledUnchecked();
+        if (compiled != this)
+            return compiled.cloneOccurrence();
+        argCategories();
         final CmdLine clone = (CmdLine) super.clone();
-        clone.allPossibleArgs = new ArrayList<>();
-        final Iterator<ICmdLineArg<?>> aIter = allPossibleArgs.iterator();
-        while (aIter.hasNext())
-            clone.allPossibleArgs.add(aIter.next().clone());
+        clone.sealed = false;
+        clone.allPossibleArgs = new ArrayList<>(allPossibleArgs.size());
+        for (final ICmdLineArg<?> arg : allPossibleArgs)
+            if (arg instanceof CmdLineCLA)
+                clone.allPossibleArgs.add(((CmdLineCLA) arg).cloneSharingTemplate());
+            else
+                clone.allPossibleArgs.add(arg.clone());
+        clone.forgetArgCategoryLists();
         clone.setDepth(getDepth() + 1);
         return clone;
     }
@@ -946,13 +1077,14 @@ public class CmdLine implements ICmdLine, Cloneable
      * @param excludeArgsByVariableName
      */
     private void compileArgAnnotation(
+            final CLAFactory factory,
             final Field oneField,
             final Arg argAnnotation,
             final List<Class<?>> alreadySeen,
             final String[] excludeArgsByVariableName)
                     throws ParseException, IOException
     {
-        final ICmdLineArg<?> arg = CLAFactory.getInstance().instanceFor(
+        final ICmdLineArg<?> arg = factory.instanceFor(
                 commandPrefix,
                 oneField,
                 argAnnotation);
@@ -966,7 +1098,13 @@ public class CmdLine implements ICmdLine, Cloneable
             final CmdLineCLA subparser = (CmdLineCLA) argForVariableName(oneField.getName());
             if (subparser == null)
                 throw new ParseException("invalid variable reference: " + argAnnotation.variable(), 0);
-            subparser.templateCmdLine.add(arg);
+            /*
+             * The args of the embedded class come first.
+             */
+            final CmdLine template = (CmdLine) subparser.templateCmdLine;
+            template.compileDeferred();
+            template.allPossibleArgs.add(arg);
+            template.forgetArgCategories();
             return;
         }
         add(arg);
@@ -980,17 +1118,154 @@ public class CmdLine implements ICmdLine, Cloneable
             try
             {
                 if (((CmdLineCLA) arg).getInstanceClass() != null)
-                    embeddedTarget = CmdLine.ClassLoader.loadClass(((CmdLineCLA) arg).getInstanceClass());
+                    embeddedTarget = ParseContext.current().loadClass(((CmdLineCLA) arg).getInstanceClass());
                 else
                     embeddedTarget = CLAFactory.instanceType(oneField);
             } catch (final ClassNotFoundException e)
             {
                 throw new ParseException(e.getMessage(), 0);
             }
-            embedded.attemptAnnotationCompile(embeddedTarget, false, alreadySeen, argAnnotation.excludeArgs());
+            /*
+             * The embedded class is compiled when the group is first used, so
+             * groups that are not used cost nothing more than this.
+             */
+            embedded.deferredCompile = new DeferredCompile(embeddedTarget, argAnnotation.excludeArgs(),
+                    ParseContext.current());
+        }
+    }
+
+    /**
+     * Compile the args of an embedded command line that was left until it is
+     * first used. A compile that fails is tried again the next time.
+     */
+    private void compile(final DeferredCompile deferred) throws ParseException
+    {
+        boolean compiled = false;
+        final ParseContext previous = deferred.context.activate();
+        try
+        {
+            attemptAnnotationCompile(deferred.targetClass, false, new ArrayList<Class<?>>(),
+                    deferred.excludeArgsByVariableName);
+            prepareArgCategories();
+            compiled = true;
+        } catch (final IOException e)
+        {
+            throw new ParseException(e.getMessage(), 0);
+        } finally
+        {
+            ParseContext.restore(previous);
+            if (!compiled)
+            {
+                allPossibleArgs.clear();
+                forgetArgCategories();
+            }
+        }
+        deferredCompile = null;
+    }
+
+    /**
+     * The command line that holds the args of this one, which is this one
+     * compiled if it was deferred.
+     * <p>
+     * A sealed template is shared by all of the parsers of a definition, so
+     * it is not compiled in place. Its args are compiled into a copy of it
+     * that is then published. Parsers that use it at the same time may each
+     * compile a copy, the first one published is kept by all of them. So no
+     * lock is taken.
+     * </p>
+     */
+    private CmdLine compiled() throws ParseException
+    {
+        final DeferredCompile deferred = deferredCompile;
+        if (!sealed || deferred == null)
+        {
+            compileDeferred();
+            return this;
+        }
+        final CmdLine published = compiledTemplate;
+        if (published != null)
+            return published;
+
+        final CmdLine compiled;
+        try
+        {
+            compiled = (CmdLine) super.clone();
+        } catch (final CloneNotSupportedException e)
+        {
+            throw new ParseException(e.getMessage(), 0);
+        }
+        compiled.sealed = false;
+        compiled.compiledTemplate = null;
+        compiled.allPossibleArgs = new ArrayList<>();
+        compiled.forgetArgCategories();
+        compiled.compile(deferred);
+        compiled.sealTemplates();
+        compiled.sealed = true;
+
+        COMPILED_TEMPLATE.compareAndSet(this, null, compiled);
+        return compiledTemplate;
+    }
+
+    /**
+     * For the callers that can not report a ParseException.
+     */
+    private CmdLine compiledUnchecked()
+    {
+        try
+        {
+            return compiled();
+        } catch (final ParseException e)
+        {
+            throw new IllegalStateException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Compile this command line if it was deferred. A command line that is
+     * not shared is compiled in place, under its lock, by the first of its
+     * users.
+     */
+    void compileDeferred() throws ParseException
+    {
+        if (deferredCompile == null)
+            return;
+        synchronized (this)
+        {
+            final DeferredCompile deferred = deferredCompile;
+            if (deferred != null)
+                compile(deferred);
+        }
+    }
+
+    /**
+     * Use the registered definition of the class instead of compiling its
+     * annotations again. This command line gets its own copies of the args.
+     * The first time a class is seen it is compiled here, so that any compile
+     * errors are reported on this command line, and then registered.
+     */
+    private void compileFromRegistry(final Class<?> targetClass) throws ParseException, IOException
+    {
+        final CompiledCmdLine registered = CompiledCmdLineRegistry.registered(targetClass, commandPrefix, notPrefix);
+        if (registered == null)
+        {
+            attemptAnnotationCompile(targetClass, true, new ArrayList<Class<?>>(), new String[] {});
+            CompiledCmdLineRegistry.register(targetClass, this);
+            return;
+        }
+
+        final CmdLine definition = registered.definition();
+        for (final ICmdLineArg<?> arg : definition.allPossibleArgs)
+            try
+            {
+                allPossibleArgs.add(arg.clone());
+            } catch (final CloneNotSupportedException e)
+            {
+                throw new ParseException(e.getMessage(), 0);
+            }
+        forgetArgCategoryLists();
+        _categories = definition._categories;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ICmdLine convert(final String valueStr) throws ParseException, IOException
@@ -1014,6 +1289,18 @@ public class CmdLine implements ICmdLine, Cloneable
         return null;
     }
 
+    private CmdLine copyArgs() throws CloneNotSupportedException
+    {
+        final CmdLine clone = (CmdLine) super.clone();
+        clone.sealed = false;
+        clone.compiledTemplate = null;
+        clone.allPossibleArgs = new ArrayList<>(allPossibleArgs.size());
+        final Iterator<ICmdLineArg<?>> aIter = allPossibleArgs.iterator();
+        while (aIter.hasNext())
+            clone.allPossibleArgs.add(aIter.next().clone());
+        return clone;
+    }
+
     /**
      * @param factory
      */
@@ -1176,30 +1463,33 @@ public class CmdLine implements ICmdLine, Cloneable
 
     private void extractArgumentsFromTokens(
             final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last,
             final Object target,
             final List<ICmdLineArg<?>> args)
                     throws ParseException, IOException
     {
-        if (tokenCount(tokens) > 0)
-            parseDirectives(args, tokens, target);
+        if (index.hasUnused(first, last))
+            parseDirectives(args, tokens, index, first, last, target);
 
-        if (tokenCount(tokens) > 0)
-            parseIncludeFiles(args, tokens, target);
+        if (index.hasUnused(first, last))
+            parseIncludeFiles(args, tokens, index, first, last, target);
 
-        if (tokenCount(tokens) > 0)
-            parseNamedBoolean(args, tokens);
+        if (index.hasUnused(first, last))
+            parseNamedBoolean(args, tokens, index, first, last);
 
         if (isUsageRun())
             return;
 
-        if (tokenCount(tokens) > 0)
-            parseNamedGroups(args, tokens, target);
-        if (tokenCount(tokens) > 0)
-            parseNamedValueArgs(args, tokens);
-        if (tokenCount(tokens) > 0)
-            parsePositional(args, tokens);
-        if (tokenCount(tokens) > 0)
-            parseOrphaned(tokens);
+        if (index.hasUnused(first, last))
+            parseNamedGroups(args, tokens, index, first, last, target);
+        if (index.hasUnused(first, last))
+            parseNamedValueArgs(args, tokens, index, first, last);
+        if (index.hasUnused(first, last))
+            parsePositional(args, tokens, index, first, last);
+        if (index.hasUnused(first, last))
+            parseOrphaned(tokens, index, first, last);
     }
 
     /** {@inheritDoc} */
@@ -1320,6 +1610,19 @@ public class CmdLine implements ICmdLine, Cloneable
         return help;
     }
 
+    /**
+     * <p>
+     * Getter for the field <code>includeFileCache</code>.
+     * </p>
+     *
+     * @return null if include files are read each time they are used.
+     * @since 4.3.8
+     */
+    public IncludeFileCache getIncludeFileCache()
+    {
+        return includeFileCache;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String getInstanceClass()
@@ -1393,6 +1696,19 @@ public class CmdLine implements ICmdLine, Cloneable
         return name;
     }
 
+    /**
+     * <p>
+     * Getter for the field <code>parseContext</code>.
+     * </p>
+     *
+     * @return null if each parse uses the class loader of its target.
+     * @since 4.3.8
+     */
+    public ParseContext getParseContext()
+    {
+        return parseContext;
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<ParseException> getParseExceptions()
@@ -1730,7 +2046,7 @@ public class CmdLine implements ICmdLine, Cloneable
      */
     public boolean isCompiled()
     {
-        return !allPossibleArgs.isEmpty();
+        return deferredCompile != null || !allPossibleArgs.isEmpty();
     }
 
     private boolean isFieldExcluded(final Field oneField, final String[] excludeArgsByVariableName)
@@ -1741,6 +2057,13 @@ public class CmdLine implements ICmdLine, Cloneable
         return false;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean isLazy()
+    {
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean isMetaphoneAllowed()
@@ -1852,94 +2175,107 @@ public class CmdLine implements ICmdLine, Cloneable
         return false;
     }
 
+    private KeywordIndex allArgsIndex()
+    {
+        final ArgCategories categories = argCategories();
+        if (_allArgsIndex == null)
+            _allArgsIndex = categories.allArgsIndex.bind(allPossibleArgs);
+        return _allArgsIndex;
+    }
+
     /**
-     * Attempt to find the specification file in one of several places. We start
-     * with the exact name that is given. Then we remove the path and replace
-     * the path part with known places where specification files may be found.
-     * We only report an error if it could not be found at all.
-     *
-     * @param includeToken
-     * @return
+     * The categories are forgotten whenever the args change, including
+     * changes made through the list returned by {@link #allArgs()}.
      */
-    private Token[] loadCommandLineParserIncludeFile(final String filename) throws ParseException
+    private ArgCategories argCategories()
     {
-        File specFile = new File(filename);
-        /*
-         * Find the file.
-         */
-        final String nameOnly = specFile.getName();
-        if (!specFile.exists())
-            for (final File dir : defaultIncludeDirectories)
-            {
-                specFile = new File(dir, nameOnly);
-                if (specFile.exists())
-                    break;
-            }
-
-        IParserInput clp;
-        try
-        {
-            clp = CommandLineParser.getInstance(commandPrefix, specFile);
-            return clp.parseTokens();
-        } catch (final IOException e)
+        if (_categories == null)
         {
-            throw new ParseException(INCLUDE_FILE_PREFIX + nameOnly + " could not be found", 0);
+            forgetArgCategoryLists();
+            _categories = ArgCategories.of(allPossibleArgs);
         }
+        return _categories;
     }
 
-    private List<ICmdLineArg<?>> namedBooleans()
+    /**
+     * The categorized lists and their indexes are derived from the args and
+     * must be rebuilt whenever an arg is added or removed.
+     */
+    private void forgetArgCategories()
+    {
+        _categories = null;
+        forgetArgCategoryLists();
+    }
+
+    /**
+     * A copy shares the categories of the original but needs lists of its own
+     * args.
+     */
+    private void forgetArgCategoryLists()
     {
-        if (_namedBooleans != null)
-            return _namedBooleans;
+        _namedBooleans = null;
+        _namedValueArgs = null;
+        _namedGroups = null;
+        _positional = null;
+        _namedBooleansIndex = null;
+        _namedValueArgsIndex = null;
+        _namedGroupsIndex = null;
+        _allArgsIndex = null;
+    }
 
-        _namedBooleans = new ArrayList<>();
-        final Iterator<ICmdLineArg<?>> aIter = allPossibleArgs.iterator();
-        while (aIter.hasNext())
-        {
-            final ICmdLineArg<?> arg = aIter.next();
-            if (!arg.isPositional() && !arg.isRequiredValue())
-                _namedBooleans.add(arg);
-        }
+    private List<ICmdLineArg<?>> namedBooleans()
+    {
+        final ArgCategories categories = argCategories();
+        if (_namedBooleans == null)
+            _namedBooleans = categories.select(allPossibleArgs, categories.namedBooleans);
         return _namedBooleans;
     }
 
-    private List<ICmdLineArg<?>> namedGroups()
+    private KeywordIndex namedBooleansIndex()
     {
-        if (_namedGroups != null)
-            return _namedGroups;
+        final ArgCategories categories = argCategories();
+        if (_namedBooleansIndex == null)
+            _namedBooleansIndex = categories.namedBooleansIndex.bind(namedBooleans());
+        return _namedBooleansIndex;
+    }
 
-        _namedGroups = new ArrayList<>();
-        final Iterator<ICmdLineArg<?>> aIter = allPossibleArgs.iterator();
-        while (aIter.hasNext())
-        {
-            final ICmdLineArg<?> arg = aIter.next();
-            if (!arg.isPositional() && arg instanceof CmdLineCLA)
-                _namedGroups.add(arg);
-        }
+    private List<ICmdLineArg<?>> namedGroups()
+    {
+        final ArgCategories categories = argCategories();
+        if (_namedGroups == null)
+            _namedGroups = categories.select(allPossibleArgs, categories.namedGroups);
         return _namedGroups;
     }
 
-    private List<ICmdLineArg<?>> namedValueArgs()
+    private KeywordIndex namedGroupsIndex()
     {
-        if (_namedValueArgs != null)
-            return _namedValueArgs;
+        final ArgCategories categories = argCategories();
+        if (_namedGroupsIndex == null)
+            _namedGroupsIndex = categories.namedGroupsIndex.bind(namedGroups());
+        return _namedGroupsIndex;
+    }
 
-        _namedValueArgs = new ArrayList<>();
-        final Iterator<ICmdLineArg<?>> aIter = allPossibleArgs.iterator();
-        while (aIter.hasNext())
-        {
-            final ICmdLineArg<?> arg = aIter.next();
-            if (!arg.isPositional() && arg.isRequiredValue())
-                _namedValueArgs.add(arg);
-        }
+    private List<ICmdLineArg<?>> namedValueArgs()
+    {
+        final ArgCategories categories = argCategories();
+        if (_namedValueArgs == null)
+            _namedValueArgs = categories.select(allPossibleArgs, categories.namedValueArgs);
         return _namedValueArgs;
     }
 
+    private KeywordIndex namedValueArgsIndex()
+    {
+        final ArgCategories categories = argCategories();
+        if (_namedValueArgsIndex == null)
+            _namedValueArgsIndex = categories.namedValueArgsIndex.bind(namedValueArgs());
+        return _namedValueArgsIndex;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Object parse(final IParserInput data) throws IOException, ParseException
     {
-        parseTokens(data, null);
+        parseInContext(data, null, false);
         return null;
     }
 
@@ -1948,15 +2284,7 @@ public class CmdLine implements ICmdLine, Cloneable
     public Object parse(final IParserInput data, final Object target)
             throws IOException, ParseException
     {
-        if (!isCompiled())
-            if (target == null)
-                attemptAnnotationCompile(data.getClass(), true, new ArrayList<Class<?>>(), new String[] {});
-            else
-            {
-                CmdLine.ClassLoader = target.getClass().getClassLoader();
-                attemptAnnotationCompile(target.getClass(), true, new ArrayList<Class<?>>(), new String[] {});
-            }
-        parseTokens(data, target);
+        parseInContext(data, target, true);
         return target;
     }
 
@@ -1965,16 +2293,7 @@ public class CmdLine implements ICmdLine, Cloneable
     public Object parse(final Object target, final String... args)
             throws IOException, ParseException
     {
-        if (target != null)
-            CmdLine.ClassLoader = target.getClass().getClassLoader();
-
-        final IParserInput data = CommandLineParser.getInstance(getCommandPrefix(), args);
-        if (!isCompiled())
-            if (target == null)
-                attemptAnnotationCompile(data.getClass(), true, new ArrayList<Class<?>>(), new String[] {});
-            else
-                attemptAnnotationCompile(target.getClass(), true, new ArrayList<Class<?>>(), new String[] {});
-        parseTokens(data, target);
+        parseInContext(CommandLineParser.getInstance(getCommandPrefix(), args), target, true);
         return target;
     }
 
@@ -1982,8 +2301,7 @@ public class CmdLine implements ICmdLine, Cloneable
     @Override
     public Object parse(final String... args) throws IOException, ParseException
     {
-        final IParserInput data = CommandLineParser.getInstance(getCommandPrefix(), args);
-        parseTokens(data, null);
+        parseInContext(CommandLineParser.getInstance(getCommandPrefix(), args), null, false);
         return null;
     }
 
@@ -1996,164 +2314,288 @@ public class CmdLine implements ICmdLine, Cloneable
      * @throws ParseException
      * @throws IOException
      */
+    /**
+     * Attempt to find the specification file in one of several places. We start
+     * with the exact name that is given. Then we remove the path and replace
+     * the path part with known places where specification files may be found.
+     * We only report an error if it could not be found at all.
+     */
+    private ITokenReader openIncludeFile(final String filename) throws ParseException
+    {
+        final String nameOnly = new File(filename).getName();
+        try
+        {
+            if (includeFileCache != null)
+                return includeFileCache.open(filename, defaultIncludeDirectories, commandPrefix);
+            final File specFile = IncludeFileCache.locate(filename, defaultIncludeDirectories);
+            return CommandLineTokenizer.getInstance(commandPrefix, false, new FileReader(specFile));
+        } catch (final IOException e)
+        {
+            throw new ParseException(INCLUDE_FILE_PREFIX + nameOnly + " could not be found", 0);
+        }
+    }
+
     private void parseDirectives(
             final List<ICmdLineArg<?>> args,
             final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last,
             final Object target)
                     throws ParseException, IOException
     {
-        for (int t = 0; t < tokens.length; t++)
-            if (!tokens[t].isUsed())
-                if (tokens[t].isParserDirective())
+        for (int t = index.nextDirective(first, last); t < last; t = index.nextDirective(t + 1, last))
+        {
+            /*
+             * A Parser directive always starts with an underscore. It
+             * must be followed by (). It can also be a single '='
+             * followed immediately by a '('. This indicates an
+             * equation.
+             */
+            tokens[t].setUsed(true);
+            /*
+             * token + 1 = (
+             *
+             * find corresponding ) token #
+             */
+            final int parmStart = t + 1;
+            int parmEnd = -1;
+            int lex = 0;
+            for (int e = parmStart; e < last; e++)
+            {
+                tokens[e].setUsed(true);
+                if (tokens[e].isGroupStart())
                 {
-                    /*
-                     * A Parser directive always starts with an underscore. It
-                     * must be followed by (). It can also be a single '='
-                     * followed immediately by a '('. This indicates an
-                     * equation.
-                     */
-                    tokens[t].setUsed(true);
-                    /*
-                     * token + 1 = (
-                     *
-                     * find corresponding ) token #
-                     */
-                    final int parmStart = t + 1;
-                    int parmEnd = -1;
-                    int lex = 0;
-                    for (int e = parmStart; e < tokens.length; e++)
+                    lex++;
+                    continue;
+                }
+                if (tokens[e].isGroupEnd())
+                {
+                    lex--;
+                    if (lex == 0)
                     {
-                        tokens[e].setUsed(true);
-                        if (tokens[e].isGroupStart())
-                        {
-                            lex++;
-                            continue;
-                        }
-                        if (tokens[e].isGroupEnd())
-                        {
-                            lex--;
-                            if (lex == 0)
-                            {
-                                parmEnd = e;
-                                break;
-                            }
-                        }
+                        parmEnd = e;
+                        break;
                     }
-                    if (parmEnd == -1)
-                        throw new ParseException("unended directive: " + tokens[t], 0);
+                }
+            }
+            if (parmEnd == -1)
+                throw new ParseException("unended directive: " + tokens[t], 0);
 
-                    /*
-                     * Start and end tokens by requirement are () and not really
-                     * part of the directive, so skip over them.
-                     */
-                    tokens[t] = handleDirective(tokens, t, parmStart + 1, parmEnd - 1);
+            /*
+             * Start and end tokens by requirement are () and not really
+             * part of the directive, so skip over them.
+             */
+            tokens[t] = handleDirective(tokens, t, parmStart + 1, parmEnd - 1);
+            index.replaced(t);
+        }
+    }
 
-                    continue;
-                }
+    /**
+     * Each bracketed occurrence of the group is parsed by a copy of the
+     * group's template, reading directly from the slice of tokens between the
+     * brackets.
+     */
+    private int parseGroup(
+            final CmdLineCLA group,
+            final Token[] tokens,
+            final TokenIndex index,
+            final int _tokenIndex,
+            final int last)
+                    throws ParseException, IOException
+    {
+        int tokenIndex = _tokenIndex;
 
+        for (tokenIndex = index.nextUnused(tokenIndex + 1, last); tokenIndex < last; tokenIndex = index
+                .nextUnused(tokenIndex + 1, last))
+        {
+            if (!tokens[tokenIndex].isGroupStart())
+            {
+                tokenIndex--; // reuse last token later
+                break;
+            }
+            final int groupEnd = matchingGroupEnd(tokens, index, tokenIndex, last);
+            tokens[tokenIndex].setUsed(true);
+            tokens[groupEnd].setUsed(true);
+            group.setValue(parseGroupOccurrence(group, tokens, index, tokenIndex + 1, groupEnd));
+            tokenIndex = groupEnd;
+        }
+        validateMultipleEntries(group);
+        return tokenIndex;
+    }
+
+    private ICmdLine parseGroupOccurrence(
+            final CmdLineCLA group,
+            final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last)
+                    throws ParseException, IOException
+    {
+        final CmdLine occurrence;
+        try
+        {
+            occurrence = (CmdLine) group.templateCmdLine.cloneOccurrence();
+        } catch (final CloneNotSupportedException e)
+        {
+            throw new ParseException("unable to copy the definition of " + group + ": " + e.getMessage(), 0);
+        }
+        occurrence.originalInput = originalInput;
+        occurrence.parseTokens(tokens, index, first, last, null);
+        return occurrence;
+    }
+
+    /**
+     * Compile if needed and parse with the context of this parse current on
+     * this thread. Without a context of its own a parse loads classes with
+     * the class loader of its target.
+     */
+    private void parseInContext(final IParserInput data, final Object target, final boolean compile)
+            throws IOException, ParseException
+    {
+        ParseContext context = parseContext;
+        if (context == null)
+            context = target == null
+                    ? ParseContext.current()
+                    : ParseContext.forClass(target.getClass());
+        final ParseContext previous = context.activate();
+        try
+        {
+            if (compile && !isCompiled())
+                if (target == null)
+                    attemptAnnotationCompile(data.getClass(), true, new ArrayList<Class<?>>(), new String[] {});
+                else
+                    compileFromRegistry(target.getClass());
+            parseTokens(data, target);
+        } finally
+        {
+            ParseContext.restore(previous);
+        }
+    }
+
+    /**
+     * The include file is tokenized as it is read, so only its tokens are
+     * kept, and then they are parsed together. The values of an argument can
+     * be anywhere after it in the file, so the tokens can not be parsed a
+     * part at a time.
+     */
+    private void parseIncludeFile(final List<ICmdLineArg<?>> args, final ITokenReader includeFile, final Object target)
+            throws ParseException, IOException
+    {
+        final List<Token> included = new ArrayList<>();
+        for (Token token = includeFile.nextToken(); token != null; token = includeFile.nextToken())
+            included.add(token);
+        final Token[] tokens = included.toArray(new Token[included.size()]);
+        extractArgumentsFromTokens(tokens, new TokenIndex(tokens), 0, tokens.length, target, args);
     }
 
     private void parseIncludeFiles(
             final List<ICmdLineArg<?>> args,
             final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last,
             final Object target)
                     throws ParseException, IOException
     {
-        for (int t = 0; t < tokens.length; t++)
-            if (!tokens[t].isUsed())
-                if (tokens[t].isIncludeFile())
-                {
-                    /*
-                     * An include file always starts with @ and is immediately
-                     * followed by the filename. However, the file name might be
-                     * the next token if it was quoted or there was some
-                     * whitespace after the @. And it would otherwise be the
-                     * remainder of the @ token.
-                     */
-
-                    tokens[t].setUsed(true);
-                    Token[] newTokens = null;
-
-                    if (tokens[t].getValue().length() > 1)
-                        newTokens = loadCommandLineParserIncludeFile(tokens[t].getValue().substring(1));
-                    else
-                    {
-                        final int filenameT = t + 1;
+        for (int t = index.nextIncludeFile(first, last); t < last; t = index.nextIncludeFile(t + 1, last))
+        {
+            /*
+             * An include file always starts with @ and is immediately
+             * followed by the filename. However, the file name might be
+             * the next token if it was quoted or there was some
+             * whitespace after the @. And it would otherwise be the
+             * remainder of the @ token.
+             */
 
-                        if (filenameT >= tokens.length)
-                            throw new ParseException("end of input found instead of include directive file name", 0);
+            tokens[t].setUsed(true);
+            final String filename;
 
-                        if (!tokens[filenameT].isLiteral())
-                            throw new ParseException("missing include directive file name, found \""
-                                    + tokens[filenameT].toString()
-                                    + "\"", 0);
+            if (tokens[t].getValue().length() > 1)
+                filename = tokens[t].getValue().substring(1);
+            else
+            {
+                final int filenameT = t + 1;
 
-                        tokens[filenameT].setUsed(true);
-                        newTokens = loadCommandLineParserIncludeFile(tokens[filenameT].getValue());
-                    }
-                    extractArgumentsFromTokens(newTokens, target, args);
+                if (filenameT >= last)
+                    throw new ParseException("end of input found instead of include directive file name", 0);
 
-                    if (isUsageRun())
-                    {
-                        args.clear();
-                        return;
-                    }
+                if (!tokens[filenameT].isLiteral())
+                    throw new ParseException("missing include directive file name, found \""
+                            + tokens[filenameT].toString()
+                            + "\"", 0);
 
-                    continue;
-                }
+                tokens[filenameT].setUsed(true);
+                filename = tokens[filenameT].getValue();
+            }
+            try (ITokenReader includeFile = openIncludeFile(filename))
+            {
+                parseIncludeFile(args, includeFile, target);
+            }
 
+            if (isUsageRun())
+            {
+                args.clear();
+                return;
+            }
+        }
     }
 
-    private void parseNamedBoolean(final List<ICmdLineArg<?>> args, final Token[] tokens) throws ParseException
+    private void parseNamedBoolean(
+            final List<ICmdLineArg<?>> args,
+            final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last)
+                    throws ParseException
     {
-        final List<ICmdLineArg<?>> possibleArgs = namedBooleans();
+        final KeywordIndex possibleArgs = namedBooleansIndex();
         int tlex = 0;
-        for (int t = 0; t < tokens.length; t++)
-            if (!tokens[t].isUsed())
+        for (int t = index.nextCommandOrBracket(first, last); t < last; t = index.nextCommandOrBracket(t + 1, last))
+        {
+            if (tokens[t].isGroupStart())
             {
-                if (tokens[t].isGroupStart())
-                {
-                    tlex++;
-                    continue;
-                }
-                if (tokens[t].isGroupEnd())
-                {
-                    tlex--;
-                    continue;
-                }
-                if (tlex == 0)
-                {
-                    final int holdArgCnt = args.size();
-                    while (mostSalient(possibleArgs, tokens, t, args))
-                        if (holdArgCnt < args.size())
-                        { // arg was found
-                            final BooleanCLA arg = (BooleanCLA) args.get(args.size() - 1);
-                            if (arg.getKeychar() != null && arg.getKeychar() == MinHelpCommandName)
-                            {
-                                System.out.println(UsageBuilder.getWriter(this, 1).toString());
-                                return;
-                            }
-                            if (arg.getKeyword() != null
-                                    && arg.getKeyword().equalsIgnoreCase(MaxHelpCommandName))
-                            {
-                                System.out.println(UsageBuilder.getWriter(this, 3).toString());
-                                return;
-                            }
-                            if (arg.getKeyword() != null
-                                    && arg.getKeyword().equalsIgnoreCase(MaxHelpCommandName + ":1"))
-                            {
-                                System.out.println(UsageBuilder.getWriter(this, 1).toString());
-                                return;
-                            }
-                            if (arg.getKeyword() != null
-                                    && arg.getKeyword().equalsIgnoreCase(MaxHelpCommandName + ":2"))
-                            {
-                                System.out.println(UsageBuilder.getWriter(this, 2).toString());
-                                return;
-                            }
+                tlex++;
+                continue;
+            }
+            if (tokens[t].isGroupEnd())
+            {
+                tlex--;
+                continue;
+            }
+            if (tlex == 0)
+            {
+                final int holdArgCnt = args.size();
+                while (mostSalient(possibleArgs, tokens, t, args))
+                    if (holdArgCnt < args.size())
+                    { // arg was found
+                        final BooleanCLA arg = (BooleanCLA) args.get(args.size() - 1);
+                        if (arg.getKeychar() != null && arg.getKeychar() == MinHelpCommandName)
+                        {
+                            System.out.println(UsageBuilder.getWriter(this, 1).toString());
+                            return;
                         }
-                }
+                        if (arg.getKeyword() != null
+                                && arg.getKeyword().equalsIgnoreCase(MaxHelpCommandName))
+                        {
+                            System.out.println(UsageBuilder.getWriter(this, 3).toString());
+                            return;
+                        }
+                        if (arg.getKeyword() != null
+                                && arg.getKeyword().equalsIgnoreCase(MaxHelpCommandName + ":1"))
+                        {
+                            System.out.println(UsageBuilder.getWriter(this, 1).toString());
+                            return;
+                        }
+                        if (arg.getKeyword() != null
+                                && arg.getKeyword().equalsIgnoreCase(MaxHelpCommandName + ":2"))
+                        {
+                            System.out.println(UsageBuilder.getWriter(this, 2).toString());
+                            return;
+                        }
+                    }
             }
+        }
         if (tlex != 0)
             throw new ParseException("Unmatched bracket", 0);
     }
@@ -2161,77 +2603,86 @@ public class CmdLine implements ICmdLine, Cloneable
     private void parseNamedGroups(
             final List<ICmdLineArg<?>> args,
             final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last,
             final Object target)
                     throws ParseException, IOException
     {
-        final List<ICmdLineArg<?>> possibleArgs = namedGroups();
-        for (int t = 0; t < tokens.length; t++)
-            if (!tokens[t].isUsed())
-            {
-                final int holdArgCnt = args.size();
-                mostSalient(possibleArgs, tokens, t, args);
-                if (holdArgCnt < args.size())
-                    t = parseGroup((CmdLineCLA) args.get(args.size() - 1), tokens, t, target);
-            }
+        final KeywordIndex possibleArgs = namedGroupsIndex();
+        for (int t = index.nextCommand(first, last); t < last; t = index.nextCommand(t + 1, last))
+        {
+            final int holdArgCnt = args.size();
+            mostSalient(possibleArgs, tokens, t, args);
+            if (holdArgCnt < args.size())
+                t = parseGroup((CmdLineCLA) args.get(args.size() - 1), tokens, index, t, last);
+        }
     }
 
-    private void parseNamedValueArgs(final List<ICmdLineArg<?>> args, final Token[] tokens)
-            throws ParseException, IOException
+    private void parseNamedValueArgs(
+            final List<ICmdLineArg<?>> args,
+            final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last)
+                    throws ParseException, IOException
     {
-        final List<ICmdLineArg<?>> possibleArgs = namedValueArgs();
+        final KeywordIndex possibleArgs = namedValueArgsIndex();
         int tlex = 0;
-        for (int t = 0; t < tokens.length; t++)
-            if (!tokens[t].isUsed())
+        for (int t = index.nextCommandOrBracket(first, last); t < last; t = index.nextCommandOrBracket(t + 1, last))
+        {
+            if (tokens[t].isGroupStart())
             {
-                if (tokens[t].isGroupStart())
-                {
-                    tlex++;
-                    continue;
-                }
-                if (tokens[t].isGroupEnd())
-                {
-                    tlex--;
-                    continue;
-                }
-                if (tlex == 0)
-                {
-                    final int holdArgCnt = args.size();
-                    mostSalient(possibleArgs, tokens, t, args);
-                    if (holdArgCnt < args.size())
-                        t = parseValues(args.get(args.size() - 1), tokens, t);
-                }
+                tlex++;
+                continue;
+            }
+            if (tokens[t].isGroupEnd())
+            {
+                tlex--;
+                continue;
+            }
+            if (tlex == 0)
+            {
+                final int holdArgCnt = args.size();
+                mostSalient(possibleArgs, tokens, t, args);
+                if (holdArgCnt < args.size())
+                    t = parseValues(args.get(args.size() - 1), tokens, index, t, last);
             }
+        }
         if (tlex != 0)
             throw new ParseException("Unmatched bracket", 0);
     }
 
-    private void parsePositional(final List<ICmdLineArg<?>> args, final Token[] tokens)
-            throws ParseException, IOException
+    private void parsePositional(
+            final List<ICmdLineArg<?>> args,
+            final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last)
+                    throws ParseException, IOException
     {
         final List<ICmdLineArg<?>> possibleArgs = positional();
         final Iterator<ICmdLineArg<?>> pIter = possibleArgs.iterator();
-        int t = 0;
+        int t = first;
         while (pIter.hasNext())
         {
             final ICmdLineArg<?> arg = pIter.next();
 
-            for (; t < tokens.length; t++)
-                if (!tokens[t].isUsed())
-                {
-                    /*
-                     * - and -- commands are mutually exclusive from
-                     * positionals.
-                     */
-                    if (tokens[t].isCommand())
-                        continue;
+            for (t = index.nextUnused(t, last); t < last; t = index.nextUnused(t + 1, last))
+            {
+                /*
+                 * - and -- commands are mutually exclusive from positionals.
+                 */
+                if (tokens[t].isCommand())
+                    continue;
 
-                    if (arg instanceof CmdLineCLA)
-                        t = parseGroup((CmdLineCLA) arg, tokens, --t, null);
-                    else
-                        t = parseValues(arg, tokens, t);
-                    args.add(arg);
-                    break;
-                }
+                if (arg instanceof CmdLineCLA)
+                    t = parseGroup((CmdLineCLA) arg, tokens, index, --t, last);
+                else
+                    t = parseValues(arg, tokens, index, t, last);
+                args.add(arg);
+                break;
+            }
         }
     }
 
@@ -2244,11 +2695,26 @@ public class CmdLine implements ICmdLine, Cloneable
         originalInput = data;
 
         final Token[] tokens = data.parseTokens();
+        return parseTokens(tokens, new TokenIndex(tokens), 0, tokens.length, target);
+    }
 
+    /**
+     * Parse the tokens from first up to, but not including, last. The tokens
+     * are shared with the caller so that a group can be parsed directly from
+     * its parent's tokens. Token positions always refer to originalInput.
+     */
+    private List<ICmdLineArg<?>> parseTokens(
+            final Token[] tokens,
+            final TokenIndex index,
+            final int first,
+            final int last,
+            final Object target)
+                    throws ParseException, IOException
+    {
         resetArgs();
 
         final List<ICmdLineArg<?>> args = new ArrayList<>();
-        extractArgumentsFromTokens(tokens, target, args);
+        extractArgumentsFromTokens(tokens, index, first, last, target, args);
 
         if (isUsageRun())
         {
@@ -2256,7 +2722,7 @@ public class CmdLine implements ICmdLine, Cloneable
             return args;
         }
 
-        checkForUnusedInput(tokens);
+        checkForUnusedInput(tokens, index, first, last);
         applyDefaults();
         checkRequired();
         crossCheck();
@@ -2274,20 +2740,26 @@ public class CmdLine implements ICmdLine, Cloneable
 
     private List<ICmdLineArg<?>> positional()
     {
-        if (_positional != null)
-            return _positional;
-
-        _positional = new ArrayList<>();
-        final Iterator<ICmdLineArg<?>> aIter = allPossibleArgs.iterator();
-        while (aIter.hasNext())
-        {
-            final ICmdLineArg<?> arg = aIter.next();
-            if (arg.isPositional())
-                _positional.add(arg);
-        }
+        final ArgCategories categories = argCategories();
+        if (_positional == null)
+            _positional = categories.select(allPossibleArgs, categories.positional);
         return _positional;
     }
 
+    /**
+     * Categorize and index the args of this command line and of every group
+     * template within it. Copies made afterwards share the results, so this
+     * is done before a definition is shared between threads.
+     */
+    void prepareArgCategories()
+    {
+        argCategories();
+        for (final ICmdLineArg<?> arg : allPossibleArgs)
+            if (arg instanceof CmdLineCLA && ((CmdLineCLA) arg).templateCmdLine instanceof CmdLine
+                    && ((CmdLine) ((CmdLineCLA) arg).templateCmdLine).deferredCompile == null)
+                ((CmdLine) ((CmdLineCLA) arg).templateCmdLine).prepareArgCategories();
+    }
+
     List<ParseException> postCompileAnalysis()
     {
         final List<ParseException> localExceptions = new ArrayList<>();
@@ -2363,18 +2835,24 @@ public class CmdLine implements ICmdLine, Cloneable
     {
         reset();
 
-        final Iterator<ICmdLineArg<?>> aIter = allPossibleArgs.iterator();
-        while (aIter.hasNext())
+        final ConcurrentMap<Class<?>, PullPlan> plans = argCategories().pullPlans;
+        PullPlan plan = plans.get(variableSource.getClass());
+        if (plan == null)
         {
-            final ICmdLineArg<?> arg = aIter.next();
-            if (arg.getVariable() != null)
-                try
-                {
-                    VariablePuller.getInstance().pull(arg, variableSource);
-                } catch (IllegalArgumentException | IllegalAccessException e)
-                {
-                    throw new ParseException(e.getMessage(), 0);
-                }
+            plan = PullPlan.of(allPossibleArgs, variableSource.getClass());
+            plans.putIfAbsent(variableSource.getClass(), plan);
+        } else if (!plan.fits(allPossibleArgs))
+            /*
+             * An arg of this copy was changed after the plan was made, the
+             * plan is still right for the others.
+             */
+            plan = PullPlan.of(allPossibleArgs, variableSource.getClass());
+        try
+        {
+            VariablePuller.getInstance().pull(allPossibleArgs, plan, variableSource);
+        } catch (IllegalArgumentException | IllegalAccessException e)
+        {
+            throw new ParseException(e.getMessage(), 0);
         }
     }
 
@@ -2382,14 +2860,18 @@ public class CmdLine implements ICmdLine, Cloneable
     @Override
     public void remove(final ICmdLineArg<?> arg)
     {
+        checkChangeable();
         allPossibleArgs.remove(arg);
+        forgetArgCategories();
     }
 
     /** {@inheritDoc} */
     @Override
     public void remove(final int argIndex)
     {
+        checkChangeable();
         allPossibleArgs.remove(argIndex);
+        forgetArgCategories();
     }
 
     /** {@inheritDoc} */
@@ -2428,6 +2910,22 @@ public class CmdLine implements ICmdLine, Cloneable
         return 0;
     }
 
+    /**
+     * Seal the group templates of a private copy of a definition before it is
+     * shared. The templates of groups that are compiled later are sealed by
+     * their compile.
+     */
+    void sealTemplates()
+    {
+        for (final ICmdLineArg<?> arg : allPossibleArgs)
+            if (arg instanceof CmdLineCLA)
+            {
+                final CmdLine template = (CmdLine) ((CmdLineCLA) arg).templateCmdLine;
+                template.sealed = true;
+                template.sealTemplates();
+            }
+    }
+
     /** {@inheritDoc} */
     @Override
     public ICmdLineArg<ICmdLine> setCamelCapsAllowed(final boolean bool)
@@ -2502,6 +3000,21 @@ public class CmdLine implements ICmdLine, Cloneable
         return this;
     }
 
+    /**
+     * Keep the tokens of include files in a cache instead of reading the files
+     * each time they are used. A cache can be shared by many parsers. The
+     * default is to not use a cache.
+     *
+     * @param cache null to stop using a cache.
+     * @return this command line.
+     * @since 4.3.8
+     */
+    public CmdLine setIncludeFileCache(final IncludeFileCache cache)
+    {
+        includeFileCache = cache;
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ICmdLineArg<ICmdLine> setInstanceClass(final String classString)
@@ -2523,6 +3036,13 @@ public class CmdLine implements ICmdLine, Cloneable
         return this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public ICmdLineArg<ICmdLine> setLazy(final boolean bool)
+    {
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ICmdLineArg<ICmdLine> setListCriteria(final String[] values) throws ParseException, IOException
@@ -2582,6 +3102,20 @@ public class CmdLine implements ICmdLine, Cloneable
         // nothing to do
     }
 
+    /**
+     * Parse with the settings of a context, instead of loading the classes
+     * named in the arguments with the class loader of the target.
+     *
+     * @param context null to use the class loader of the target.
+     * @return this command line.
+     * @since 4.3.8
+     */
+    public CmdLine setParseContext(final ParseContext context)
+    {
+        parseContext = context;
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ICmdLineArg<ICmdLine> setParsed(final boolean bool)
@@ -2667,6 +3201,13 @@ public class CmdLine implements ICmdLine, Cloneable
         return this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean sharesDefinitionWith(final ICmdLineArg<?> arg)
+    {
+        return arg == this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public int size()
@@ -2826,4 +3367,18 @@ public class CmdLine implements ICmdLine, Cloneable
          * command line as well as a top level.
          */
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Every argument of this command line, and of its groups, is validated.
+     * This converts the values of lazy arguments so that errors in them are
+     * found right after parsing.
+     */
+    @Override
+    public void validate() throws ParseException
+    {
+        for (final ICmdLineArg<?> arg : allPossibleArgs)
+            arg.validate();
+    }
 }
@@ -0,0 +1,241 @@
+package com.obdobion.argument;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+import com.obdobion.argument.input.CommandLineParser;
+import com.obdobion.argument.input.IParserInput;
+
+/**
+ * A compiled command line definition that concurrent parses can use.
+ * <p>
+ * The definition is compiled once and never parsed itself. The result of each
+ * parse is an {@link ICmdLine} of its own whose args only hold the values of
+ * that parse. They share everything else with the definition: the argument
+ * definitions (keywords, help, defaults, criteria and so on), the categories
+ * and keyword indexes, and the group templates. A parse never changes any of
+ * these, so no lock is taken.
+ * </p>
+ * <p>
+ * A group template is compiled the first time a parse uses it. Parses that
+ * use it at the same time may each compile it, and all of them then use the
+ * first compile that was published.
+ * </p>
+ *
+ * <pre>
+ * static final CompiledCmdLine SPEC = CompiledCmdLine.compile(JobConfig.class);
+ * ...
+ * final JobConfig config = new JobConfig();
+ * final ICmdLine result = SPEC.load(config, args);
+ * </pre>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class CompiledCmdLine
+{
+    /**
+     * <p>
+     * compile.
+     * </p>
+     *
+     * @param cmdLine
+     *            an empty command line that supplies the name and prefixes.
+     * @param targetClass
+     *            the annotated class that defines the arguments.
+     * @return a {@link com.obdobion.argument.CompiledCmdLine} object.
+     * @throws java.text.ParseException
+     *             if any.
+     * @throws java.io.IOException
+     *             if any.
+     */
+    static public CompiledCmdLine compile(final CmdLine cmdLine, final Class<?> targetClass)
+            throws ParseException, IOException
+    {
+        if (!cmdLine.isCompiled())
+        {
+            final ParseContext previous = (cmdLine.getParseContext() == null
+                    ? ParseContext.forClass(targetClass)
+                    : cmdLine.getParseContext()).activate();
+            try
+            {
+                cmdLine.attemptAnnotationCompile(targetClass, true, new ArrayList<Class<?>>(), new String[] {});
+            } finally
+            {
+                ParseContext.restore(previous);
+            }
+        }
+        return new CompiledCmdLine(cmdLine);
+    }
+
+    /**
+     * <p>
+     * compile.
+     * </p>
+     *
+     * @param targetClass
+     *            the annotated class that defines the arguments.
+     * @return a {@link com.obdobion.argument.CompiledCmdLine} object.
+     * @throws java.text.ParseException
+     *             if any.
+     * @throws java.io.IOException
+     *             if any.
+     */
+    static public CompiledCmdLine compile(final Class<?> targetClass) throws ParseException, IOException
+    {
+        final CmdLine cmdLine = new CmdLine();
+        return CompiledCmdLineRegistry.get(targetClass, cmdLine.getCommandPrefix(), cmdLine.notPrefix);
+    }
+
+    private final CmdLine definition;
+
+    /**
+     * Takes a private copy of an already compiled command line, group
+     * templates included. Later changes to the command line that was passed in
+     * do not affect this definition. The group templates of the copy are
+     * sealed, since the parsers share them.
+     *
+     * @param compiledCmdLine
+     *            a compiled {@link com.obdobion.argument.CmdLine}.
+     * @throws java.text.ParseException
+     *             if the command line has not been compiled.
+     */
+    public CompiledCmdLine(final ICmdLine compiledCmdLine) throws ParseException
+    {
+        if (!(compiledCmdLine instanceof CmdLine))
+            throw new IllegalArgumentException("only " + CmdLine.class.getName() + " can be compiled");
+        if (!((CmdLine) compiledCmdLine).isCompiled())
+            throw new ParseException("parser must be compiled", 0);
+
+        definition = copy((CmdLine) compiledCmdLine);
+        definition.prepareArgCategories();
+        definition.sealTemplates();
+    }
+
+    /**
+     * Parse many argument vectors against this definition, in parallel.
+     *
+     * @param <T>
+     *            the type of the targets.
+     * @param targets
+     *            supplies a new target for each argument vector, null to only
+     *            parse them.
+     * @return a {@link com.obdobion.argument.BatchParser} object.
+     */
+    public <T> BatchParser<T> batch(final Supplier<? extends T> targets)
+    {
+        return new BatchParser<>(this, targets);
+    }
+
+    private CmdLine copy(final CmdLine original)
+    {
+        try
+        {
+            final CmdLine copy = (CmdLine) original.clone();
+            copy.setDepth(original.getDepth());
+            return copy;
+        } catch (final CloneNotSupportedException e)
+        {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    CmdLine definition()
+    {
+        return definition;
+    }
+
+    /**
+     * <p>
+     * getCommandPrefix.
+     * </p>
+     *
+     * @return a char.
+     */
+    public char getCommandPrefix()
+    {
+        return definition.getCommandPrefix();
+    }
+
+    /**
+     * Parse the args into the target in the same way as
+     * {@link CmdLine#load(ICmdLine, Object, String...)}.
+     *
+     * @param target
+     *            a {@link java.lang.Object} object.
+     * @param args
+     *            a {@link java.lang.String} object.
+     * @return the command line holding the values of this parse.
+     * @throws java.io.IOException
+     *             if any.
+     * @throws java.text.ParseException
+     *             if any.
+     */
+    public ICmdLine load(final Object target, final String... args) throws IOException, ParseException
+    {
+        return parse(CommandLineParser.getInstance(getCommandPrefix(), true, args), target);
+    }
+
+    /**
+     * <p>
+     * newParser.
+     * </p>
+     *
+     * @return a compiled command line that has not been parsed yet. It shares
+     *         the sealed group templates of this definition.
+     */
+    public ICmdLine newParser()
+    {
+        try
+        {
+            final CmdLine parser = (CmdLine) definition.cloneOccurrence();
+            parser.setDepth(definition.getDepth());
+            return parser;
+        } catch (final CloneNotSupportedException e)
+        {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * <p>
+     * parse.
+     * </p>
+     *
+     * @param data
+     *            a {@link com.obdobion.argument.input.IParserInput} object.
+     * @param target
+     *            null is ok.
+     * @return the command line holding the values of this parse.
+     * @throws java.io.IOException
+     *             if any.
+     * @throws java.text.ParseException
+     *             if any.
+     */
+    public ICmdLine parse(final IParserInput data, final Object target) throws IOException, ParseException
+    {
+        final ICmdLine parser = newParser();
+        parser.parse(data, target);
+        return parser;
+    }
+
+    /**
+     * <p>
+     * parse.
+     * </p>
+     *
+     * @param args
+     *            a {@link java.lang.String} object.
+     * @return the command line holding the values of this parse.
+     * @throws java.io.IOException
+     *             if any.
+     * @throws java.text.ParseException
+     *             if any.
+     */
+    public ICmdLine parse(final String... args) throws IOException, ParseException
+    {
+        return parse(CommandLineParser.getInstance(getCommandPrefix(), args), null);
+    }
+}
@@ -0,0 +1,168 @@
+package com.obdobion.argument;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the compiled definition of each annotated class so that loading
+ * the same class again does not repeat the annotation compile.
+ * <p>
+ * The definitions are kept in a {@link ClassValue}, which stores them with
+ * the class itself. A class, and the class loader that defined it, can still
+ * be unloaded while its definition is registered here.
+ * </p>
+ * <p>
+ * The definition of a class depends on the command and negation prefixes and
+ * on the names of any excluded fields, so each combination is compiled
+ * separately. {@link #forget(Class)} discards the definitions of a class, for
+ * instance after the {@link com.obdobion.argument.type.CLAFactory} has been
+ * changed.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class CompiledCmdLineRegistry
+{
+    static private class Key
+    {
+        final char     commandPrefix;
+        final char     notPrefix;
+        final String[] excludeArgsByVariableName;
+
+        Key(final char _commandPrefix, final char _notPrefix, final String[] _excludeArgsByVariableName)
+        {
+            commandPrefix = _commandPrefix;
+            notPrefix = _notPrefix;
+            /*
+             * Excluded fields are matched without regard to case or order.
+             */
+            excludeArgsByVariableName = new String[_excludeArgsByVariableName.length];
+            for (int e = 0; e < excludeArgsByVariableName.length; e++)
+                excludeArgsByVariableName[e] = _excludeArgsByVariableName[e].toLowerCase();
+            Arrays.sort(excludeArgsByVariableName);
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            if (!(obj instanceof Key))
+                return false;
+            final Key other = (Key) obj;
+            return commandPrefix == other.commandPrefix
+                    && notPrefix == other.notPrefix
+                    && Arrays.equals(excludeArgsByVariableName, other.excludeArgsByVariableName);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + commandPrefix;
+            result = prime * result + notPrefix;
+            result = prime * result + Arrays.hashCode(excludeArgsByVariableName);
+            return result;
+        }
+    }
+
+    static private final ClassValue<ConcurrentMap<Key, CompiledCmdLine>> definitions = new ClassValue<ConcurrentMap<Key, CompiledCmdLine>>()
+    {
+        @Override
+        protected ConcurrentMap<Key, CompiledCmdLine> computeValue(final Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * <p>
+     * forget.
+     * </p>
+     *
+     * @param targetClass
+     *            the class whose definitions are to be compiled again the
+     *            next time they are needed.
+     */
+    static public void forget(final Class<?> targetClass)
+    {
+        definitions.remove(targetClass);
+    }
+
+    /**
+     * Return the compiled definition of the class, compiling it if this is
+     * the first request for it. A class that can not be compiled is not
+     * registered, so the error is reported again on the next request.
+     *
+     * @param targetClass
+     *            the annotated class that defines the arguments.
+     * @param commandPrefix
+     *            a char.
+     * @param notPrefix
+     *            a char.
+     * @param excludeArgsByVariableName
+     *            the names of fields that are not to be compiled.
+     * @return a {@link com.obdobion.argument.CompiledCmdLine} object.
+     * @throws java.text.ParseException
+     *             if any.
+     * @throws java.io.IOException
+     *             if any.
+     */
+    static public CompiledCmdLine get(
+            final Class<?> targetClass,
+            final char commandPrefix,
+            final char notPrefix,
+            final String... excludeArgsByVariableName)
+                    throws ParseException, IOException
+    {
+        final CompiledCmdLine existing = registered(targetClass, commandPrefix, notPrefix, excludeArgsByVariableName);
+        if (existing != null)
+            return existing;
+
+        final ParseContext previous = ParseContext.forClass(targetClass).activate();
+        try
+        {
+            final CmdLine cmdLine = new CmdLine(null, commandPrefix, notPrefix);
+            cmdLine.attemptAnnotationCompile(targetClass, true, new ArrayList<Class<?>>(), excludeArgsByVariableName);
+            return register(targetClass, cmdLine, excludeArgsByVariableName);
+        } finally
+        {
+            ParseContext.restore(previous);
+        }
+    }
+
+    /**
+     * Register a copy of a command line that was just compiled from the
+     * class. If another thread got there first, its definition is kept.
+     */
+    static CompiledCmdLine register(
+            final Class<?> targetClass,
+            final CmdLine compiledCmdLine,
+            final String... excludeArgsByVariableName)
+                    throws ParseException
+    {
+        final Key key = new Key(compiledCmdLine.getCommandPrefix(), compiledCmdLine.notPrefix,
+                excludeArgsByVariableName);
+        final CompiledCmdLine compiled = new CompiledCmdLine(compiledCmdLine);
+        final CompiledCmdLine raced = definitions.get(targetClass).putIfAbsent(key, compiled);
+        return raced == null
+                ? compiled
+                : raced;
+    }
+
+    /**
+     * @return the registered definition or null if there isn't one yet.
+     */
+    static CompiledCmdLine registered(
+            final Class<?> targetClass,
+            final char commandPrefix,
+            final char notPrefix,
+            final String... excludeArgsByVariableName)
+    {
+        return definitions.get(targetClass).get(new Key(commandPrefix, notPrefix, excludeArgsByVariableName));
+    }
+}
@@ -89,6 +89,20 @@ public interface ICmdLine extends Comparable<ICmdLine>, ICmdLineArg<ICmdLine>
     @Override
     ICmdLine clone() throws CloneNotSupportedException;
 
+    /**
+     * A copy that holds the values of one occurrence of a group. Unlike
+     * {@link #clone()}, the groups within it share their templates with this
+     * command line rather than copying them.
+     *
+     * @return a {@link com.obdobion.argument.ICmdLine} object.
+     * @throws java.lang.CloneNotSupportedException if any.
+     * @since 4.3.8
+     */
+    default ICmdLine cloneOccurrence() throws CloneNotSupportedException
+    {
+        return clone();
+    }
+
     /**
      * <p>
      * getCommandPrefix.
@@ -0,0 +1,127 @@
+package com.obdobion.argument;
+
+/**
+ * The settings of one parse, or one compile, that used to be kept in static
+ * fields of {@link CmdLine}, such as the class loader that the classes named
+ * in the arguments are loaded with.
+ * <p>
+ * A command line makes the context current on its thread for the duration of
+ * each parse, so the code that needs it finds it with {@link #current()}.
+ * Parses on other threads have their own context, so independent parses of
+ * classes from different class loaders do not need to be serialized.
+ * </p>
+ *
+ * <pre>
+ * final CmdLine cmdLine = new CmdLine();
+ * cmdLine.setParseContext(new ParseContext(tenantClassLoader));
+ * cmdLine.parse(target, args);
+ * </pre>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class ParseContext
+{
+    static private final ThreadLocal<ParseContext> active = new ThreadLocal<>();
+
+    /**
+     * Return the context of the parse running on this thread. Outside of a
+     * parse this is a context for the deprecated {@link CmdLine#ClassLoader}.
+     *
+     * @return a {@link com.obdobion.argument.ParseContext} object.
+     */
+    @SuppressWarnings("deprecation")
+    static public ParseContext current()
+    {
+        final ParseContext context = active.get();
+        if (context != null)
+            return context;
+        return new ParseContext(CmdLine.ClassLoader);
+    }
+
+    /**
+     * <p>
+     * forClass.
+     * </p>
+     *
+     * @param targetClass
+     *            the class that is being parsed into.
+     * @return a context that loads classes with the class loader of the
+     *         class.
+     */
+    static public ParseContext forClass(final Class<?> targetClass)
+    {
+        return new ParseContext(targetClass.getClassLoader());
+    }
+
+    /**
+     * Make a context current on this thread again after
+     * {@link #activate()}.
+     */
+    static void restore(final ParseContext previous)
+    {
+        if (previous == null)
+            active.remove();
+        else
+            active.set(previous);
+    }
+
+    private final ClassLoader classLoader;
+
+    /**
+     * <p>
+     * Constructor for ParseContext.
+     * </p>
+     *
+     * @param _classLoader
+     *            the class loader of the classes named in the arguments, null
+     *            for the one that loaded this library.
+     */
+    public ParseContext(final ClassLoader _classLoader)
+    {
+        classLoader = _classLoader == null
+                ? ParseContext.class.getClassLoader()
+                : _classLoader;
+    }
+
+    /**
+     * Make this the current context of this thread.
+     *
+     * @return the context that was current before, to be passed to
+     *         {@link #restore(ParseContext)}.
+     */
+    ParseContext activate()
+    {
+        final ParseContext previous = active.get();
+        active.set(this);
+        return previous;
+    }
+
+    /**
+     * <p>
+     * Getter for the field <code>classLoader</code>.
+     * </p>
+     *
+     * @return a {@link java.lang.ClassLoader} object.
+     */
+    public ClassLoader getClassLoader()
+    {
+        return classLoader;
+    }
+
+    /**
+     * <p>
+     * loadClass.
+     * </p>
+     *
+     * @param name
+     *            the binary name of the class.
+     * @return a {@link java.lang.Class} object.
+     * @throws java.lang.ClassNotFoundException
+     *             if any.
+     */
+    public Class<?> loadClass(final String name) throws ClassNotFoundException
+    {
+        return classLoader.loadClass(name);
+    }
+}
@@ -178,6 +178,24 @@ public @interface Arg
      */
     String instanceClass() default "";
 
+    /**
+     * Indicates that the values of this argument are kept as they were
+     * entered and only converted when they are first read or assigned to the
+     * variable. This is for types that are expensive to convert, like
+     * equations, patterns and wildcards, when they are often not used. The
+     * criteria are checked at the same time, so an invalid value is not
+     * reported by the parse but by the assignment or by
+     * {@link com.obdobion.argument.type.ICmdLineArg#validate()}.
+     *
+     * <pre>
+     * &#64;Arg(lazy = true)
+     * private Equ formula;
+     * </pre>
+     *
+     * @since 4.3.8
+     */
+    boolean lazy() default false;
+
     /**
      * Indicates the single word, long name of this argument. The command-line
      * use of this is a double dash (--) followed immediately by this word, or
@@ -219,6 +237,14 @@ public @interface Arg
      */
     String matches() default "";
 
+    /**
+     * Indicates how deep the directories below the starting path of each
+     * pattern are searched for a {@link com.obdobion.argument.type.WildFiles
+     * WildFiles} argument, 0 to only search the starting paths themselves. The
+     * default of -1 does not limit the search.
+     */
+    int maxDepth() default -1;
+
     /**
      * Indicates the maximum allowed number of values that will be accepted for
      * this argument. Useful when the type of the variable is an array or a
@@ -233,6 +259,14 @@ public @interface Arg
      */
     int multimin() default 0;
 
+    /**
+     * Indicates how many threads scan the directories of a
+     * {@link com.obdobion.argument.type.WildFiles WildFiles} argument when its
+     * files are listed. The files are found in the same order as with the
+     * default of one thread.
+     */
+    int parallelism() default 1;
+
     /**
      * Indicates that a name is not allowed for this argument. The user input is
      * for this parameter is determined based on the order of the input. A way
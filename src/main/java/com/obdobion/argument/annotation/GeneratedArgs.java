@@ -0,0 +1,75 @@
+package com.obdobion.argument.annotation;
+
+/**
+ * Finds the {@link IGeneratedArgs} of an annotated class, if the
+ * argument-processor was run when the class was compiled. A class without
+ * generated arguments is compiled and assigned with reflection as usual.
+ * <p>
+ * The answer is kept in a {@link ClassValue} so that each class is looked up
+ * only once.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class GeneratedArgs
+{
+    /** Constant <code>SUFFIX="$$Args"</code> */
+    static public final String                      SUFFIX    = "$$Args";
+
+    static private final ClassValue<IGeneratedArgs> generated = new ClassValue<IGeneratedArgs>()
+    {
+        @Override
+        protected IGeneratedArgs computeValue(final Class<?> type)
+        {
+            return load(type);
+        }
+    };
+
+    /**
+     * <p>
+     * className.
+     * </p>
+     *
+     * @param annotatedClass a {@link java.lang.Class} object.
+     * @return the name of the class that is generated for the annotated class.
+     */
+    static public String className(final Class<?> annotatedClass)
+    {
+        return annotatedClass.getName() + SUFFIX;
+    }
+
+    /**
+     * <p>
+     * forClass.
+     * </p>
+     *
+     * @param annotatedClass a {@link java.lang.Class} object.
+     * @return the generated arguments of the class or null if there are none.
+     */
+    static public IGeneratedArgs forClass(final Class<?> annotatedClass)
+    {
+        return generated.get(annotatedClass);
+    }
+
+    static private IGeneratedArgs load(final Class<?> annotatedClass)
+    {
+        if (annotatedClass.isArray() || annotatedClass.isPrimitive() || annotatedClass.getClassLoader() == null)
+            return null;
+        try
+        {
+            final Class<?> generatedClass = Class.forName(className(annotatedClass), true,
+                    annotatedClass.getClassLoader());
+            if (!IGeneratedArgs.class.isAssignableFrom(generatedClass))
+                return null;
+            return (IGeneratedArgs) generatedClass.getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | LinkageError e)
+        {
+            /*
+             * Usually there simply isn't one. Reflection still works when the
+             * generated class does not.
+             */
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.obdobion.argument.annotation;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+import com.obdobion.argument.ICmdLine;
+import com.obdobion.argument.type.CLAFactory;
+import com.obdobion.argument.type.ICmdLineArg;
+
+/**
+ * The arguments of an annotated class as they were compiled at build time by
+ * the argument-processor module. An implementation is generated into the
+ * package of the class and named by {@link GeneratedArgs#className(Class)}.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public interface IGeneratedArgs
+{
+    /**
+     * Assign the value of an argument to its variable without reflection.
+     *
+     * @param arg a {@link com.obdobion.argument.type.ICmdLineArg} object that
+     *            has a value.
+     * @param target an instance of the annotated class.
+     * @return false if the variable is not known here, the caller then assigns
+     *         it in the usual way.
+     * @throws java.text.ParseException if any.
+     */
+    boolean assign(final ICmdLineArg<?> arg, final Object target) throws ParseException;
+
+    /**
+     * Add the arguments of the annotated class, in the same order and with the
+     * same settings as if its annotations had been compiled when it was
+     * loaded.
+     *
+     * @param cmdLine a {@link com.obdobion.argument.ICmdLine} object.
+     * @param factory the {@link com.obdobion.argument.type.CLAFactory} of
+     *            this compile, to create the arguments with.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     */
+    void define(final ICmdLine cmdLine, final CLAFactory factory) throws ParseException, IOException;
+}
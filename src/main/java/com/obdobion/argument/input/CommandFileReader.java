@@ -0,0 +1,140 @@
+package com.obdobion.argument.input;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a command file as the single line of text that it stands for. Each
+ * line is followed by a space instead of its line terminator. Empty lines and
+ * comment lines, those with a # in column 1, are left out entirely.
+ * <p>
+ * Only a chunk of the file is held at a time so the file can be any size.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class CommandFileReader extends Reader
+{
+    static private final int EOF       = -1;
+    static private final int NONE      = -2;
+
+    private final Reader     in;
+    private final char[]     buffer    = new char[8192];
+    private int              bufferLength;
+    private int              bufferPos;
+    /*
+     * A character read past the \r of a line terminator that is not a \n.
+     */
+    private int              pushedBack = NONE;
+    private boolean          inLine;
+    private boolean          inComment;
+
+    /**
+     * <p>
+     * Constructor for CommandFileReader.
+     * </p>
+     *
+     * @param _in the contents of the command file.
+     */
+    public CommandFileReader(final Reader _in)
+    {
+        in = _in;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException
+    {
+        in.close();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read() throws IOException
+    {
+        for (int c = rawRead(); true; c = rawRead())
+        {
+            if (c == EOF)
+            {
+                /*
+                 * The last line does not need a terminator.
+                 */
+                if (inLine)
+                {
+                    inLine = false;
+                    return ' ';
+                }
+                return EOF;
+            }
+            if (c == '\r' || c == '\n')
+            {
+                if (c == '\r')
+                {
+                    final int next = rawRead();
+                    if (next != '\n' && next != EOF)
+                        pushedBack = next;
+                }
+                inComment = false;
+                if (inLine)
+                {
+                    inLine = false;
+                    return ' ';
+                }
+                continue;
+            }
+            if (inComment)
+                continue;
+            if (!inLine)
+            {
+                if (c == '#')
+                {
+                    inComment = true;
+                    continue;
+                }
+                inLine = true;
+            }
+            return c;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException
+    {
+        if (len == 0)
+            return 0;
+        int cnt = 0;
+        while (cnt < len)
+        {
+            final int c = read();
+            if (c == EOF)
+                break;
+            cbuf[off + cnt++] = (char) c;
+        }
+        return cnt == 0
+                ? EOF
+                : cnt;
+    }
+
+    private int rawRead() throws IOException
+    {
+        if (pushedBack != NONE)
+        {
+            final int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        if (bufferPos == bufferLength)
+        {
+            bufferLength = in.read(buffer, 0, buffer.length);
+            bufferPos = 0;
+            if (bufferLength <= 0)
+            {
+                bufferLength = 0;
+                return EOF;
+            }
+        }
+        return buffer[bufferPos++];
+    }
+}
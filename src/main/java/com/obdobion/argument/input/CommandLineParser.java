@@ -1,11 +1,13 @@
 package com.obdobion.argument.input;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.Iterator;
 import java.util.List;
 
@@ -20,33 +22,6 @@ import com.obdobion.argument.type.ICmdLineArg;
  */
 public class CommandLineParser extends AbstractInputParser implements IParserInput
 {
-    static private StringBuilder convertToString(
-            final File commandFile)
-                    throws FileNotFoundException,
-                    IOException
-    {
-        final FileReader fis = new FileReader(commandFile);
-        try (final BufferedReader buf = new BufferedReader(fis))
-        {
-            final StringBuilder str = new StringBuilder();
-            String input = buf.readLine();
-            while (input != null)
-            {
-                /*
-                 * Allow comments if the first character on a line is #. It must
-                 * be column 1.
-                 */
-                if (input.length() > 0 && input.charAt(0) != '#')
-                {
-                    str.append(input);
-                    str.append(' ');
-                }
-                input = buf.readLine();
-            }
-            return str;
-        }
-    }
-
     /**
      * <p>
      * getInstance.
@@ -67,7 +42,13 @@ public class CommandLineParser extends AbstractInputParser implements IParserInp
         final CommandLineParser parser = new CommandLineParser();
         parser.commandPrefix = commandPrefix;
         parser.allowEmbeddedCommandPrefix = allowEmbeddedCommandPrefix;
-        parser.commandLine = convertToString(args).toString();
+        /*
+         * The file is read when it is tokenized, a missing file is still
+         * reported now.
+         */
+        if (!Files.isReadable(args.toPath()))
+            throw new FileNotFoundException(args.getPath() + " could not be read");
+        parser.commandFile = args;
         return parser;
     }
 
@@ -177,6 +158,7 @@ public class CommandLineParser extends AbstractInputParser implements IParserInp
     }
 
     protected String commandLine;
+    private File     commandFile;
     char             commandPrefix;
 
     boolean          allowEmbeddedCommandPrefix;
@@ -191,159 +173,48 @@ public class CommandLineParser extends AbstractInputParser implements IParserInp
     @Override
     public Token[] parseTokens()
     {
-        char delim = ' ';
-        final StringBuilder part = new StringBuilder();
-        boolean inToken = false;
-        int startX = 0;
-        final List<Token> tokens = new ArrayList<>();
-        char thisChar = ' ';
-        char prevChar;
-
-        for (int scanX = 0; scanX < commandLine.length(); scanX++)
+        try (final CommandLineTokenizer tokenizer = new CommandLineTokenizer(commandPrefix,
+                allowEmbeddedCommandPrefix, reader()))
         {
-            prevChar = thisChar;
-            thisChar = commandLine.charAt(scanX);
-            char nextChar = ' ';
-            /*
-             * Look ahead one char if possible
-             */
-            if (scanX < commandLine.length() - 2)
-                nextChar = commandLine.charAt(scanX + 1);
-
-            if (inToken)
-            {
-                if (delim != ' ' && thisChar == delim)
-                {
-                    tokens.add(new Token(commandPrefix,
-                            part.toString(),
-                            startX,
-                            scanX + 1,
-                            true));
-                    part.delete(0, part.length());
-                    inToken = false;
-                } else /*
-                        * As long as we are not in a quoted literal then we want
-                        * to split the token if any of these conditions are
-                        * true.
-                        */
-                if (delim == ' '
-                        && (Character.isWhitespace(thisChar)
-                                || thisChar == '('
-                                || thisChar == ')'
-                                || thisChar == '['
-                                || thisChar == ']'
-                                || thisChar == ';'
-                                || thisChar == ','
-                                || thisChar == '"'
-                                || thisChar == '\''
-                                /*
-                                 * = is whitespace unless it is followed by an
-                                 * open paren, then it is an equation directive
-                                 */
-                                || (thisChar == '=' && nextChar != '(')
-                                /*
-                                 * Make sure to allow double dashes at the
-                                 * beginning of a token, the second one is
-                                 * technically not an embedded dash.
-                                 */
-                                || (!allowEmbeddedCommandPrefix
-                                        && thisChar == commandPrefix
-                                        && prevChar != commandPrefix)
-                                        /*
-                                         * Even if we are allowing embedded
-                                         * tokens we don't want to allow double
-                                         * dashes within a token, only at the
-                                         * beginning. A double dash will
-                                         * indicate that a new token should be
-                                         * started instead.
-                                         */
-                                || (allowEmbeddedCommandPrefix
-                                        && thisChar == commandPrefix
-                                        && nextChar == commandPrefix)
-                                        /*
-                                         * An embedded dash will cause a new
-                                         * token if the current token started
-                                         * with a single dash
-                                         */
-                                || (thisChar == commandPrefix
-                                        && part.length() > 1
-                                        && part.charAt(0) == commandPrefix
-                                        && part.charAt(1) != commandPrefix)))
-                {
-                    boolean forceLiteral = false;
-                    /*
-                     * Single char commands can not be a number. This allows
-                     * negative numbers to be entered without escaping them or
-                     * surrounding them with delimiters.
-                     */
-                    if (part.length() > 1)
-                        if (part.charAt(0) == commandPrefix
-                                && Character.isDigit(part.charAt(1)))
-                            forceLiteral = true;
-                    tokens.add(new Token(commandPrefix,
-                            part.toString(),
-                            startX,
-                            scanX,
-                            forceLiteral));
-                    part.delete(0, part.length());
-                    /*
-                     * rescan char
-                     */
-                    --scanX;
-                    inToken = false;
-                } else
-                {
-                    if (thisChar == '\\')
-                        thisChar = commandLine.charAt(++scanX);
-                    part.append(thisChar);
-                }
-            } else
-            {
-                /*
-                 * Completely throw away whitespace characters unless quoted.
-                 * They served their purpose in that they caused a token to be
-                 * stopped.
-                 */
-                if (Character.isWhitespace(thisChar)
-                        || thisChar == ':'
-                        || thisChar == ';'
-                        || thisChar == ','
-                        || (thisChar == '=' && nextChar != '('))
-                    continue;
-                if (thisChar == '(' || thisChar == ')' || thisChar == '[' || thisChar == ']')
-                {
-                    tokens.add(new Token(commandPrefix,
-                            "" + thisChar,
-                            scanX,
-                            scanX + 1,
-                            false));
-                    continue;
-                }
-                if (thisChar == '"' || thisChar == '\'')
-                    delim = thisChar;
-                else
-                {
-                    delim = ' ';
-                    part.append(thisChar);
-                }
-                inToken = true;
-                startX = scanX;
-            }
+            return tokenizer.remainingTokens();
+        } catch (final IOException e)
+        {
+            throw new UncheckedIOException(e);
         }
-        if (inToken)
-            tokens.add(new Token(commandPrefix,
-                    part.toString(),
-                    startX,
-                    commandLine.length(),
-                    delim != ' '));
+    }
 
-        return tokens.toArray(new Token[tokens.size()]);
+    private Reader reader() throws IOException
+    {
+        if (commandFile != null)
+            return new CommandFileReader(new FileReader(commandFile));
+        return new StringReader(commandLine);
     }
 
     /** {@inheritDoc} */
     @Override
     public String substring(final int inclusiveStart, final int exclusiveEnd)
     {
-        return commandLine.substring(inclusiveStart, exclusiveEnd);
+        if (commandLine != null)
+            return commandLine.substring(inclusiveStart, exclusiveEnd);
+        /*
+         * Command files are not kept in memory, so read the part again.
+         */
+        try (final Reader reader = reader())
+        {
+            reader.skip(inclusiveStart);
+            final char[] chars = new char[exclusiveEnd - inclusiveStart];
+            int len = 0;
+            while (len < chars.length)
+            {
+                final int cnt = reader.read(chars, len, chars.length - len);
+                if (cnt < 0)
+                    break;
+                len += cnt;
+            }
+            return new String(chars, 0, len);
+        } catch (final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,309 @@
+package com.obdobion.argument.input;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits command line text into tokens as it is read, a chunk at a time, so
+ * that only the token being built is held in memory rather than all of the
+ * text. The tokens are the same, with the same input positions, as if the
+ * whole text had been given to {@link CommandLineParser}.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class CommandLineTokenizer implements ITokenReader
+{
+    static private final int EOF = -1;
+
+    /**
+     * A tokenizer for the contents of a command file, see
+     * {@link CommandFileReader}.
+     *
+     * @param commandPrefix a char.
+     * @param allowEmbeddedCommandPrefix a boolean.
+     * @param commandFile a {@link java.io.Reader} object.
+     * @return a {@link com.obdobion.argument.input.CommandLineTokenizer}
+     *         object.
+     */
+    static public CommandLineTokenizer getInstance(
+            final char commandPrefix,
+            final boolean allowEmbeddedCommandPrefix,
+            final Reader commandFile)
+    {
+        return new CommandLineTokenizer(commandPrefix, allowEmbeddedCommandPrefix,
+                new CommandFileReader(commandFile));
+    }
+
+    /**
+     * A tokenizer for the contents of a command file that are read from a
+     * channel in the platform's default character set.
+     *
+     * @param commandPrefix a char.
+     * @param allowEmbeddedCommandPrefix a boolean.
+     * @param commandFile a {@link java.nio.channels.ReadableByteChannel}
+     *            object.
+     * @return a {@link com.obdobion.argument.input.CommandLineTokenizer}
+     *         object.
+     */
+    static public CommandLineTokenizer getInstance(
+            final char commandPrefix,
+            final boolean allowEmbeddedCommandPrefix,
+            final ReadableByteChannel commandFile)
+    {
+        return getInstance(commandPrefix, allowEmbeddedCommandPrefix,
+                Channels.newReader(commandFile, Charset.defaultCharset().newDecoder(), -1));
+    }
+
+    private final char          commandPrefix;
+    private final boolean       allowEmbeddedCommandPrefix;
+    private final Reader        in;
+    private final char[]        buffer = new char[8192];
+    private int                 bufferLength;
+    private int                 bufferPos;
+    /*
+     * Characters that have been read from the input but not yet scanned. This
+     * holds at most the character to be scanned again and the one after it.
+     */
+    private final int[]         ahead  = new int[2];
+    private int                 aheadCount;
+    /*
+     * The input position of the next character to be scanned.
+     */
+    private int                 nextX;
+
+    private final StringBuilder part   = new StringBuilder();
+    private boolean             inToken;
+    private char                delim  = ' ';
+    private int                 startX;
+    private char                thisChar;
+
+    /**
+     * <p>
+     * Constructor for CommandLineTokenizer.
+     * </p>
+     *
+     * @param _commandPrefix a char.
+     * @param _allowEmbeddedCommandPrefix a boolean.
+     * @param _in the command line text.
+     */
+    public CommandLineTokenizer(
+            final char _commandPrefix,
+            final boolean _allowEmbeddedCommandPrefix,
+            final Reader _in)
+    {
+        commandPrefix = _commandPrefix;
+        allowEmbeddedCommandPrefix = _allowEmbeddedCommandPrefix;
+        in = _in;
+        thisChar = ' ';
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException
+    {
+        in.close();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Token nextToken() throws IOException
+    {
+        char prevChar;
+
+        for (int c = read(); c != EOF; c = read())
+        {
+            final int scanX = nextX - 1;
+            prevChar = thisChar;
+            thisChar = (char) c;
+            /*
+             * Look ahead one char if possible
+             */
+            final int peeked = peek();
+            final char nextChar = peeked == EOF
+                    ? ' '
+                    : (char) peeked;
+
+            if (inToken)
+            {
+                if (delim != ' ' && thisChar == delim)
+                {
+                    inToken = false;
+                    return take(scanX + 1, true);
+                }
+                /*
+                 * As long as we are not in a quoted literal then we want to
+                 * split the token if any of these conditions are true.
+                 */
+                if (delim == ' '
+                        && (Character.isWhitespace(thisChar)
+                                || thisChar == '('
+                                || thisChar == ')'
+                                || thisChar == '['
+                                || thisChar == ']'
+                                || thisChar == ';'
+                                || thisChar == ','
+                                || thisChar == '"'
+                                || thisChar == '\''
+                                /*
+                                 * = is whitespace unless it is followed by an
+                                 * open paren, then it is an equation directive
+                                 */
+                                || (thisChar == '=' && nextChar != '(')
+                                /*
+                                 * Make sure to allow double dashes at the
+                                 * beginning of a token, the second one is
+                                 * technically not an embedded dash.
+                                 */
+                                || (!allowEmbeddedCommandPrefix
+                                        && thisChar == commandPrefix
+                                        && prevChar != commandPrefix)
+                                /*
+                                 * Even if we are allowing embedded tokens we
+                                 * don't want to allow double dashes within a
+                                 * token, only at the beginning. A double dash
+                                 * will indicate that a new token should be
+                                 * started instead.
+                                 */
+                                || (allowEmbeddedCommandPrefix
+                                        && thisChar == commandPrefix
+                                        && nextChar == commandPrefix)
+                                /*
+                                 * An embedded dash will cause a new token if
+                                 * the current token started with a single dash
+                                 */
+                                || (thisChar == commandPrefix
+                                        && part.length() > 1
+                                        && part.charAt(0) == commandPrefix
+                                        && part.charAt(1) != commandPrefix)))
+                {
+                    boolean forceLiteral = false;
+                    /*
+                     * Single char commands can not be a number. This allows
+                     * negative numbers to be entered without escaping them or
+                     * surrounding them with delimiters.
+                     */
+                    if (part.length() > 1)
+                        if (part.charAt(0) == commandPrefix
+                                && Character.isDigit(part.charAt(1)))
+                            forceLiteral = true;
+                    /*
+                     * rescan char
+                     */
+                    unread(c);
+                    inToken = false;
+                    return take(scanX, forceLiteral);
+                }
+                if (thisChar == '\\')
+                {
+                    final int escaped = read();
+                    if (escaped == EOF)
+                        break;
+                    thisChar = (char) escaped;
+                }
+                part.append(thisChar);
+                continue;
+            }
+            /*
+             * Completely throw away whitespace characters unless quoted. They
+             * served their purpose in that they caused a token to be stopped.
+             */
+            if (Character.isWhitespace(thisChar)
+                    || thisChar == ':'
+                    || thisChar == ';'
+                    || thisChar == ','
+                    || (thisChar == '=' && nextChar != '('))
+                continue;
+            if (thisChar == '(' || thisChar == ')' || thisChar == '[' || thisChar == ']')
+                return new Token(commandPrefix, "" + thisChar, scanX, scanX + 1, false);
+            if (thisChar == '"' || thisChar == '\'')
+                delim = thisChar;
+            else
+            {
+                delim = ' ';
+                part.append(thisChar);
+            }
+            inToken = true;
+            startX = scanX;
+        }
+        if (inToken)
+        {
+            inToken = false;
+            return take(nextX, delim != ' ');
+        }
+        return null;
+    }
+
+    private int peek() throws IOException
+    {
+        if (aheadCount == 0)
+            ahead[aheadCount++] = readInput();
+        return ahead[0];
+    }
+
+    private int read() throws IOException
+    {
+        final int c;
+        if (aheadCount > 0)
+        {
+            c = ahead[0];
+            ahead[0] = ahead[1];
+            aheadCount--;
+        } else
+            c = readInput();
+        if (c != EOF)
+            nextX++;
+        return c;
+    }
+
+    private int readInput() throws IOException
+    {
+        if (bufferPos == bufferLength)
+        {
+            bufferLength = in.read(buffer, 0, buffer.length);
+            bufferPos = 0;
+            if (bufferLength <= 0)
+            {
+                bufferLength = 0;
+                return EOF;
+            }
+        }
+        return buffer[bufferPos++];
+    }
+
+    /**
+     * <p>
+     * remainingTokens.
+     * </p>
+     *
+     * @return all of the tokens that have not been returned yet.
+     * @throws java.io.IOException if any.
+     */
+    public Token[] remainingTokens() throws IOException
+    {
+        final List<Token> tokens = new ArrayList<>();
+        for (Token token = nextToken(); token != null; token = nextToken())
+            tokens.add(token);
+        return tokens.toArray(new Token[tokens.size()]);
+    }
+
+    private Token take(final int endX, final boolean literal)
+    {
+        final Token token = new Token(commandPrefix, part.toString(), startX, endX, literal);
+        part.setLength(0);
+        return token;
+    }
+
+    private void unread(final int c)
+    {
+        ahead[1] = ahead[0];
+        ahead[0] = c;
+        aheadCount++;
+        nextX--;
+    }
+}
@@ -0,0 +1,24 @@
+package com.obdobion.argument.input;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Hands out the tokens of an input one at a time, so that a large include
+ * file does not have to be held in memory all at once.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public interface ITokenReader extends Closeable
+{
+    /**
+     * <p>
+     * nextToken.
+     * </p>
+     *
+     * @return the next token or null at the end of the input.
+     * @throws java.io.IOException if any.
+     */
+    public Token nextToken() throws IOException;
+}
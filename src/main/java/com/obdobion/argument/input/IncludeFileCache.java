@@ -0,0 +1,341 @@
+package com.obdobion.argument.input;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the tokens of recently included files so that a parser that is used
+ * over and over does not read and tokenize the same include files each time.
+ * <p>
+ * A file is known by its canonical path, its last modified time and its
+ * length, so a file that changes is read again. The least recently used
+ * files are dropped when there are more than the maximum number of files or
+ * tokens. Each parse is given its own copy of the tokens.
+ * </p>
+ * <p>
+ * A file that is not cached is handed out a token at a time as it is read.
+ * Copies of its tokens are only kept until there are too many of them to
+ * cache, so a file that is too big for the cache is never held in memory.
+ * </p>
+ * <p>
+ * The directory that an include file was found in is remembered too, for as
+ * long as the file is still there.
+ * </p>
+ * <p>
+ * A cache can be shared by any number of parsers and threads.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class IncludeFileCache
+{
+    /**
+     * Hands out copies of the tokens of a cached file.
+     */
+    static private class CachedTokens implements ITokenReader
+    {
+        final Token[] tokens;
+        int           next;
+
+        CachedTokens(final Token[] _tokens)
+        {
+            tokens = _tokens;
+        }
+
+        @Override
+        public void close()
+        {
+            // nothing was opened
+        }
+
+        @Override
+        public Token nextToken()
+        {
+            if (next == tokens.length)
+                return null;
+            return new Token(tokens[next++]);
+        }
+    }
+
+    static private class Key
+    {
+        final String canonicalPath;
+        final long   lastModified;
+        final long   length;
+        final char   commandPrefix;
+
+        Key(final File canonicalFile, final char _commandPrefix)
+        {
+            canonicalPath = canonicalFile.getPath();
+            lastModified = canonicalFile.lastModified();
+            length = canonicalFile.length();
+            commandPrefix = _commandPrefix;
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            if (!(obj instanceof Key))
+                return false;
+            final Key other = (Key) obj;
+            return lastModified == other.lastModified
+                    && length == other.length
+                    && commandPrefix == other.commandPrefix
+                    && canonicalPath.equals(other.canonicalPath);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + canonicalPath.hashCode();
+            result = prime * result + (int) (lastModified ^ (lastModified >>> 32));
+            result = prime * result + (int) (length ^ (length >>> 32));
+            result = prime * result + commandPrefix;
+            return result;
+        }
+    }
+
+    /**
+     * Hands out the tokens of a file as it is read, keeping unused copies of
+     * them to cache once the whole file has been read.
+     */
+    private class RecordedTokens implements ITokenReader
+    {
+        final Key                  key;
+        final CommandLineTokenizer tokenizer;
+        List<Token>                recorded = new ArrayList<>();
+
+        RecordedTokens(final Key _key, final CommandLineTokenizer _tokenizer)
+        {
+            key = _key;
+            tokenizer = _tokenizer;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            tokenizer.close();
+        }
+
+        @Override
+        public Token nextToken() throws IOException
+        {
+            final Token token = tokenizer.nextToken();
+            if (recorded == null)
+                return token;
+            if (token == null)
+            {
+                remember(key, recorded.toArray(new Token[recorded.size()]));
+                recorded = null;
+            } else if (recorded.size() == maxTokens)
+                /*
+                 * Too big to cache, stop keeping copies.
+                 */
+                recorded = null;
+            else
+                recorded.add(new Token(token));
+            return token;
+        }
+    }
+
+    /**
+     * Find an include file. If it is not where the name says then the
+     * directories are searched, in order, for a file of the same name.
+     *
+     * @param filename the name as it was given on the command line.
+     * @param includeDirectories where else to look.
+     * @return the file, which might not exist if it was not found.
+     */
+    static public File locate(final String filename, final List<File> includeDirectories)
+    {
+        File specFile = new File(filename);
+        final String nameOnly = specFile.getName();
+        if (!specFile.exists())
+            for (final File dir : includeDirectories)
+            {
+                specFile = new File(dir, nameOnly);
+                if (specFile.exists())
+                    break;
+            }
+        return specFile;
+    }
+
+    private final int                   maxFiles;
+    private final long                  maxTokens;
+    private final Map<Key, Token[]>     files     = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, File>     locations = new LinkedHashMap<>(16, 0.75f, true);
+    private long                        cachedTokens;
+    private final AtomicLong            hits      = new AtomicLong();
+    private final AtomicLong            misses    = new AtomicLong();
+
+    /**
+     * <p>
+     * Constructor for IncludeFileCache.
+     * </p>
+     *
+     * @param _maxFiles the most files to keep.
+     * @param _maxTokens the most tokens to keep, for all files together. A
+     *            file with more tokens than this is not kept at all.
+     */
+    public IncludeFileCache(final int _maxFiles, final long _maxTokens)
+    {
+        if (_maxFiles < 1 || _maxTokens < 1)
+            throw new IllegalArgumentException("include file cache limits must be positive");
+        maxFiles = _maxFiles;
+        maxTokens = _maxTokens;
+    }
+
+    /**
+     * <p>
+     * clear.
+     * </p>
+     */
+    public synchronized void clear()
+    {
+        files.clear();
+        locations.clear();
+        cachedTokens = 0;
+    }
+
+    /**
+     * <p>
+     * getHits.
+     * </p>
+     *
+     * @return the number of times an include file was found in the cache.
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * <p>
+     * getMisses.
+     * </p>
+     *
+     * @return the number of times an include file had to be read.
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    private File locateCanonical(final String filename, final List<File> includeDirectories) throws IOException
+    {
+        final String locationKey = filename + File.pathSeparator + includeDirectories;
+        synchronized (this)
+        {
+            final File known = locations.get(locationKey);
+            if (known != null && known.isFile())
+                return known;
+        }
+        final File canonical = locate(filename, includeDirectories).getCanonicalFile();
+        synchronized (this)
+        {
+            locations.put(locationKey, canonical);
+            if (locations.size() > maxFiles)
+            {
+                final Iterator<File> eldest = locations.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Open an include file, reading it only if it is not already cached.
+     *
+     * @param filename the name as it was given on the command line.
+     * @param includeDirectories where else to look, see
+     *            {@link #locate(String, List)}.
+     * @param commandPrefix a char.
+     * @return unused tokens that belong to the caller, to be closed by the
+     *         caller.
+     * @throws java.io.IOException if the file can not be found.
+     */
+    public ITokenReader open(final String filename, final List<File> includeDirectories, final char commandPrefix)
+            throws IOException
+    {
+        final File file = locateCanonical(filename, includeDirectories);
+        final Key key = new Key(file, commandPrefix);
+
+        final Token[] cached;
+        synchronized (this)
+        {
+            cached = files.get(key);
+        }
+        if (cached != null)
+        {
+            hits.incrementAndGet();
+            return new CachedTokens(cached);
+        }
+
+        misses.incrementAndGet();
+        return new RecordedTokens(key, CommandLineTokenizer.getInstance(commandPrefix, false, new FileReader(file)));
+    }
+
+    private synchronized void remember(final Key key, final Token[] tokens)
+    {
+        if (tokens.length > maxTokens)
+            return;
+        final Token[] replaced = files.put(key, tokens);
+        if (replaced != null)
+            cachedTokens -= replaced.length;
+        cachedTokens += tokens.length;
+
+        final Iterator<Token[]> eldest = files.values().iterator();
+        while (files.size() > maxFiles || cachedTokens > maxTokens)
+        {
+            cachedTokens -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * <p>
+     * size.
+     * </p>
+     *
+     * @return the number of files that are cached.
+     */
+    public synchronized int size()
+    {
+        return files.size();
+    }
+
+    /**
+     * Return all of the tokens of an include file, reading it only if it is
+     * not already cached. Use {@link #open(String, List, char)} to read them
+     * one at a time instead.
+     *
+     * @param filename the name as it was given on the command line.
+     * @param includeDirectories where else to look, see
+     *            {@link #locate(String, List)}.
+     * @param commandPrefix a char.
+     * @return unused tokens that belong to the caller.
+     * @throws java.io.IOException if the file can not be found or read.
+     */
+    public Token[] tokens(final String filename, final List<File> includeDirectories, final char commandPrefix)
+            throws IOException
+    {
+        final List<Token> tokens = new ArrayList<>();
+        try (ITokenReader reader = open(filename, includeDirectories, commandPrefix))
+        {
+            for (Token token = reader.nextToken(); token != null; token = reader.nextToken())
+                tokens.add(token);
+        }
+        return tokens.toArray(new Token[tokens.size()]);
+    }
+}
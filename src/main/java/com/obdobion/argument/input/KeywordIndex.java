@@ -0,0 +1,430 @@
+package com.obdobion.argument.input;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.obdobion.argument.type.AbstractCLA;
+import com.obdobion.argument.type.ICmdLineArg;
+
+/**
+ * An immutable lookup structure that resolves a command token to the arguments
+ * it could refer to without scanning every argument definition.
+ * <p>
+ * Keywords are stored in a case-folded prefix trie so that an abbreviated word
+ * command is resolved by walking its own characters. Key characters, camel
+ * caps abbreviations and metaphone encodings are kept in hash tables, so the
+ * fuzzy forms of a keyword are found with a lookup of the token's own camel
+ * caps and metaphone forms, which the token computes only once.
+ * <p>
+ * The results are identical to calling {@link ICmdLineArg#salience(Token)} on
+ * each argument in list order, including the rule that an exact keyword match
+ * resolves an otherwise ambiguous abbreviation. Arguments that are not derived
+ * from {@link AbstractCLA} may define their own salience and are therefore
+ * always asked directly.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class KeywordIndex
+{
+    static private class Node
+    {
+        final char[] keys;
+        final Node[] children;
+        /*
+         * Ordinals of every argument whose folded keyword starts with the path
+         * to this node, in ascending order.
+         */
+        final int[]  prefixed;
+
+        Node(final char[] _keys, final Node[] _children, final int[] _prefixed)
+        {
+            keys = _keys;
+            children = _children;
+            prefixed = _prefixed;
+        }
+
+        Node child(final char key)
+        {
+            final int x = Arrays.binarySearch(keys, key);
+            if (x < 0)
+                return null;
+            return children[x];
+        }
+    }
+
+    /**
+     * The ordinals of the arguments that a token matched, as they are found.
+     * It grows with the number of matches, not with the number of arguments.
+     */
+    static private class Hits
+    {
+        int[] ordinals = new int[8];
+        int   size;
+
+        void add(final int a)
+        {
+            if (size == ordinals.length)
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            ordinals[size++] = a;
+        }
+
+        void addAll(final int[] more)
+        {
+            for (final int a : more)
+                add(a);
+        }
+
+        void clear()
+        {
+            size = 0;
+        }
+
+        /**
+         * A token can match the same argument by its keyword and by its camel
+         * caps or metaphone form.
+         */
+        void sortUnique()
+        {
+            Arrays.sort(ordinals, 0, size);
+            int unique = 0;
+            for (int h = 0; h < size; h++)
+                if (unique == 0 || ordinals[h] != ordinals[unique - 1])
+                    ordinals[unique++] = ordinals[h];
+            size = unique;
+        }
+    }
+
+    static private class NodeBuilder
+    {
+        final TreeMap<Character, NodeBuilder> children = new TreeMap<>();
+        final List<Integer>                   prefixed = new ArrayList<>();
+
+        Node build()
+        {
+            final char[] keys = new char[children.size()];
+            final Node[] nodes = new Node[children.size()];
+            int x = 0;
+            for (final Map.Entry<Character, NodeBuilder> entry : children.entrySet())
+            {
+                keys[x] = entry.getKey();
+                nodes[x] = entry.getValue().build();
+                x++;
+            }
+            return new Node(keys, nodes, toArray(prefixed));
+        }
+    }
+
+    static private final int[] NONE = new int[0];
+
+    /**
+     * <p>
+     * fold.
+     * </p>
+     *
+     * @param c a char.
+     * @return the case-insensitive form of the character, consistent with
+     *         {@link String#equalsIgnoreCase(String)}.
+     */
+    static public char fold(final char c)
+    {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * <p>
+     * fold.
+     * </p>
+     *
+     * @param str a {@link java.lang.String} object.
+     * @return the case-insensitive form of the string, consistent with
+     *         {@link String#equalsIgnoreCase(String)}.
+     */
+    static public String fold(final String str)
+    {
+        final char[] chars = str.toCharArray();
+        for (int c = 0; c < chars.length; c++)
+            chars[c] = fold(chars[c]);
+        return new String(chars);
+    }
+
+    static private int[] toArray(final List<Integer> ordinals)
+    {
+        if (ordinals.isEmpty())
+            return NONE;
+        final int[] result = new int[ordinals.size()];
+        for (int x = 0; x < result.length; x++)
+            result[x] = ordinals.get(x);
+        return result;
+    }
+
+    private final ICmdLineArg<?>[]      args;
+    private final Node                  root;
+    private final Map<Character, int[]> keychars;
+    private final Map<String, int[]>    camelCaps;
+    private final Map<String, int[]>    metaphones;
+    private final int[]                 foreign;
+
+    /**
+     * <p>
+     * Constructor for KeywordIndex.
+     * </p>
+     *
+     * @param possibleArgs the arguments, in the order that ambiguities are to
+     *            be reported.
+     */
+    public KeywordIndex(final List<ICmdLineArg<?>> possibleArgs)
+    {
+        args = possibleArgs.toArray(new ICmdLineArg<?>[possibleArgs.size()]);
+
+        final NodeBuilder rootBuilder = new NodeBuilder();
+        final Map<Character, List<Integer>> keycharBuilder = new HashMap<>();
+        final Map<String, List<Integer>> camelCapsBuilder = new HashMap<>();
+        final Map<String, List<Integer>> metaphoneBuilder = new HashMap<>();
+        final List<Integer> foreignBuilder = new ArrayList<>();
+
+        for (int a = 0; a < args.length; a++)
+        {
+            final ICmdLineArg<?> arg = args[a];
+            if (!(arg instanceof AbstractCLA))
+            {
+                foreignBuilder.add(a);
+                continue;
+            }
+            if (arg.getKeychar() != null)
+            {
+                List<Integer> ordinals = keycharBuilder.get(arg.getKeychar());
+                if (ordinals == null)
+                {
+                    ordinals = new ArrayList<>();
+                    keycharBuilder.put(arg.getKeychar(), ordinals);
+                }
+                ordinals.add(a);
+            }
+            final String keyword = arg.getKeyword();
+            if (keyword == null)
+                continue;
+
+            NodeBuilder node = rootBuilder;
+            for (int c = 0; c < keyword.length(); c++)
+            {
+                final Character key = fold(keyword.charAt(c));
+                NodeBuilder child = node.children.get(key);
+                if (child == null)
+                {
+                    child = new NodeBuilder();
+                    node.children.put(key, child);
+                }
+                node = child;
+                node.prefixed.add(a);
+            }
+
+            if (arg.isCamelCapsAllowed() && arg.getCamelCaps() != null)
+            {
+                final String folded = fold(arg.getCamelCaps());
+                List<Integer> ordinals = camelCapsBuilder.get(folded);
+                if (ordinals == null)
+                {
+                    ordinals = new ArrayList<>();
+                    camelCapsBuilder.put(folded, ordinals);
+                }
+                ordinals.add(a);
+            }
+            if (arg.isMetaphoneAllowed() && arg.getMetaphone() instanceof String)
+            {
+                final String encoded = (String) arg.getMetaphone();
+                List<Integer> ordinals = metaphoneBuilder.get(encoded);
+                if (ordinals == null)
+                {
+                    ordinals = new ArrayList<>();
+                    metaphoneBuilder.put(encoded, ordinals);
+                }
+                ordinals.add(a);
+            }
+        }
+
+        root = rootBuilder.build();
+        keychars = new HashMap<>();
+        for (final Map.Entry<Character, List<Integer>> entry : keycharBuilder.entrySet())
+            keychars.put(entry.getKey(), toArray(entry.getValue()));
+        camelCaps = new HashMap<>();
+        for (final Map.Entry<String, List<Integer>> entry : camelCapsBuilder.entrySet())
+            camelCaps.put(entry.getKey(), toArray(entry.getValue()));
+        metaphones = new HashMap<>();
+        for (final Map.Entry<String, List<Integer>> entry : metaphoneBuilder.entrySet())
+            metaphones.put(entry.getKey(), toArray(entry.getValue()));
+        foreign = toArray(foreignBuilder);
+    }
+
+    private KeywordIndex(final KeywordIndex layout, final ICmdLineArg<?>[] _args)
+    {
+        args = _args;
+        root = layout.root;
+        keychars = layout.keychars;
+        camelCaps = layout.camelCaps;
+        metaphones = layout.metaphones;
+        foreign = layout.foreign;
+    }
+
+    /**
+     * Create an index over a copy of the arguments this index was built from.
+     * The lookup tables are shared, so the copies must define the same
+     * arguments in the same order.
+     *
+     * @param sameLayoutArgs copies of the arguments in this index.
+     * @return an index that answers with the copies.
+     */
+    public KeywordIndex bind(final List<ICmdLineArg<?>> sameLayoutArgs)
+    {
+        if (sameLayoutArgs.size() != args.length)
+            throw new IllegalArgumentException("expected " + args.length + " args, found " + sameLayoutArgs.size());
+        return new KeywordIndex(this, sameLayoutArgs.toArray(new ICmdLineArg<?>[args.length]));
+    }
+
+    /**
+     * Collects the ordinals of the arguments that the token could refer to and
+     * returns the salience those arguments would report.
+     */
+    private int candidates(final Token token, final Hits hits)
+    {
+        if (token.isUsed())
+            return 0;
+
+        if (token.isCharCommand())
+        {
+            final int[] ordinals = keychars.get(token.charCommand());
+            if (ordinals == null)
+                return 0;
+            hits.addAll(ordinals);
+            return 1;
+        }
+
+        final String word = token.getFoldedWordCommand();
+        if (word == null)
+            return 0;
+
+        boolean found = false;
+        Node node = root;
+        for (int c = 0; node != null && c < word.length(); c++)
+            node = node.child(word.charAt(c));
+        if (node != null && node.prefixed.length > 0)
+        {
+            hits.addAll(node.prefixed);
+            found = true;
+        }
+
+        /*
+         * Camel caps and metaphone forms only count when the token is shorter
+         * than the keyword.
+         */
+        if (!camelCaps.isEmpty())
+            found |= markShorter(camelCaps.get(word), word.length(), hits);
+        if (!metaphones.isEmpty())
+            found |= markShorter(metaphones.get(token.getMetaphone()), word.length(), hits);
+
+        return found
+                ? word.length()
+                : 0;
+    }
+
+    private boolean markShorter(final int[] ordinals, final int wordLength, final Hits hits)
+    {
+        if (ordinals == null)
+            return false;
+        boolean found = false;
+        for (final int a : ordinals)
+            if (wordLength < args[a].getKeyword().length())
+            {
+                hits.add(a);
+                found = true;
+            }
+        return found;
+    }
+
+    /**
+     * <p>
+     * matchingArgs.
+     * </p>
+     *
+     * @param bestArgs receives the most salient arguments in list order.
+     * @param token a {@link com.obdobion.argument.input.Token} object.
+     * @param includeAlreadyParsed a boolean.
+     * @return the salience of the best arguments, or -1 if none matched.
+     */
+    public int matchingArgs(
+            final List<ICmdLineArg<?>> bestArgs,
+            final Token token,
+            final boolean includeAlreadyParsed)
+    {
+        bestArgs.clear();
+        if (args.length == 0)
+            return -1;
+
+        final Hits hits = new Hits();
+        int maxTokenLengthUsed = candidates(token, hits);
+        if (!includeAlreadyParsed)
+        {
+            int remaining = 0;
+            for (int h = 0; h < hits.size; h++)
+                if (!args[hits.ordinals[h]].isParsed())
+                    hits.ordinals[remaining++] = hits.ordinals[h];
+            hits.size = remaining;
+            if (remaining == 0)
+                maxTokenLengthUsed = 0;
+        }
+        if (maxTokenLengthUsed <= 0)
+            maxTokenLengthUsed = -1;
+
+        for (final int a : foreign)
+        {
+            if (args[a].isParsed() && !includeAlreadyParsed)
+                continue;
+            final int sal = args[a].salience(token);
+            if (sal <= 0 || sal < maxTokenLengthUsed)
+                continue;
+            if (sal > maxTokenLengthUsed)
+            {
+                hits.clear();
+                maxTokenLengthUsed = sal;
+            }
+            hits.add(a);
+        }
+
+        hits.sortUnique();
+        for (int h = 0; h < hits.size; h++)
+            bestArgs.add(args[hits.ordinals[h]]);
+        if (bestArgs.isEmpty())
+            return -1;
+
+        /*
+         * An exact keyword match wins over the longer keywords that share it
+         * as a prefix, see CmdLine.matchingArgs.
+         */
+        if (bestArgs.size() > 1 && token.getWordCommand() != null)
+            for (final ICmdLineArg<?> barg : bestArgs)
+                if (token.getWordCommand().equalsIgnoreCase(barg.getKeyword()))
+                {
+                    bestArgs.clear();
+                    bestArgs.add(barg);
+                    break;
+                }
+
+        return maxTokenLengthUsed;
+    }
+
+    /**
+     * <p>
+     * size.
+     * </p>
+     *
+     * @return the number of arguments in this index.
+     */
+    public int size()
+    {
+        return args.length;
+    }
+}
@@ -1,8 +1,7 @@
 package com.obdobion.argument.input;
 
-import org.apache.commons.codec.language.Metaphone;
-
 import com.obdobion.argument.CmdLine;
+import com.obdobion.argument.type.AbstractCLA;
 import com.obdobion.argument.type.ICmdLineArg;
 
 /**
@@ -23,6 +22,8 @@ public class Token
     private boolean    charCommand;
     private boolean    wordCommand;
     private String     cachedWordCommand;
+    private String     cachedFoldedWordCommand;
+    private String     cachedMetaphone;
 
     /**
      * <p>
@@ -78,6 +79,27 @@ public class Token
             }
     }
 
+    /**
+     * An unused copy of a token that has not been parsed yet.
+     *
+     * @since 4.3.8
+     */
+    Token(final Token original)
+    {
+        super();
+        commandPrefix = original.commandPrefix;
+        value = original.value;
+        used = false;
+        inputStartX = original.inputStartX;
+        inputEndX = original.inputEndX;
+        literal = original.literal;
+        charCommand = original.charCommand;
+        wordCommand = original.wordCommand;
+        cachedWordCommand = original.cachedWordCommand;
+        cachedFoldedWordCommand = original.cachedFoldedWordCommand;
+        cachedMetaphone = original.cachedMetaphone;
+    }
+
     /**
      * <p>
      * charCommand.
@@ -106,6 +128,26 @@ public class Token
         return 0;
     }
 
+    /**
+     * <p>
+     * getFoldedWordCommand.
+     * </p>
+     *
+     * @return the word command in the case-insensitive form used by
+     *         {@link KeywordIndex}, or null if this is not a word command.
+     * @since 4.3.8
+     */
+    public String getFoldedWordCommand()
+    {
+        if (cachedFoldedWordCommand != null)
+            return cachedFoldedWordCommand;
+
+        if (getWordCommand() == null)
+            return null;
+        cachedFoldedWordCommand = KeywordIndex.fold(getWordCommand());
+        return cachedFoldedWordCommand;
+    }
+
     /**
      * <p>
      * Getter for the field <code>inputEndX</code>.
@@ -130,6 +172,26 @@ public class Token
         return inputStartX;
     }
 
+    /**
+     * <p>
+     * getMetaphone.
+     * </p>
+     *
+     * @return the metaphone encoding of the word command, or null if this is
+     *         not a word command.
+     * @since 4.3.8
+     */
+    public String getMetaphone()
+    {
+        if (cachedMetaphone != null)
+            return cachedMetaphone;
+
+        if (getWordCommand() == null)
+            return null;
+        cachedMetaphone = AbstractCLA.createMetaphoneVersionOfKeyword(getWordCommand());
+        return cachedMetaphone;
+    }
+
     /**
      * <p>
      * Getter for the field <code>value</code>.
@@ -325,7 +387,7 @@ public class Token
                  * Check for metaphone
                  */
                 if (argDef.getMetaphone() != null)
-                    if (new Metaphone().metaphone(getWordCommand()).equals(argDef.getMetaphone()))
+                    if (argDef.getMetaphone().equals(getMetaphone()))
                         return true;
         }
         return false;
@@ -0,0 +1,201 @@
+package com.obdobion.argument.input;
+
+import java.util.BitSet;
+
+/**
+ * Classifies each token of a parse once and keeps track of the tokens that
+ * are still unused, so that each parsing phase only visits the tokens it can
+ * act on.
+ * <p>
+ * A token that has been used is never used again, so a token is dropped from
+ * these sets the first time it is found to be used. Later searches step over
+ * it a word of bits at a time instead of asking the token again. A phase that
+ * uses tokens does not need to tell this index about it.
+ * </p>
+ * <p>
+ * Searches take the end of the range to search, so the parser of a bracketed
+ * group can share the index of its parent's tokens.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class TokenIndex
+{
+    private final Token[] tokens;
+    private final BitSet  unused;
+    private final BitSet  commands;
+    private final BitSet  brackets;
+    private final BitSet  commandsAndBrackets;
+    private final BitSet  directives;
+    private final BitSet  includeFiles;
+
+    /**
+     * <p>
+     * Constructor for TokenIndex.
+     * </p>
+     *
+     * @param _tokens all of the tokens of the parse.
+     */
+    public TokenIndex(final Token[] _tokens)
+    {
+        tokens = _tokens;
+        unused = new BitSet(tokens.length);
+        commands = new BitSet(tokens.length);
+        brackets = new BitSet(tokens.length);
+        commandsAndBrackets = new BitSet(tokens.length);
+        directives = new BitSet(tokens.length);
+        includeFiles = new BitSet(tokens.length);
+        for (int t = 0; t < tokens.length; t++)
+            classify(t);
+    }
+
+    private void classify(final int t)
+    {
+        final Token token = tokens[t];
+        unused.set(t, !token.isUsed());
+        commands.set(t, token.isCommand());
+        brackets.set(t, token.isGroupStart() || token.isGroupEnd());
+        commandsAndBrackets.set(t, commands.get(t) || brackets.get(t));
+        directives.set(t, token.isParserDirective());
+        includeFiles.set(t, token.isIncludeFile());
+    }
+
+    /**
+     * <p>
+     * count.
+     * </p>
+     *
+     * @param first the first token of the range.
+     * @param last the token after the range.
+     * @return the number of unused tokens in the range.
+     */
+    public int count(final int first, final int last)
+    {
+        int cnt = 0;
+        for (int t = nextUnused(first, last); t < last; t = nextUnused(t + 1, last))
+            cnt++;
+        return cnt;
+    }
+
+    /**
+     * <p>
+     * hasUnused.
+     * </p>
+     *
+     * @param first the first token of the range.
+     * @param last the token after the range.
+     * @return true if any token in the range has not been used.
+     */
+    public boolean hasUnused(final int first, final int last)
+    {
+        return nextUnused(first, last) < last;
+    }
+
+    private int next(final BitSet set, final int from, final int last)
+    {
+        for (int t = set.nextSetBit(from); t >= 0 && t < last; t = set.nextSetBit(t + 1))
+        {
+            if (!tokens[t].isUsed())
+                return t;
+            set.clear(t);
+        }
+        return last;
+    }
+
+    /**
+     * <p>
+     * nextBracket.
+     * </p>
+     *
+     * @param from the first token to consider.
+     * @param last the token after the range.
+     * @return the next unused group start or end, or last if there isn't one.
+     */
+    public int nextBracket(final int from, final int last)
+    {
+        return next(brackets, from, last);
+    }
+
+    /**
+     * <p>
+     * nextCommand.
+     * </p>
+     *
+     * @param from the first token to consider.
+     * @param last the token after the range.
+     * @return the next unused command, or last if there isn't one.
+     */
+    public int nextCommand(final int from, final int last)
+    {
+        return next(commands, from, last);
+    }
+
+    /**
+     * <p>
+     * nextCommandOrBracket.
+     * </p>
+     *
+     * @param from the first token to consider.
+     * @param last the token after the range.
+     * @return the next unused command, group start or group end, or last if
+     *         there isn't one.
+     */
+    public int nextCommandOrBracket(final int from, final int last)
+    {
+        return next(commandsAndBrackets, from, last);
+    }
+
+    /**
+     * <p>
+     * nextDirective.
+     * </p>
+     *
+     * @param from the first token to consider.
+     * @param last the token after the range.
+     * @return the next unused parser directive, or last if there isn't one.
+     */
+    public int nextDirective(final int from, final int last)
+    {
+        return next(directives, from, last);
+    }
+
+    /**
+     * <p>
+     * nextIncludeFile.
+     * </p>
+     *
+     * @param from the first token to consider.
+     * @param last the token after the range.
+     * @return the next unused include file token, or last if there isn't one.
+     */
+    public int nextIncludeFile(final int from, final int last)
+    {
+        return next(includeFiles, from, last);
+    }
+
+    /**
+     * <p>
+     * nextUnused.
+     * </p>
+     *
+     * @param from the first token to consider.
+     * @param last the token after the range.
+     * @return the next unused token, or last if there isn't one.
+     */
+    public int nextUnused(final int from, final int last)
+    {
+        return next(unused, from, last);
+    }
+
+    /**
+     * Classify the token again after it has been replaced in the array, by
+     * the result of a directive for instance.
+     *
+     * @param t the index of the token that was replaced.
+     */
+    public void replaced(final int t)
+    {
+        classify(t);
+    }
+}
@@ -20,7 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.obdobion.algebrain.Equ;
-import com.obdobion.argument.CmdLine;
+import com.obdobion.argument.ParseContext;
 import com.obdobion.argument.criteria.EnumCriteria;
 import com.obdobion.argument.criteria.ICmdLineArgCriteria;
 import com.obdobion.argument.criteria.ListCriteria;
@@ -44,6 +44,11 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
 
     static private final Pattern CAMELCAPS       = Pattern.compile("([A-Z0-9])");
 
+    /*
+     * The encoder has no state that changes while encoding so it is shared.
+     */
+    static private final Metaphone METAPHONE     = new Metaphone();
+
     /** Constant <code>newline="System.getProperty(line.separator)"</code> */
     public static String         newline         = System.getProperty("line.separator");
 
@@ -81,7 +86,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     {
         if (_keyword == null || _keyword.trim().length() == 0)
             return null;
-        return new Metaphone().metaphone(_keyword);
+        return METAPHONE.metaphone(_keyword);
     }
 
     /**
@@ -101,38 +106,94 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     }
 
     /**
-     * Set when this argument is created in the factory.
+     * What an argument is, as opposed to the values it was given. It is
+     * shared by the copies of the argument, one for each occurrence of a
+     * group, and copied by the first one of them that changes it. Subclasses
+     * read it through {@link #definition} and change it through
+     * {@link #definitionToChange()}.
      */
-    protected int                    uniqueId;
-    protected ClaType                type;
-
-    protected List<E>                defaultValues = new ArrayList<>();
-
-    protected String                 help;
-
-    protected Character              keychar;
-    protected String                 keyword;
-    protected String                 camelCaps;
-    protected boolean                camelCapsAllowed;
-    protected String                 metaphone;
-    protected boolean                metaphoneAllowed;
-    protected String                 variable;
-    protected String                 instanceClass;
-    protected String                 format;
-    protected String                 factoryMethodName;
-    protected String                 factoryArgName;
-    protected boolean                multiple;
-    protected int                    multipleMin;
-    protected int                    multipleMax;
+    static protected final class Definition<E> implements Cloneable
+    {
+        /**
+         * Set when this argument is created in the factory.
+         */
+        public int                    uniqueId;
+        public ClaType                type;
+
+        public List<E>                defaultValues = new ArrayList<>();
+
+        public String                 help;
+
+        public Character              keychar;
+        public String                 keyword;
+        public String                 camelCaps;
+        public boolean                camelCapsAllowed;
+        public String                 metaphone;
+        public boolean                metaphoneAllowed;
+        public String                 variable;
+        public String                 instanceClass;
+        public String                 format;
+        public String                 factoryMethodName;
+        public String                 factoryArgName;
+        public boolean                multiple;
+        public int                    multipleMin;
+        public int                    multipleMax;
+        public boolean                positional;
+        public boolean                caseSensitive;
+        public boolean                lazy;
+        public boolean                required;
+        public boolean                requiredValue;
+        public boolean                systemGenerated;
+        public String                 enumClassName;
+        public ICmdLineArgCriteria<?> criteria;
+
+        Definition<E> copy()
+        {
+            try
+            {
+                @SuppressWarnings("unchecked")
+                final Definition<E> copy = (Definition<E>) super.clone();
+                copy.defaultValues = new ArrayList<>(defaultValues);
+                return copy;
+            } catch (final CloneNotSupportedException e)
+            {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Read only, changes are made to {@link #definitionToChange()}.
+     */
+    protected Definition<E>          definition    = new Definition<>();
+    /**
+     * Set once this argument has been cloned, the definition is then shared
+     * with the clone and must be copied before it is changed.
+     */
+    private boolean                  definitionShared;
+
     protected boolean                parsed;
-    protected boolean                positional;
-    protected boolean                caseSensitive;
-    protected boolean                required;
-    protected boolean                requiredValue;
-    protected boolean                systemGenerated;
-    protected List<E>                values        = new ArrayList<>();
-    protected String                 enumClassName;
-    protected ICmdLineArgCriteria<?> criteria;
+    protected List<E>                values        = newValues();
+    /**
+     * The values of a lazy argument, as they were entered, that have not been
+     * converted yet.
+     */
+    protected List<String>           unconvertedValues;
+
+    /** {@inheritDoc} */
+    @Override
+    public void addValue(final String valueStr) throws ParseException, IOException
+    {
+        if (!definition.lazy)
+        {
+            setValue(convert(valueStr, isCaseSensitive(), null));
+            return;
+        }
+        setParsed(true);
+        if (unconvertedValues == null)
+            unconvertedValues = new ArrayList<>();
+        unconvertedValues.add(valueStr);
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -172,10 +233,13 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     public ICmdLineArg<E> clone()
             throws CloneNotSupportedException
     {
+        definitionShared = true;
         @SuppressWarnings("unchecked")
         final AbstractCLA<E> clone = (AbstractCLA<E>) super.clone();
 
-        clone.values = new ArrayList<>();
+        clone.values = clone.newValues();
+        clone.unconvertedValues = null;
+        clone.forgetFormats();
         clone.reset();
         return clone;
     }
@@ -194,6 +258,23 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     abstract public E convert(String valueStr, boolean _caseSensitive, Object target)
             throws ParseException, IOException;
 
+    /**
+     * Convert the values of a lazy argument that have not been converted yet,
+     * for the readers of the values that can not throw a ParseException.
+     */
+    private void convertValues()
+    {
+        if (unconvertedValues == null)
+            return;
+        try
+        {
+            validate();
+        } catch (final ParseException e)
+        {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public String defaultInstanceClass()
@@ -201,11 +282,29 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
         return "Object";
     }
 
+    /**
+     * The definition of this argument, for changing it. A definition that is
+     * shared with a clone is copied first, so the change is only seen by this
+     * argument.
+     *
+     * @return the definition that only this argument uses.
+     * @since 4.3.8
+     */
+    protected Definition<E> definitionToChange()
+    {
+        if (definitionShared)
+        {
+            definition = definition.copy();
+            definitionShared = false;
+        }
+        return definition;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void dontAllowCamelCaps()
     {
-        camelCaps = null;
+        definitionToChange().camelCaps = null;
     }
 
     /**
@@ -215,7 +314,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
      */
     public void dontAllowMetaphone()
     {
-        metaphone = null;
+        definitionToChange().metaphone = null;
     }
 
     /** {@inheritDoc} */
@@ -230,18 +329,18 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     public void exportCommandLine(final StringBuilder out)
     {
         if (!isPositional())
-            if (keychar != null && keychar != ' ')
+            if (definition.keychar != null && definition.keychar != ' ')
             {
                 out.append("-");
-                out.append(keychar.charValue());
-            } else if (keyword != null && keyword.trim().length() > 0)
+                out.append(definition.keychar.charValue());
+            } else if (definition.keyword != null && definition.keyword.trim().length() > 0)
             {
                 out.append("--");
-                out.append(keyword);
+                out.append(definition.keyword);
             }
         for (int d = 0; d < size(); d++)
         {
-            if (d > 0 || isPositional() || keychar == null || keychar == ' ')
+            if (d > 0 || isPositional() || definition.keychar == null || definition.keychar == ' ')
                 out.append(" ");
             exportCommandLineData(out, d);
         }
@@ -274,10 +373,10 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
             pre.append(prefix);
             if (isPositional())
                 pre.append("");
-            else if (keychar != null)
-                pre.append(keychar.charValue());
-            else if (keyword != null)
-                pre.append(keyword);
+            else if (definition.keychar != null)
+                pre.append(definition.keychar.charValue());
+            else if (definition.keyword != null)
+                pre.append(definition.keyword);
             if (isMultiple())
                 pre.append("[").append(d).append("]");
             exportNamespaceData(pre.toString(), out, d);
@@ -315,19 +414,19 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
             out.append("<");
             if (isPositional())
                 out.append("noname");
-            else if (keychar != null)
-                out.append(keychar.charValue());
-            else if (keyword != null)
-                out.append(keyword);
+            else if (definition.keychar != null)
+                out.append(definition.keychar.charValue());
+            else if (definition.keyword != null)
+                out.append(definition.keyword);
             out.append(">");
             exportXmlData(out, d);
             out.append("</");
             if (isPositional())
                 out.append("noname");
-            else if (keychar != null)
-                out.append(keychar.charValue());
-            else if (keyword != null)
-                out.append(keyword);
+            else if (definition.keychar != null)
+                out.append(definition.keychar.charValue());
+            else if (definition.keyword != null)
+                out.append(definition.keyword);
             out.append(">");
         }
     }
@@ -342,25 +441,39 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
      */
     abstract protected void exportXmlData(StringBuilder str, int occ);
 
+    /**
+     * Number and date formats are not thread safe, so the copies of an
+     * argument can not share them. A subclass that keeps one forgets it here,
+     * on each new copy, and creates it again the first time that copy needs
+     * it. A copy that never converts or exports a value, like most of the
+     * args of a group occurrence, then never allocates a format.
+     *
+     * @since 4.3.8
+     */
+    protected void forgetFormats()
+    {
+        // most arguments have no format
+    }
+
     /** {@inheritDoc} */
     @Override
     public String getCamelCaps()
     {
-        return camelCaps;
+        return definition.camelCaps;
     }
 
     /** {@inheritDoc} */
     @Override
     public ICmdLineArgCriteria<?> getCriteria()
     {
-        return criteria;
+        return definition.criteria;
     }
 
     /** {@inheritDoc} */
     @Override
     public List<E> getDefaultValues()
     {
-        return defaultValues;
+        return definition.defaultValues;
     }
 
     /** {@inheritDoc} */
@@ -381,79 +494,79 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public String getEnumClassName()
     {
-        return enumClassName;
+        return definition.enumClassName;
     }
 
     /** {@inheritDoc} */
     @Override
     public String getFactoryArgName()
     {
-        return factoryArgName;
+        return definition.factoryArgName;
     }
 
     /** {@inheritDoc} */
     @Override
     public String getFactoryMethodName()
     {
-        return factoryMethodName;
+        return definition.factoryMethodName;
     }
 
     /** {@inheritDoc} */
     @Override
     public String getFormat()
     {
-        return format;
+        return definition.format;
     }
 
     /** {@inheritDoc} */
     @Override
     public String getHelp()
     {
-        return help;
+        return definition.help;
     }
 
     /** {@inheritDoc} */
     @Override
     public String getInstanceClass()
     {
-        return instanceClass;
+        return definition.instanceClass;
     }
 
     /** {@inheritDoc} */
     @Override
     public Character getKeychar()
     {
-        if (keychar == null)
+        if (definition.keychar == null)
             return ' '; // invalid call
-        return keychar.charValue();
+        return definition.keychar.charValue();
     }
 
     /** {@inheritDoc} */
     @Override
     public String getKeyword()
     {
-        return keyword;
+        return definition.keyword;
     }
 
     /** {@inheritDoc} */
     @Override
     public String getMetaphone()
     {
-        return metaphone;
+        return definition.metaphone;
     }
 
     /** {@inheritDoc} */
     @Override
     public int getMultipleMax()
     {
-        return multipleMax;
+        return definition.multipleMax;
     }
 
     /** {@inheritDoc} */
     @Override
     public int getMultipleMin()
     {
-        return multipleMin;
+        return definition.multipleMin;
     }
 
     /**
@@ -465,14 +578,14 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
      */
     public ClaType getType()
     {
-        return type;
+        return definition.type;
     }
 
     /** {@inheritDoc} */
     @Override
     public int getUniqueId()
     {
-        return uniqueId;
+        return definition.uniqueId;
     }
 
     /**
@@ -487,19 +600,20 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public E getValue()
     {
-        return getValue(values.size() - 1);
+        return getValue(size() - 1);
     }
 
     /** {@inheritDoc} */
     @Override
     public E getValue(final int index)
     {
+        convertValues();
         if (index < 0 || values == null || values.size() == 0)
-            if (defaultValues != null && defaultValues.size() > index)
+            if (definition.defaultValues != null && definition.defaultValues.size() > index)
             {
                 if (index < 0)
-                    return defaultValues.get(0);
-                return defaultValues.get(index);
+                    return definition.defaultValues.get(0);
+                return definition.defaultValues.get(index);
             }
         if (index >= 0)
             if (values.size() > index)
@@ -705,6 +819,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
      */
     public List<E> getValues()
     {
+        convertValues();
         return values;
     }
 
@@ -712,42 +827,49 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public String getVariable()
     {
-        return variable;
+        return definition.variable;
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean hasValue()
     {
-        return !getValues().isEmpty() || !getDefaultValues().isEmpty();
+        return size() > 0 || !getDefaultValues().isEmpty();
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean isCamelCapsAllowed()
     {
-        return camelCapsAllowed;
+        return definition.camelCapsAllowed;
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean isCaseSensitive()
     {
-        return caseSensitive;
+        return definition.caseSensitive;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isLazy()
+    {
+        return definition.lazy;
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean isMetaphoneAllowed()
     {
-        return metaphoneAllowed;
+        return definition.metaphoneAllowed;
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean isMultiple()
     {
-        return multiple;
+        return definition.multiple;
     }
 
     /** {@inheritDoc} */
@@ -761,14 +883,14 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public boolean isPositional()
     {
-        return positional;
+        return definition.positional;
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean isRequired()
     {
-        return required;
+        return definition.required;
     }
 
     /** {@inheritDoc} */
@@ -782,12 +904,26 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public boolean isSystemGenerated()
     {
-        return systemGenerated;
+        return definition.systemGenerated;
+    }
+
+    /**
+     * <p>
+     * The list that the values of this argument are kept in. Arguments of a
+     * primitive type keep them in an array of that primitive.
+     * </p>
+     *
+     * @return a new empty {@link java.util.List} object.
+     * @since 4.3.8
+     */
+    protected List<E> newValues()
+    {
+        return new ArrayList<>();
     }
 
     boolean noValuesEntered()
     {
-        return getValues().isEmpty();
+        return size() == 0;
     }
 
     /** {@inheritDoc} */
@@ -795,15 +931,17 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     public void reset()
     {
         setParsed(false);
-        getValues().clear();
+        unconvertedValues = null;
+        values.clear();
     }
 
     /** {@inheritDoc} */
     @Override
     public ICmdLineArg<E> resetCriteria()
     {
-        criteria = null;
-        enumClassName = null;
+        final Definition<E> changing = definitionToChange();
+        changing.criteria = null;
+        changing.enumClassName = null;
         return this;
     }
 
@@ -822,7 +960,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setCamelCapsAllowed(final boolean allowed)
     {
-        camelCapsAllowed = allowed;
+        definitionToChange().camelCapsAllowed = allowed;
         return this;
     }
 
@@ -830,25 +968,25 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setCaseSensitive(final boolean _caseSensitive)
     {
-        this.caseSensitive = _caseSensitive;
+        definitionToChange().caseSensitive = _caseSensitive;
         return this;
     }
 
     private ICmdLineArg<E> setCriteria(final ICmdLineArgCriteria<?> _criteria) throws ParseException
     {
-        if (criteria != null)
+        if (definition.criteria != null)
         {
             final StringBuilder sb = new StringBuilder();
             sb.append("Only one criteria is allowed for \"");
             sb.append(toString());
             sb.append("\", found \"");
-            criteria.asDefinitionText(sb);
+            definition.criteria.asDefinitionText(sb);
             sb.append("\" and \"");
             _criteria.asDefinitionText(sb);
             sb.append("\"");
             throw new ParseException(sb.toString(), 0);
         }
-        criteria = _criteria;
+        definitionToChange().criteria = _criteria;
         return this;
     }
 
@@ -856,7 +994,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setDefaultValue(final String defaultValue) throws ParseException, IOException
     {
-        getDefaultValues().add(convert(defaultValue, caseSensitive, null));
+        definitionToChange().defaultValues.add(convert(defaultValue, definition.caseSensitive, null));
         return this;
     }
 
@@ -869,7 +1007,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
      */
     protected void setDefaultValues(final List<E> _defaultValues)
     {
-        this.defaultValues = _defaultValues;
+        definitionToChange().defaultValues = _defaultValues;
     }
 
     /**
@@ -886,7 +1024,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
             throws ParseException, IOException
     {
         for (final String default1 : defaults)
-            getDefaultValues().add(convert(default1, caseSensitive, null));
+            definitionToChange().defaultValues.add(convert(default1, definition.caseSensitive, null));
         return this;
     }
 
@@ -895,11 +1033,11 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     public ICmdLineArg<E> setEnumCriteria(final String _enumClassName)
             throws ParseException, IOException
     {
-        this.enumClassName = _enumClassName;
+        definitionToChange().enumClassName = _enumClassName;
         Class<?> enumClass;
         try
         {
-            enumClass = CmdLine.ClassLoader.loadClass(_enumClassName);
+            enumClass = ParseContext.current().loadClass(_enumClassName);
         } catch (final ClassNotFoundException e)
         {
             throw new ParseException("Enum class not found: " + e.getMessage(), 0);
@@ -936,7 +1074,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setFactoryArgName(final String _factoryArgName)
     {
-        this.factoryArgName = _factoryArgName;
+        definitionToChange().factoryArgName = _factoryArgName;
         return this;
     }
 
@@ -944,7 +1082,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setFactoryMethodName(final String instantiatorName) throws ParseException
     {
-        this.factoryMethodName = instantiatorName;
+        definitionToChange().factoryMethodName = instantiatorName;
         return this;
     }
 
@@ -952,7 +1090,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setFormat(final String _format)
     {
-        this.format = _format;
+        definitionToChange().format = _format;
         return this;
     }
 
@@ -960,7 +1098,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setHelp(final String helpString)
     {
-        help = helpString;
+        definitionToChange().help = helpString;
         return this;
     }
 
@@ -968,7 +1106,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setInstanceClass(final String _instanceClass) throws ParseException
     {
-        this.instanceClass = _instanceClass;
+        definitionToChange().instanceClass = _instanceClass;
         return this;
     }
 
@@ -976,7 +1114,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setKeychar(final Character _keychar)
     {
-        this.keychar = _keychar;
+        definitionToChange().keychar = _keychar;
         return this;
     }
 
@@ -984,9 +1122,10 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setKeyword(final String _keyword)
     {
-        this.keyword = _keyword;
-        camelCaps = createCamelCapVersionOfKeyword(_keyword);
-        metaphone = createMetaphoneVersionOfKeyword(_keyword);
+        final Definition<E> changing = definitionToChange();
+        changing.keyword = _keyword;
+        changing.camelCaps = createCamelCapVersionOfKeyword(_keyword);
+        changing.metaphone = createMetaphoneVersionOfKeyword(_keyword);
         return this;
     }
 
@@ -997,16 +1136,24 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     {
         final List<E> list = new ArrayList<>();
         for (final String arrayOfValidValue : arrayOfValidValues)
-            list.add(convert(arrayOfValidValue, caseSensitive, null));
+            list.add(convert(arrayOfValidValue, definition.caseSensitive, null));
         setCriteria(new ListCriteria<>(list));
         return this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public ICmdLineArg<E> setLazy(final boolean bool)
+    {
+        definitionToChange().lazy = bool;
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ICmdLineArg<E> setMetaphoneAllowed(final boolean allowed)
     {
-        metaphoneAllowed = allowed;
+        definitionToChange().metaphoneAllowed = allowed;
         return this;
     }
 
@@ -1030,9 +1177,10 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setMultiple(final int _multipleMin, final int _multipleMax) throws ParseException
     {
-        this.multipleMin = _multipleMin;
-        this.multipleMax = _multipleMax;
-        multiple = (_multipleMin > 0 || _multipleMax > 0);
+        final Definition<E> changing = definitionToChange();
+        changing.multipleMin = _multipleMin;
+        changing.multipleMax = _multipleMax;
+        changing.multiple = (_multipleMin > 0 || _multipleMax > 0);
         return this;
     }
 
@@ -1057,7 +1205,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setPositional(final boolean bool)
     {
-        positional = bool;
+        definitionToChange().positional = bool;
         return this;
     }
 
@@ -1082,7 +1230,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setRequired(final boolean bool)
     {
-        required = bool;
+        definitionToChange().required = bool;
         return this;
     }
 
@@ -1092,7 +1240,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     {
         if (!bool)
             throw new ParseException("requiredValue must be true for type: " + getClass().getName(), -1);
-        requiredValue = bool;
+        definitionToChange().requiredValue = bool;
         return this;
     }
 
@@ -1100,7 +1248,7 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setSystemGenerated(final boolean _systemGenerated)
     {
-        systemGenerated = _systemGenerated;
+        definitionToChange().systemGenerated = _systemGenerated;
         return this;
     }
 
@@ -1108,14 +1256,14 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public void setType(final ClaType claType)
     {
-        type = claType;
+        definitionToChange().type = claType;
     }
 
     /** {@inheritDoc} */
     @Override
     public void setUniqueId(final int uniqueId)
     {
-        this.uniqueId = uniqueId;
+        definitionToChange().uniqueId = uniqueId;
     }
 
     /** {@inheritDoc} */
@@ -1163,15 +1311,24 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public ICmdLineArg<E> setVariable(final String _variable)
     {
-        this.variable = _variable;
+        definitionToChange().variable = _variable;
         return this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean sharesDefinitionWith(final ICmdLineArg<?> arg)
+    {
+        return arg == this || arg instanceof AbstractCLA && ((AbstractCLA<?>) arg).definition == definition;
+    }
+
     /** {@inheritDoc} */
     @Override
     public int size()
     {
-        return values.size();
+        if (unconvertedValues == null)
+            return values.size();
+        return values.size() + unconvertedValues.size();
     }
 
     /** {@inheritDoc} */
@@ -1314,14 +1471,14 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
         final StringBuilder sb = new StringBuilder();
         // asDefinedType(sb);
         // sb.append(" ");
-        if (keyword != null)
+        if (definition.keyword != null)
         {
-            if (keychar != null)
-                sb.append("--" + keyword + "(-" + keychar.charValue() + ")");
+            if (definition.keychar != null)
+                sb.append("--" + definition.keyword + "(-" + definition.keychar.charValue() + ")");
             else
-                sb.append("--" + keyword);
-        } else if (keychar != null)
-            sb.append("-" + keychar.charValue());
+                sb.append("--" + definition.keyword);
+        } else if (definition.keychar != null)
+            sb.append("-" + definition.keychar.charValue());
         else
             sb.append("undefined");
 
@@ -1332,18 +1489,59 @@ abstract public class AbstractCLA<E> implements ICmdLineArg<E>, Cloneable
     @Override
     public void useDefaults()
     {
-        setValues(getDefaultValues());
+        unconvertedValues = null;
+        values = newValues();
+        values.addAll(getDefaultValues());
         setParsed(false);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The values are converted and checked against the criteria in the order
+     * they were entered. When one of them fails none of them are kept as
+     * converted, so the same error is reported again on the next read.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    public void validate() throws ParseException
+    {
+        if (unconvertedValues == null)
+            return;
+        final List<E> converted = new ArrayList<>(unconvertedValues.size());
+        for (final String valueStr : unconvertedValues)
+        {
+            E value;
+            try
+            {
+                value = convert(valueStr, isCaseSensitive(), null);
+            } catch (final IOException e)
+            {
+                throw new ParseException(e.getMessage(), -1);
+            }
+            if (definition.criteria != null)
+            {
+                value = (E) ((ICmdLineArgCriteria) definition.criteria).normalizeValue(value, isCaseSensitive());
+                if (!((ICmdLineArgCriteria) definition.criteria).isSelected((Comparable) value, isCaseSensitive()))
+                    throw new ParseException(value + " is not valid for " + this, -1);
+            }
+            converted.add(value);
+        }
+        unconvertedValues = null;
+        values.addAll(converted);
+    }
+
     /**
      * All default values must be in the values list and they must be in the
-     * same order for them to be considered equal.
+     * same order for them to be considered equal. Values that have not been
+     * converted yet are not compared, that would convert them.
      */
     boolean valuesAreTheSameAsDefault()
     {
         if (getDefaultValues() == null || getDefaultValues().size() == 0)
             return false;
+        if (unconvertedValues != null)
+            return false;
         if (getValues() == null || getValues().size() == 0)
             return false;
         if (getDefaultValues().size() != getValues().size())
@@ -27,7 +27,7 @@ public class BooleanCLA extends AbstractCLA<Boolean>
     public BooleanCLA()
     {
         super();
-        getDefaultValues().add(Boolean.FALSE);
+        definitionToChange().defaultValues.add(Boolean.FALSE);
         try
         {
             setListCriteria(validWords);
@@ -71,14 +71,14 @@ public class BooleanCLA extends AbstractCLA<Boolean>
     public void exportCommandLine(final StringBuilder out)
     {
         if (isParsed())
-            if (keychar != null && keychar != ' ')
+            if (definition.keychar != null && definition.keychar != ' ')
             {
                 out.append("-");
-                out.append(keychar.charValue());
-            } else if (keyword != null && keyword.trim().length() > 0)
+                out.append(definition.keychar.charValue());
+            } else if (definition.keyword != null && definition.keyword.trim().length() > 0)
             {
                 out.append("--");
-                out.append(keyword);
+                out.append(definition.keyword);
             }
     }
 
@@ -96,10 +96,10 @@ public class BooleanCLA extends AbstractCLA<Boolean>
         if (isParsed())
         {
             out.append(prefix);
-            if (keychar != null)
-                out.append(keychar.charValue());
-            else if (keyword != null)
-                out.append(keyword);
+            if (definition.keychar != null)
+                out.append(definition.keychar.charValue());
+            else if (definition.keyword != null)
+                out.append(definition.keyword);
             out.append("=");
             /*
              * No actual value for booleans. Just being there takes on the
@@ -123,10 +123,10 @@ public class BooleanCLA extends AbstractCLA<Boolean>
         if (isParsed())
         {
             out.append("<");
-            if (keychar != null)
-                out.append(keychar.charValue());
-            else if (keyword != null)
-                out.append(keyword);
+            if (definition.keychar != null)
+                out.append(definition.keychar.charValue());
+            else if (definition.keyword != null)
+                out.append(definition.keyword);
             out.append("/>");
         }
     }
@@ -175,8 +175,9 @@ public class BooleanCLA extends AbstractCLA<Boolean>
     @Override
     public ICmdLineArg<Boolean> setDefaultValue(final String defaultValue) throws ParseException, IOException
     {
-        getDefaultValues().clear();
-        getDefaultValues().add(convert(defaultValue));
+        final Definition<Boolean> changing = definitionToChange();
+        changing.defaultValues.clear();
+        changing.defaultValues.add(convert(defaultValue));
         return this;
     }
 
@@ -191,7 +192,7 @@ public class BooleanCLA extends AbstractCLA<Boolean>
     @Override
     public ICmdLineArg<Boolean> setRequiredValue(final boolean bool) throws ParseException
     {
-        requiredValue = bool;
+        definitionToChange().requiredValue = bool;
         return this;
     }
 
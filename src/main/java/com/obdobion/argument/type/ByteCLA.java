@@ -1,5 +1,7 @@
 package com.obdobion.argument.type;
 
+import java.util.List;
+
 /**
  * <p>
  * ByteCLA class.
@@ -166,12 +168,7 @@ public class ByteCLA extends AbstractCLA<Byte>
     @Override
     public byte[] getValueAsbyteArray()
     {
-        final byte[] result = new byte[size()];
-
-        for (int r = 0; r < size(); r++)
-            result[r] = getValue(r).byteValue();
-
-        return result;
+        return ByteValues.byteArray(getValues());
     }
 
     /** {@inheritDoc} */
@@ -185,4 +182,11 @@ public class ByteCLA extends AbstractCLA<Byte>
 
         return result;
     }
+
+    /** {@inheritDoc} */
+    @Override
+    protected List<Byte> newValues()
+    {
+        return new ByteValues();
+    }
 }
@@ -0,0 +1,68 @@
+package com.obdobion.argument.type;
+
+import java.util.List;
+
+/**
+ * The values of an argument kept in a byte[].
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+final class ByteValues extends PrimitiveValues<Byte>
+{
+    /**
+     * Copy the values into a new byte[], directly from the array when they are
+     * kept in one.
+     */
+    static byte[] byteArray(final List<Byte> values)
+    {
+        if (values instanceof ByteValues)
+            return ((ByteValues) values).toByteArray();
+        final byte[] result = new byte[values.size()];
+        for (int r = 0; r < result.length; r++)
+            result[r] = values.get(r).byteValue();
+        return result;
+    }
+
+    private byte[] buffer = new byte[MINIMUM_CAPACITY];
+
+    @Override
+    int capacity()
+    {
+        return buffer.length;
+    }
+
+    @Override
+    Byte load(final int index)
+    {
+        return buffer[index];
+    }
+
+    @Override
+    void move(final int from, final int to, final int length)
+    {
+        System.arraycopy(buffer, from, buffer, to, length);
+    }
+
+    @Override
+    void resize(final int capacity)
+    {
+        final byte[] resized = new byte[capacity];
+        System.arraycopy(buffer, 0, resized, 0, size);
+        buffer = resized;
+    }
+
+    @Override
+    void store(final int index, final Byte value)
+    {
+        buffer[index] = value.byteValue();
+    }
+
+    byte[] toByteArray()
+    {
+        checkForNulls();
+        final byte[] result = new byte[size];
+        System.arraycopy(buffer, 0, result, 0, size);
+        return result;
+    }
+}
@@ -5,22 +5,36 @@ import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.text.ParseException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.Stream;
 
 import com.obdobion.argument.annotation.Arg;
 import com.obdobion.argument.criteria.ListCriteria;
 import com.obdobion.argument.criteria.RegxCriteria;
+import com.obdobion.argument.variables.Instantiator;
 
 /**
  * <p>
  * CLAFactory class.
  * </p>
+ * <p>
+ * The instance variables describe the argument that is being created, so each
+ * compile uses a factory of its own and compiles on other threads do not see
+ * them change.
+ * </p>
  *
  * @author Chris DeGreef fedupforone@gmail.com
  */
 public class CLAFactory
 {
     /** Constant <code>SELF_REFERENCING_ARGNAME="this"</code> */
-    static CLAFactory instance;
+    static CLAFactory                  instance;
+
+    /**
+     * Unique ids are not reused by the factories of later compiles.
+     */
+    static private final AtomicInteger nextUniqueId = new AtomicInteger(1);
 
     /**
      * <p>
@@ -28,8 +42,12 @@ public class CLAFactory
      * </p>
      *
      * @return a {@link com.obdobion.argument.type.CLAFactory} object.
+     * @deprecated the instance variables of a shared factory are changed by
+     *             every compile that uses it, create a factory for each
+     *             compile instead.
      */
-    static public CLAFactory getInstance()
+    @Deprecated
+    static synchronized public CLAFactory getInstance()
     {
         if (instance == null)
             instance = new CLAFactory();
@@ -55,18 +73,28 @@ public class CLAFactory
         return oneField.getType();
     }
 
+    /**
+     * The types of field that take all of the values of a wildfile
+     * argument.
+     */
+    static private boolean isWildFilesField(final Class<?> fieldType)
+    {
+        return fieldType == WildFiles.class
+                || fieldType == Iterable.class
+                || fieldType == Stream.class;
+    }
+
     /**
      * <p>
      * reset.
      * </p>
      */
-    static public void reset()
+    static synchronized public void reset()
     {
         instance = null;
+        nextUniqueId.set(1);
     }
 
-    int              nextUniqueId;
-
     public Integer   uniqueId;
     public ClaType   type;
     public String    variable;
@@ -87,15 +115,24 @@ public class CLAFactory
     public String[]  list;
     public String    enumList;
     public String    format;        // for dates
+    public Integer   maxDepth;      // for wildfiles
+    public Integer   parallelism;   // for wildfiles
     public Boolean   required;
     public Boolean   caseSensitive;
+    public Boolean   lazy;
 
     public String    help;
 
-    private CLAFactory()
+    /**
+     * <p>
+     * Constructor for CLAFactory.
+     * </p>
+     *
+     * @since 4.3.8
+     */
+    public CLAFactory()
     {
         super();
-        nextUniqueId = 1;
     }
 
     private String[] convertEnumToListOfNames(final Field oneField, final String inEnumClassName) throws ParseException
@@ -142,6 +179,28 @@ public class CLAFactory
                 0);
     }
 
+    /**
+     * Create an argument from the instance variables, which the caller has set
+     * after {@link #resetInstanceVariables()}. This is how code that was
+     * generated from the annotations at build time defines its arguments.
+     *
+     * @param commandPrefix a char.
+     * @param keychar a char.
+     * @param keyword a {@link java.lang.String} object.
+     * @return a {@link com.obdobion.argument.type.ICmdLineArg} object.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     * @since 4.3.8
+     */
+    public ICmdLineArg<?> instanceFor(final char commandPrefix, final char keychar, final String keyword)
+            throws ParseException, IOException
+    {
+        final ICmdLineArg<?> arg = createArgFor(commandPrefix, keychar, keyword);
+        populateArgument(arg);
+        verifyArgument(arg, null, null);
+        return arg;
+    }
+
     /**
      * Set all of the instance variables as if the parser had done it instead of
      * how we are doing it here with annotations.
@@ -194,6 +253,7 @@ public class CLAFactory
         metaphone = argAnnotation.allowMetaphone();
         positional = argAnnotation.positional();
         caseSensitive = argAnnotation.caseSensitive();
+        lazy = argAnnotation.lazy();
         defaultValue = argAnnotation.defaultValues();
         range = argAnnotation.range();
         if (!argAnnotation.matches().isEmpty())
@@ -211,6 +271,11 @@ public class CLAFactory
         if (format.isEmpty())
             format = null;
 
+        if (argAnnotation.maxDepth() != -1)
+            maxDepth = argAnnotation.maxDepth();
+        if (argAnnotation.parallelism() != 1)
+            parallelism = argAnnotation.parallelism();
+
         factoryMethod = argAnnotation.factoryMethod();
         if (factoryMethod.isEmpty())
             factoryMethod = null;
@@ -234,6 +299,7 @@ public class CLAFactory
         final ICmdLineArg<?> arg = createArgFor(commandPrefix, argAnnotation.shortName(), keyword);
         populateArgument(arg);
         verifyArgument(arg, argAnnotation, fieldType);
+        Instantiator.resolve(arg, oneField);
         return arg;
     }
 
@@ -242,10 +308,17 @@ public class CLAFactory
         if (uniqueId != null && uniqueId > 0)
         {
             arg.setUniqueId(uniqueId);
-            if (arg.getUniqueId() >= nextUniqueId)
-                nextUniqueId = arg.getUniqueId() + 1;
+            final int next = arg.getUniqueId() + 1;
+            nextUniqueId.accumulateAndGet(next, new IntBinaryOperator()
+            {
+                @Override
+                public int applyAsInt(final int current, final int given)
+                {
+                    return Math.max(current, given);
+                }
+            });
         } else
-            arg.setUniqueId(nextUniqueId++);
+            arg.setUniqueId(nextUniqueId.getAndIncrement());
 
         arg.setHelp(help);
         arg.setCamelCapsAllowed(camelCaps);
@@ -273,6 +346,7 @@ public class CLAFactory
             return;
 
         arg.setFormat(format);
+        arg.setLazy(lazy != null && lazy.booleanValue());
 
         if (defaultValue != null)
             for (final String defVal : defaultValue)
@@ -299,9 +373,27 @@ public class CLAFactory
         }
         if (enumList != null)
             arg.setEnumCriteriaAllowError(enumList);
+        if (arg instanceof WildFilesCLA)
+            try
+            {
+                if (maxDepth != null)
+                    ((WildFilesCLA) arg).setMaxDepth(maxDepth);
+                if (parallelism != null)
+                    ((WildFilesCLA) arg).setParallelism(parallelism);
+            } catch (final IllegalArgumentException e)
+            {
+                throw new ParseException(verifyMsg(e.getMessage(), arg), 0);
+            }
     }
 
-    private void resetInstanceVariables()
+    /**
+     * <p>
+     * resetInstanceVariables.
+     * </p>
+     *
+     * @since 4.3.8
+     */
+    public void resetInstanceVariables()
     {
         uniqueId = null;
         type = null;
@@ -323,8 +415,11 @@ public class CLAFactory
         list = null;
         enumList = null;
         format = null; // for dates
+        maxDepth = null; // for wildfiles
+        parallelism = null; // for wildfiles
         required = null;
         caseSensitive = null;
+        lazy = null;
 
         help = null;
     }
@@ -376,6 +471,12 @@ public class CLAFactory
         if (arg.getHelp() != null)
             if (!arg.supportsHelp())
                 throw new ParseException(verifyMsg("help is not allowed", arg), 0);
+        if (maxDepth != null)
+            if (!(arg instanceof WildFilesCLA))
+                throw new ParseException(verifyMsg("maxDepth is not allowed", arg), 0);
+        if (parallelism != null)
+            if (!(arg instanceof WildFilesCLA))
+                throw new ParseException(verifyMsg("parallelism is not allowed", arg), 0);
         if (arg.getCriteria() != null)
         {
             if (arg.getCriteria() instanceof ListCriteria)
@@ -395,14 +496,14 @@ public class CLAFactory
                     throw new ParseException(verifyMsg("instanceClass is not allowed", arg), 0);
             if (argAnnotation.multimin() != 0)
             {
-                if (!fieldType.isArray() && fieldType != java.util.List.class && fieldType != WildFiles.class)
+                if (!fieldType.isArray() && fieldType != java.util.List.class && !isWildFilesField(fieldType))
                     throw new ParseException(verifyMsg("multimin is not allowed", arg), 0);
                 if (argAnnotation.multimin() < 1)
                     throw new ParseException(verifyMsg("multimin must be > 0", arg), 0);
             }
             if (argAnnotation.multimax() > 0)
             {
-                if (!fieldType.isArray() && fieldType != java.util.List.class && fieldType != WildFiles.class)
+                if (!fieldType.isArray() && fieldType != java.util.List.class && !isWildFilesField(fieldType))
                     throw new ParseException(verifyMsg("multimax is not allowed", arg), 0);
                 if (argAnnotation.multimax() < argAnnotation.multimin())
                     throw new ParseException(verifyMsg("multimax must be >= multimin", arg), 0);
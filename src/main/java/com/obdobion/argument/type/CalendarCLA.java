@@ -95,6 +95,13 @@ public class CalendarCLA extends AbstractCLA<Calendar>
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void forgetFormats()
+    {
+        sdf = null;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String genericClassName()
@@ -0,0 +1,68 @@
+package com.obdobion.argument.type;
+
+import java.util.List;
+
+/**
+ * The values of an argument kept in a char[].
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+final class CharValues extends PrimitiveValues<Character>
+{
+    /**
+     * Copy the values into a new char[], directly from the array when they are
+     * kept in one.
+     */
+    static char[] charArray(final List<Character> values)
+    {
+        if (values instanceof CharValues)
+            return ((CharValues) values).toCharArray();
+        final char[] result = new char[values.size()];
+        for (int r = 0; r < result.length; r++)
+            result[r] = values.get(r).charValue();
+        return result;
+    }
+
+    private char[] buffer = new char[MINIMUM_CAPACITY];
+
+    @Override
+    int capacity()
+    {
+        return buffer.length;
+    }
+
+    @Override
+    Character load(final int index)
+    {
+        return buffer[index];
+    }
+
+    @Override
+    void move(final int from, final int to, final int length)
+    {
+        System.arraycopy(buffer, from, buffer, to, length);
+    }
+
+    @Override
+    void resize(final int capacity)
+    {
+        final char[] resized = new char[capacity];
+        System.arraycopy(buffer, 0, resized, 0, size);
+        buffer = resized;
+    }
+
+    @Override
+    void store(final int index, final Character value)
+    {
+        buffer[index] = value.charValue();
+    }
+
+    char[] toCharArray()
+    {
+        checkForNulls();
+        final char[] result = new char[size];
+        System.arraycopy(buffer, 0, result, 0, size);
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package com.obdobion.argument.type;
 
 import java.text.ParseException;
+import java.util.List;
 
 /**
  * <p>
@@ -80,11 +81,13 @@ public class CharacterCLA extends AbstractCLA<Character>
     @Override
     public char[] getValueAscharArray() throws ParseException
     {
-        final char[] result = new char[size()];
-
-        for (int r = 0; r < size(); r++)
-            result[r] = getValue(r).charValue();
+        return CharValues.charArray(getValues());
+    }
 
-        return result;
+    /** {@inheritDoc} */
+    @Override
+    protected List<Character> newValues()
+    {
+        return new CharValues();
     }
 }
@@ -84,7 +84,9 @@ public enum ClaType
             return FILE;
         if (fieldType == WildFiles.class
                 || fieldType == WildFiles[].class
-                || field.getGenericType().getTypeName().equals("java.util.List<com.obdobion.argument.WildFiles>"))
+                || field.getGenericType().getTypeName().equals("java.util.List<com.obdobion.argument.WildFiles>")
+                || field.getGenericType().getTypeName().equals("java.lang.Iterable<java.nio.file.Path>")
+                || field.getGenericType().getTypeName().equals("java.util.stream.Stream<java.nio.file.Path>"))
             return WILDFILE;
         if (fieldType == double.class
                 || fieldType == Double.class
@@ -27,6 +27,22 @@ public class CmdLineCLA extends AbstractCLA<ICmdLine>
         return clone;
     }
 
+    /**
+     * A copy that shares the template of this group, for the occurrences of
+     * a group and the parsers of a compiled definition. A template that is
+     * compiled when it is first used is then compiled once for all of them.
+     * It is only for holding values, the template must not be changed
+     * through it.
+     *
+     * @return a {@link com.obdobion.argument.type.CmdLineCLA} object.
+     * @throws java.lang.CloneNotSupportedException if any.
+     * @since 4.3.8
+     */
+    public CmdLineCLA cloneSharingTemplate() throws CloneNotSupportedException
+    {
+        return (CmdLineCLA) super.clone();
+    }
+
     /** {@inheritDoc} */
     @Override
     public ICmdLine convert(final String valueStr, final boolean _caseSensitive, final Object target)
@@ -36,7 +52,7 @@ public class CmdLineCLA extends AbstractCLA<ICmdLine>
         final Object newtarget = null;
         try
         {
-            cmdline = templateCmdLine.clone();
+            cmdline = templateCmdLine.cloneOccurrence();
             cmdline.parse(newtarget, valueStr);
 
         } catch (final CloneNotSupportedException e)
@@ -77,10 +93,10 @@ public class CmdLineCLA extends AbstractCLA<ICmdLine>
         out.append("<");
         if (isPositional())
             out.append("noname");
-        else if (keychar != null)
-            out.append(keychar.charValue());
-        else if (keyword != null)
-            out.append(keyword);
+        else if (definition.keychar != null)
+            out.append(definition.keychar.charValue());
+        else if (definition.keyword != null)
+            out.append(definition.keyword);
         out.append(">");
         for (int d = 0; d < size(); d++)
         {
@@ -89,24 +105,24 @@ public class CmdLineCLA extends AbstractCLA<ICmdLine>
                 {
                     out.append("</noname>");
                     out.append("<noname>");
-                } else if (keychar != null)
+                } else if (definition.keychar != null)
                 {
-                    out.append("</").append(keychar).append(">");
-                    out.append("<").append(keychar).append(">");
-                } else if (keyword != null)
+                    out.append("</").append(definition.keychar).append(">");
+                    out.append("<").append(definition.keychar).append(">");
+                } else if (definition.keyword != null)
                 {
-                    out.append("</").append(keyword).append(">");
-                    out.append("<").append(keyword).append(">");
+                    out.append("</").append(definition.keyword).append(">");
+                    out.append("<").append(definition.keyword).append(">");
                 }
             exportXmlData(out, d);
         }
         out.append("</");
         if (isPositional())
             out.append("noname");
-        else if (keychar != null)
-            out.append(keychar.charValue());
-        else if (keyword != null)
-            out.append(keyword);
+        else if (definition.keychar != null)
+            out.append(definition.keychar.charValue());
+        else if (definition.keyword != null)
+            out.append(definition.keyword);
         out.append(">");
     }
 
@@ -166,4 +182,17 @@ public class CmdLineCLA extends AbstractCLA<ICmdLine>
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Each occurrence of the group validates its own arguments.
+     */
+    @Override
+    public void validate() throws ParseException
+    {
+        super.validate();
+        for (final ICmdLine occurrence : values)
+            occurrence.validate();
+    }
+
 }
@@ -90,6 +90,13 @@ public class DateCLA extends AbstractCLA<Date>
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void forgetFormats()
+    {
+        sdf = null;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String genericClassName()
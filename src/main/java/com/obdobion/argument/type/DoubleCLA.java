@@ -2,6 +2,7 @@ package com.obdobion.argument.type;
 
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.List;
 
 /**
  * <p>
@@ -19,7 +20,7 @@ public class DoubleCLA extends AbstractCLA<Double>
     public Double convert(final String valueStr, final boolean _caseSensitive, final Object target)
             throws ParseException
     {
-        return FMT.parse(valueStr).doubleValue();
+        return fmt().parse(valueStr).doubleValue();
     }
 
     /** {@inheritDoc} */
@@ -34,9 +35,9 @@ public class DoubleCLA extends AbstractCLA<Double>
     protected void exportCommandLineData(final StringBuilder out, final int occ)
     {
         if (getValue(occ) < 0.0)
-            uncompileQuoter(out, FMT.format(getValue(occ)).replaceAll(",", ""));
+            uncompileQuoter(out, fmt().format(getValue(occ)).replaceAll(",", ""));
         else
-            out.append(FMT.format(getValue(occ)).replaceAll(",", ""));
+            out.append(fmt().format(getValue(occ)).replaceAll(",", ""));
     }
 
     /** {@inheritDoc} */
@@ -45,7 +46,7 @@ public class DoubleCLA extends AbstractCLA<Double>
     {
         out.append(prefix);
         out.append("=");
-        out.append(FMT.format(getValue(occ)).replaceAll(",", ""));
+        out.append(fmt().format(getValue(occ)).replaceAll(",", ""));
         out.append("\n");
     }
 
@@ -53,7 +54,21 @@ public class DoubleCLA extends AbstractCLA<Double>
     @Override
     protected void exportXmlData(final StringBuilder out, final int occ)
     {
-        out.append(FMT.format(getValue(occ)).replaceAll(",", ""));
+        out.append(fmt().format(getValue(occ)).replaceAll(",", ""));
+    }
+
+    private NumberFormat fmt()
+    {
+        if (FMT == null)
+            FMT = NumberFormat.getNumberInstance();
+        return FMT;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void forgetFormats()
+    {
+        FMT = null;
     }
 
     /** {@inheritDoc} */
@@ -67,12 +82,7 @@ public class DoubleCLA extends AbstractCLA<Double>
     @Override
     public double[] getValueAsdoubleArray() throws ParseException
     {
-        final double[] result = new double[size()];
-
-        for (int r = 0; r < size(); r++)
-            result[r] = getValue(r).doubleValue();
-
-        return result;
+        return DoubleValues.doubleArray(getValues());
     }
 
     /** {@inheritDoc} */
@@ -87,4 +97,10 @@ public class DoubleCLA extends AbstractCLA<Double>
         return result;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected List<Double> newValues()
+    {
+        return new DoubleValues();
+    }
 }
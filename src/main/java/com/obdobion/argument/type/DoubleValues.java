@@ -0,0 +1,68 @@
+package com.obdobion.argument.type;
+
+import java.util.List;
+
+/**
+ * The values of an argument kept in a double[].
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+final class DoubleValues extends PrimitiveValues<Double>
+{
+    /**
+     * Copy the values into a new double[], directly from the array when they are
+     * kept in one.
+     */
+    static double[] doubleArray(final List<Double> values)
+    {
+        if (values instanceof DoubleValues)
+            return ((DoubleValues) values).toDoubleArray();
+        final double[] result = new double[values.size()];
+        for (int r = 0; r < result.length; r++)
+            result[r] = values.get(r).doubleValue();
+        return result;
+    }
+
+    private double[] buffer = new double[MINIMUM_CAPACITY];
+
+    @Override
+    int capacity()
+    {
+        return buffer.length;
+    }
+
+    @Override
+    Double load(final int index)
+    {
+        return buffer[index];
+    }
+
+    @Override
+    void move(final int from, final int to, final int length)
+    {
+        System.arraycopy(buffer, from, buffer, to, length);
+    }
+
+    @Override
+    void resize(final int capacity)
+    {
+        final double[] resized = new double[capacity];
+        System.arraycopy(buffer, 0, resized, 0, size);
+        buffer = resized;
+    }
+
+    @Override
+    void store(final int index, final Double value)
+    {
+        buffer[index] = value.doubleValue();
+    }
+
+    double[] toDoubleArray()
+    {
+        checkForNulls();
+        final double[] result = new double[size];
+        System.arraycopy(buffer, 0, result, 0, size);
+        return result;
+    }
+}
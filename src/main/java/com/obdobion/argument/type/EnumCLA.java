@@ -42,7 +42,7 @@ public class EnumCLA extends StringCLA
     @Override
     public String defaultInstanceClass()
     {
-        return enumClassName;
+        return getEnumClassName();
     }
 
     /** {@inheritDoc} */
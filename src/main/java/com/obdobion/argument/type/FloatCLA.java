@@ -2,6 +2,7 @@ package com.obdobion.argument.type;
 
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.List;
 
 /**
  * <p>
@@ -20,7 +21,7 @@ public class FloatCLA extends AbstractCLA<Float>
     public Float convert(final String valueStr, final boolean _caseSensitive, final Object target)
             throws ParseException
     {
-        return FMTin.parse(valueStr).floatValue();
+        return fmtIn().parse(valueStr).floatValue();
     }
 
     /** {@inheritDoc} */
@@ -35,9 +36,9 @@ public class FloatCLA extends AbstractCLA<Float>
     protected void exportCommandLineData(final StringBuilder out, final int occ)
     {
         if (getValue(occ) < 0.0)
-            uncompileQuoter(out, FMTout.format(getValue(occ)).replaceAll(",", ""));
+            uncompileQuoter(out, fmtOut().format(getValue(occ)).replaceAll(",", ""));
         else
-            out.append(FMTout.format(getValue(occ)).replaceAll(",", ""));
+            out.append(fmtOut().format(getValue(occ)).replaceAll(",", ""));
     }
 
     /** {@inheritDoc} */
@@ -46,7 +47,7 @@ public class FloatCLA extends AbstractCLA<Float>
     {
         out.append(prefix);
         out.append("=");
-        out.append(FMTout.format(getValue(occ)).replaceAll(",", ""));
+        out.append(fmtOut().format(getValue(occ)).replaceAll(",", ""));
         out.append("\n");
     }
 
@@ -54,7 +55,29 @@ public class FloatCLA extends AbstractCLA<Float>
     @Override
     protected void exportXmlData(final StringBuilder out, final int occ)
     {
-        out.append(FMTout.format(getValue(occ)).replaceAll(",", ""));
+        out.append(fmtOut().format(getValue(occ)).replaceAll(",", ""));
+    }
+
+    private NumberFormat fmtIn()
+    {
+        if (FMTin == null)
+            FMTin = NumberFormat.getNumberInstance();
+        return FMTin;
+    }
+
+    private NumberFormat fmtOut()
+    {
+        if (FMTout == null)
+            FMTout = NumberFormat.getNumberInstance();
+        return FMTout;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void forgetFormats()
+    {
+        FMTin = null;
+        FMTout = null;
     }
 
     /** {@inheritDoc} */
@@ -68,12 +91,7 @@ public class FloatCLA extends AbstractCLA<Float>
     @Override
     public float[] getValueAsfloatArray() throws ParseException
     {
-        final float[] result = new float[size()];
-
-        for (int r = 0; r < size(); r++)
-            result[r] = getValue(r).floatValue();
-
-        return result;
+        return FloatValues.floatArray(getValues());
     }
 
     /** {@inheritDoc} */
@@ -87,4 +105,11 @@ public class FloatCLA extends AbstractCLA<Float>
 
         return result;
     }
+
+    /** {@inheritDoc} */
+    @Override
+    protected List<Float> newValues()
+    {
+        return new FloatValues();
+    }
 }
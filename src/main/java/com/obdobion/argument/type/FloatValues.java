@@ -0,0 +1,68 @@
+package com.obdobion.argument.type;
+
+import java.util.List;
+
+/**
+ * The values of an argument kept in a float[].
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+final class FloatValues extends PrimitiveValues<Float>
+{
+    /**
+     * Copy the values into a new float[], directly from the array when they are
+     * kept in one.
+     */
+    static float[] floatArray(final List<Float> values)
+    {
+        if (values instanceof FloatValues)
+            return ((FloatValues) values).toFloatArray();
+        final float[] result = new float[values.size()];
+        for (int r = 0; r < result.length; r++)
+            result[r] = values.get(r).floatValue();
+        return result;
+    }
+
+    private float[] buffer = new float[MINIMUM_CAPACITY];
+
+    @Override
+    int capacity()
+    {
+        return buffer.length;
+    }
+
+    @Override
+    Float load(final int index)
+    {
+        return buffer[index];
+    }
+
+    @Override
+    void move(final int from, final int to, final int length)
+    {
+        System.arraycopy(buffer, from, buffer, to, length);
+    }
+
+    @Override
+    void resize(final int capacity)
+    {
+        final float[] resized = new float[capacity];
+        System.arraycopy(buffer, 0, resized, 0, size);
+        buffer = resized;
+    }
+
+    @Override
+    void store(final int index, final Float value)
+    {
+        buffer[index] = value.floatValue();
+    }
+
+    float[] toFloatArray()
+    {
+        checkForNulls();
+        final float[] result = new float[size];
+        System.arraycopy(buffer, 0, result, 0, size);
+        return result;
+    }
+}
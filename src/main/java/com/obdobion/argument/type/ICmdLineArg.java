@@ -26,6 +26,19 @@ import com.obdobion.argument.input.Token;
  */
 public interface ICmdLineArg<E>
 {
+    /**
+     * <p>
+     * Add a value as it was entered. It is converted now, or when it is first
+     * read if this argument is lazy.
+     * </p>
+     *
+     * @param valueStr a {@link java.lang.String} object.
+     * @throws java.text.ParseException if any.
+     * @throws java.io.IOException if any.
+     * @since 4.3.8
+     */
+    void addValue(String valueStr) throws ParseException, IOException;
+
     /**
      * <p>
      * applyDefaults.
@@ -668,6 +681,17 @@ public interface ICmdLineArg<E>
      */
     boolean isCaseSensitive();
 
+    /**
+     * <p>
+     * isLazy.
+     * </p>
+     *
+     * @return true if the values are converted when they are first read
+     *         rather than when they are parsed.
+     * @since 4.3.8
+     */
+    boolean isLazy();
+
     /**
      * <p>
      * isMetaphoneAllowed.
@@ -884,6 +908,20 @@ public interface ICmdLineArg<E>
      */
     ICmdLineArg<E> setKeyword(final String _keyword);
 
+    /**
+     * <p>
+     * Convert the values when they are first read, or assigned, rather than
+     * when they are parsed. This is for arguments that are expensive to
+     * convert and may not be used, like equations and patterns. Errors in the
+     * values are reported by {@link #validate()} or on the first read.
+     * </p>
+     *
+     * @param bool a boolean.
+     * @return a {@link com.obdobion.argument.type.ICmdLineArg} object.
+     * @since 4.3.8
+     */
+    ICmdLineArg<E> setLazy(boolean bool);
+
     /**
      * <p>
      * setListCriteria.
@@ -1072,6 +1110,18 @@ public interface ICmdLineArg<E>
      */
     ICmdLineArg<E> setVariable(String p_variableString);
 
+    /**
+     * <p>
+     * sharesDefinitionWith.
+     * </p>
+     *
+     * @param arg another argument.
+     * @return true if the argument is this one or a copy of it whose
+     *         definition has not been changed by either of them.
+     * @since 4.3.8
+     */
+    boolean sharesDefinitionWith(ICmdLineArg<?> arg);
+
     /**
      * <p>
      * size.
@@ -1258,4 +1308,17 @@ public interface ICmdLineArg<E>
      * </p>
      */
     void useDefaults();
+
+    /**
+     * <p>
+     * Convert and check the values that have not been converted yet. A read
+     * of the values does this too, but reports an error as an unchecked
+     * {@link java.lang.IllegalArgumentException}.
+     * </p>
+     *
+     * @throws java.text.ParseException if a value can not be converted or is
+     *             not valid for the criteria of this argument.
+     * @since 4.3.8
+     */
+    void validate() throws ParseException;
 }
@@ -0,0 +1,68 @@
+package com.obdobion.argument.type;
+
+import java.util.List;
+
+/**
+ * The values of an argument kept in a int[].
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+final class IntValues extends PrimitiveValues<Integer>
+{
+    /**
+     * Copy the values into a new int[], directly from the array when they are
+     * kept in one.
+     */
+    static int[] intArray(final List<Integer> values)
+    {
+        if (values instanceof IntValues)
+            return ((IntValues) values).toIntArray();
+        final int[] result = new int[values.size()];
+        for (int r = 0; r < result.length; r++)
+            result[r] = values.get(r).intValue();
+        return result;
+    }
+
+    private int[] buffer = new int[MINIMUM_CAPACITY];
+
+    @Override
+    int capacity()
+    {
+        return buffer.length;
+    }
+
+    @Override
+    Integer load(final int index)
+    {
+        return buffer[index];
+    }
+
+    @Override
+    void move(final int from, final int to, final int length)
+    {
+        System.arraycopy(buffer, from, buffer, to, length);
+    }
+
+    @Override
+    void resize(final int capacity)
+    {
+        final int[] resized = new int[capacity];
+        System.arraycopy(buffer, 0, resized, 0, size);
+        buffer = resized;
+    }
+
+    @Override
+    void store(final int index, final Integer value)
+    {
+        buffer[index] = value.intValue();
+    }
+
+    int[] toIntArray()
+    {
+        checkForNulls();
+        final int[] result = new int[size];
+        System.arraycopy(buffer, 0, result, 0, size);
+        return result;
+    }
+}
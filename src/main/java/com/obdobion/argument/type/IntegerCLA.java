@@ -3,6 +3,7 @@ package com.obdobion.argument.type;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.List;
 
 /**
  * <p>
@@ -20,7 +21,7 @@ public class IntegerCLA extends AbstractCLA<Integer>
     public Integer convert(final String valueStr, final boolean _caseSensitive, final Object target)
             throws ParseException
     {
-        return FMT.parse(valueStr).intValue();
+        return fmt().parse(valueStr).intValue();
     }
 
     /** {@inheritDoc} */
@@ -36,7 +37,7 @@ public class IntegerCLA extends AbstractCLA<Integer>
     {
         if (getValue(occ) < 0)
             out.append("'");
-        out.append(FMT.format(getValue(occ)));
+        out.append(fmt().format(getValue(occ)));
         if (getValue(occ) < 0)
             out.append("'");
     }
@@ -47,7 +48,7 @@ public class IntegerCLA extends AbstractCLA<Integer>
     {
         out.append(prefix);
         out.append("=");
-        out.append(FMT.format(getValue(occ)));
+        out.append(fmt().format(getValue(occ)));
         out.append("\n");
     }
 
@@ -55,7 +56,21 @@ public class IntegerCLA extends AbstractCLA<Integer>
     @Override
     protected void exportXmlData(final StringBuilder out, final int occ)
     {
-        out.append(FMT.format(getValue(occ)));
+        out.append(fmt().format(getValue(occ)));
+    }
+
+    private NumberFormat fmt()
+    {
+        if (FMT == null)
+            FMT = new DecimalFormat("0");
+        return FMT;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void forgetFormats()
+    {
+        FMT = null;
     }
 
     /** {@inheritDoc} */
@@ -93,12 +108,7 @@ public class IntegerCLA extends AbstractCLA<Integer>
     @Override
     public int[] getValueAsintArray() throws ParseException
     {
-        final int[] result = new int[size()];
-
-        for (int r = 0; r < size(); r++)
-            result[r] = getValue(r).intValue();
-
-        return result;
+        return IntValues.intArray(getValues());
     }
 
     /** {@inheritDoc} */
@@ -124,4 +134,11 @@ public class IntegerCLA extends AbstractCLA<Integer>
 
         return result;
     }
+
+    /** {@inheritDoc} */
+    @Override
+    protected List<Integer> newValues()
+    {
+        return new IntValues();
+    }
 }
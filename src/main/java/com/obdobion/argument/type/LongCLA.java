@@ -3,6 +3,7 @@ package com.obdobion.argument.type;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.List;
 
 /**
  * <p>
@@ -21,7 +22,7 @@ public class LongCLA extends AbstractCLA<Long>
     public Long convert(final String valueStr, final boolean _caseSensitive, final Object target)
             throws ParseException
     {
-        return FMTin.parse(valueStr).longValue();
+        return fmtIn().parse(valueStr).longValue();
     }
 
     /** {@inheritDoc} */
@@ -37,7 +38,7 @@ public class LongCLA extends AbstractCLA<Long>
     {
         if (getValue(occ) < 0)
             out.append("'");
-        out.append(FMTout.format(getValue(occ)));
+        out.append(fmtOut().format(getValue(occ)));
         if (getValue(occ) < 0)
             out.append("'");
     }
@@ -48,7 +49,7 @@ public class LongCLA extends AbstractCLA<Long>
     {
         out.append(prefix);
         out.append("=");
-        out.append(FMTout.format(getValue(occ)));
+        out.append(fmtOut().format(getValue(occ)));
         out.append("\n");
     }
 
@@ -56,7 +57,29 @@ public class LongCLA extends AbstractCLA<Long>
     @Override
     protected void exportXmlData(final StringBuilder out, final int occ)
     {
-        out.append(FMTout.format(getValue(occ)));
+        out.append(fmtOut().format(getValue(occ)));
+    }
+
+    private NumberFormat fmtIn()
+    {
+        if (FMTin == null)
+            FMTin = NumberFormat.getNumberInstance();
+        return FMTin;
+    }
+
+    private NumberFormat fmtOut()
+    {
+        if (FMTout == null)
+            FMTout = new DecimalFormat("0");
+        return FMTout;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void forgetFormats()
+    {
+        FMTin = null;
+        FMTout = null;
     }
 
     /** {@inheritDoc} */
@@ -70,12 +93,7 @@ public class LongCLA extends AbstractCLA<Long>
     @Override
     public long[] getValueAslongArray() throws ParseException
     {
-        final long[] result = new long[size()];
-
-        for (int r = 0; r < size(); r++)
-            result[r] = getValue(r).longValue();
-
-        return result;
+        return LongValues.longArray(getValues());
     }
 
     /** {@inheritDoc} */
@@ -89,4 +107,11 @@ public class LongCLA extends AbstractCLA<Long>
 
         return result;
     }
+
+    /** {@inheritDoc} */
+    @Override
+    protected List<Long> newValues()
+    {
+        return new LongValues();
+    }
 }
@@ -0,0 +1,68 @@
+package com.obdobion.argument.type;
+
+import java.util.List;
+
+/**
+ * The values of an argument kept in a long[].
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+final class LongValues extends PrimitiveValues<Long>
+{
+    /**
+     * Copy the values into a new long[], directly from the array when they are
+     * kept in one.
+     */
+    static long[] longArray(final List<Long> values)
+    {
+        if (values instanceof LongValues)
+            return ((LongValues) values).toLongArray();
+        final long[] result = new long[values.size()];
+        for (int r = 0; r < result.length; r++)
+            result[r] = values.get(r).longValue();
+        return result;
+    }
+
+    private long[] buffer = new long[MINIMUM_CAPACITY];
+
+    @Override
+    int capacity()
+    {
+        return buffer.length;
+    }
+
+    @Override
+    Long load(final int index)
+    {
+        return buffer[index];
+    }
+
+    @Override
+    void move(final int from, final int to, final int length)
+    {
+        System.arraycopy(buffer, from, buffer, to, length);
+    }
+
+    @Override
+    void resize(final int capacity)
+    {
+        final long[] resized = new long[capacity];
+        System.arraycopy(buffer, 0, resized, 0, size);
+        buffer = resized;
+    }
+
+    @Override
+    void store(final int index, final Long value)
+    {
+        buffer[index] = value.longValue();
+    }
+
+    long[] toLongArray()
+    {
+        checkForNulls();
+        final long[] result = new long[size];
+        System.arraycopy(buffer, 0, result, 0, size);
+        return result;
+    }
+}
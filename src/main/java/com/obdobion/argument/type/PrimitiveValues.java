@@ -0,0 +1,144 @@
+package com.obdobion.argument.type;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * The values of an argument of a primitive type, kept in an array of that
+ * primitive rather than as a list of boxed objects. The values are only boxed
+ * when they are read through the {@link java.util.List} interface, the
+ * primitive array getters of the arguments copy the array directly.
+ * <p>
+ * A null value is remembered by its index, so the list behaves like any other
+ * list. Copying values that include a null into a primitive array throws a
+ * NullPointerException, the same as unboxing it would.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+abstract class PrimitiveValues<E> extends AbstractList<E> implements RandomAccess
+{
+    static final int MINIMUM_CAPACITY = 4;
+
+    int              size;
+    private BitSet   nulls;
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(final int index, final E value)
+    {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if (size == capacity())
+            resize(Math.max(MINIMUM_CAPACITY, size + (size >> 1)));
+        if (index < size)
+        {
+            move(index, index + 1, size - index);
+            if (nulls != null)
+                for (int n = nulls.previousSetBit(size - 1); n >= index; n = nulls.previousSetBit(n - 1))
+                {
+                    nulls.clear(n);
+                    nulls.set(n + 1);
+                }
+        }
+        size++;
+        put(index, value);
+        modCount++;
+    }
+
+    abstract int capacity();
+
+    void checkForNulls()
+    {
+        if (nulls != null && !nulls.isEmpty())
+            throw new NullPointerException("null value at index " + nulls.nextSetBit(0));
+    }
+
+    private void checkIndex(final int index)
+    {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear()
+    {
+        size = 0;
+        nulls = null;
+        modCount++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E get(final int index)
+    {
+        checkIndex(index);
+        if (nulls != null && nulls.get(index))
+            return null;
+        return load(index);
+    }
+
+    abstract E load(int index);
+
+    /**
+     * Move values within the array, as System.arraycopy would.
+     */
+    abstract void move(int from, int to, int length);
+
+    private void put(final int index, final E value)
+    {
+        if (value == null)
+        {
+            if (nulls == null)
+                nulls = new BitSet();
+            nulls.set(index);
+            return;
+        }
+        if (nulls != null)
+            nulls.clear(index);
+        store(index, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E remove(final int index)
+    {
+        final E previous = get(index);
+        move(index + 1, index, size - index - 1);
+        if (nulls != null)
+        {
+            nulls.clear(index);
+            for (int n = nulls.nextSetBit(index + 1); n >= 0; n = nulls.nextSetBit(n + 1))
+            {
+                nulls.clear(n);
+                nulls.set(n - 1);
+            }
+        }
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    abstract void resize(int capacity);
+
+    /** {@inheritDoc} */
+    @Override
+    public E set(final int index, final E value)
+    {
+        final E previous = get(index);
+        put(index, value);
+        return previous;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    abstract void store(int index, E value);
+}
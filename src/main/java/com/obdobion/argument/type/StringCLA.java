@@ -91,13 +91,16 @@ public class StringCLA extends AbstractCLA<String>
 
     /**
      * All default values must be in the values list and they must be in the
-     * same order for them to be considered equal.
+     * same order for them to be considered equal. Values that have not been
+     * converted yet are not compared, that would convert them.
      */
     @Override
     boolean valuesAreTheSameAsDefault()
     {
         if (getDefaultValues() == null || getDefaultValues().size() == 0)
             return false;
+        if (unconvertedValues != null)
+            return false;
         if (getValues() == null || getValues().size() == 0)
             return false;
         if (getDefaultValues().size() != getValues().size())
@@ -2,9 +2,17 @@ package com.obdobion.argument.type;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -13,10 +21,12 @@ import java.util.List;
  *
  * @author Chris DeGreef fedupforone@gmail.com
  */
-public class WildFiles
+public class WildFiles implements Iterable<Path>
 {
     final List<String> userSuppliedPatterns;
     private List<File> files;
+    private int        maxDepth    = Integer.MAX_VALUE;
+    private int        parallelism = 1;
 
     WildFiles()
     {
@@ -43,7 +53,8 @@ public class WildFiles
 
     /**
      * <p>
-     * files.
+     * files. The list is kept until the max depth or the parallelism is
+     * changed.
      * </p>
      *
      * @return a {@link java.util.List} object.
@@ -57,17 +68,146 @@ public class WildFiles
             files = new ArrayList<>();
             for (final String pattern : userSuppliedPatterns)
             {
-                files.addAll(new WildPath(pattern).files());
+                files.addAll(new WildPath(pattern)
+                        .setMaxDepth(maxDepth)
+                        .setParallelism(parallelism)
+                        .files());
             }
         }
         return files;
     }
 
+    /**
+     * A single known file is not found from patterns, so it is kept.
+     */
+    private void forgetFiles()
+    {
+        if (!userSuppliedPatterns.isEmpty())
+            files = null;
+    }
+
     String get(final int userSuppliedIndex)
     {
         return userSuppliedPatterns.get(userSuppliedIndex);
     }
 
+    /**
+     * <p>
+     * The files of all of the patterns, found while they are read and in the
+     * same order as {@link #files()}. The directories are scanned again by
+     * every iterator, unless the files are already known. They are scanned
+     * on the thread that reads the iterator, whatever the parallelism, so
+     * that only the directories being scanned are held in memory.
+     * </p>
+     *
+     * @return a {@link java.util.Iterator} object.
+     * @since 4.3.8
+     */
+    @Override
+    public Iterator<Path> iterator()
+    {
+        if (files != null)
+        {
+            final Iterator<File> known = files.iterator();
+            return new Iterator<Path>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return known.hasNext();
+                }
+
+                @Override
+                public Path next()
+                {
+                    return known.next().toPath();
+                }
+            };
+        }
+        final Iterator<String> patterns = userSuppliedPatterns.iterator();
+        return new Iterator<Path>()
+        {
+            private Iterator<Path> current = Collections.<Path> emptyIterator();
+
+            @Override
+            public boolean hasNext()
+            {
+                while (!current.hasNext())
+                {
+                    if (!patterns.hasNext())
+                        return false;
+                    current = new WildPath(patterns.next()).setMaxDepth(maxDepth).iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public Path next()
+            {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * <p>
+     * A sequential stream of the files of all of the patterns, found while
+     * the stream is read, see {@link #iterator()}.
+     * </p>
+     *
+     * @return a {@link java.util.stream.Stream} object.
+     * @since 4.3.8
+     */
+    public Stream<Path> paths()
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * <p>
+     * Limit how deep the directories below the starting path of each pattern
+     * are searched. Only a ** in a pattern searches deeper than the pattern
+     * itself.
+     * </p>
+     *
+     * @param _maxDepth
+     *            0 to only search the starting paths themselves.
+     * @return this {@link com.obdobion.argument.type.WildFiles}.
+     * @since 4.3.8
+     */
+    public WildFiles setMaxDepth(final int _maxDepth)
+    {
+        if (_maxDepth < 0)
+            throw new IllegalArgumentException("maxDepth must not be negative, not " + _maxDepth);
+        maxDepth = _maxDepth;
+        forgetFiles();
+        return this;
+    }
+
+    /**
+     * <p>
+     * Scan the directories of each pattern with this many threads when
+     * {@link #files()} is called. The files are found in the same order as
+     * with one thread.
+     * </p>
+     *
+     * @param _parallelism
+     *            1, the default, to scan on the calling thread.
+     * @return this {@link com.obdobion.argument.type.WildFiles}.
+     * @since 4.3.8
+     */
+    public WildFiles setParallelism(final int _parallelism)
+    {
+        if (_parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be at least 1, not " + _parallelism);
+        parallelism = _parallelism;
+        forgetFiles();
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String toString()
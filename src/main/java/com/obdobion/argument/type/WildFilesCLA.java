@@ -11,7 +11,9 @@ import java.text.ParseException;
  */
 public class WildFilesCLA extends AbstractCLA<WildFiles>
 {
-    WildFiles wildFile = new WildFiles();
+    private int maxDepth    = Integer.MAX_VALUE;
+    private int parallelism = 1;
+    WildFiles   wildFile    = newWildFiles();
 
     /** {@inheritDoc} */
     @Override
@@ -60,12 +62,69 @@ public class WildFilesCLA extends AbstractCLA<WildFiles>
         return "com.obdobion.argument.WildFiles";
     }
 
+    /**
+     * Every value of this argument is scanned with its settings.
+     */
+    private WildFiles newWildFiles()
+    {
+        return new WildFiles().setMaxDepth(maxDepth).setParallelism(parallelism);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void reset()
     {
         super.reset();
-        wildFile = new WildFiles();
+        wildFile = newWildFiles();
+    }
+
+    /**
+     * <p>
+     * Limit how deep the directories of the patterns given to this argument
+     * are searched, see {@link WildFiles#setMaxDepth(int)}.
+     * </p>
+     *
+     * @param _maxDepth
+     *            0 to only search the starting paths themselves.
+     * @return this {@link com.obdobion.argument.type.WildFilesCLA}.
+     * @since 4.3.8
+     */
+    public WildFilesCLA setMaxDepth(final int _maxDepth)
+    {
+        wildFile.setMaxDepth(_maxDepth);
+        maxDepth = _maxDepth;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only a WildFiles can be pulled, the patterns of a stream or an iterable
+     * of paths are not known.
+     */
+    @Override
+    public void setObject(final Object valueAsObject)
+    {
+        if (valueAsObject instanceof WildFiles)
+            super.setObject(valueAsObject);
+    }
+
+    /**
+     * <p>
+     * Scan the directories of the patterns given to this argument with this
+     * many threads, see {@link WildFiles#setParallelism(int)}.
+     * </p>
+     *
+     * @param _parallelism
+     *            1, the default, to scan on the calling thread.
+     * @return this {@link com.obdobion.argument.type.WildFilesCLA}.
+     * @since 4.3.8
+     */
+    public WildFilesCLA setParallelism(final int _parallelism)
+    {
+        wildFile.setParallelism(_parallelism);
+        parallelism = _parallelism;
+        return this;
     }
 
     /** {@inheritDoc} */
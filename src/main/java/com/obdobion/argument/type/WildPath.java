@@ -1,13 +1,34 @@
 package com.obdobion.argument.type;
 
 import java.io.File;
-import java.io.FileFilter;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.text.ParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,39 +36,307 @@ import org.slf4j.LoggerFactory;
 /**
  * A path pattern can contain three types of wild cards; ?, *, and **. This is
  * not a regex.
+ * <p>
+ * The ? and * wild cards match within one segment of the path. A ** segment
+ * matches any number of directories, including none, and is the only way to
+ * search the directories below the depth of the pattern.
+ * </p>
  *
  * @author Chris DeGreef fedupforone@gmail.com
  */
-public class WildPath
+public class WildPath implements Iterable<Path>
 {
-    static final Logger  logger                        = LoggerFactory.getLogger(WildPath.class);
+    /**
+     * A pattern split into its starting path, the matchers of its directory
+     * segments and the matcher of its file name. It is parsed by hand, without
+     * a regex, and never changes afterwards so one instance can be shared by
+     * every {@link WildPath} of the same pattern on any thread.
+     */
+    static final class CompiledPattern
+    {
+        final String                pattern;
+        final String                startingPath;
+        /**
+         * The segments of the directory part of the pattern below the
+         * starting path, null for a ** segment.
+         */
+        final List<WildcardMatcher> directorySegments;
+        final WildcardMatcher       fileMatcher;
 
-    static final boolean DEBUG                         = false;
+        CompiledPattern(final String _pattern)
+        {
+            pattern = _pattern;
 
-    final static Matcher pathSegmentMatcher            = Pattern.compile("[^\\\\/]+").matcher("");
-    final static Matcher wildCardInSegmentMatcher      = Pattern.compile("[*?]").matcher("");
-    final static Matcher firstSegmentIsAbsoluteMatcher = Pattern.compile("^([\\\\/]|.:).*").matcher("");
+            final List<String> pathSegments = new ArrayList<>();
+            int start = 0;
+            for (int c = 0; c <= _pattern.length(); c++)
+            {
+                if (c < _pattern.length() && !isSeparator(_pattern.charAt(c)))
+                    continue;
+                if (c > start)
+                    pathSegments.add(_pattern.substring(start, c));
+                start = c + 1;
+            }
+            /*
+             * The last "segment" must always be the file specification.
+             */
+            fileMatcher = WildcardMatcher.compile(pathSegments.isEmpty()
+                    ? ""
+                    : pathSegments.remove(pathSegments.size() - 1));
+            /*
+             * Find the longest absolute path from the beginning of the
+             * specified path.
+             */
+            final StringBuilder startingPathBuilder = new StringBuilder();
+            if (isAbsolute(_pattern))
+                startingPathBuilder.append("/");
+            int s = 0;
+            for (; s < pathSegments.size(); s++)
+            {
+                final String segment = pathSegments.get(s);
+                if (WildcardMatcher.isWild(segment))
+                    break;
+                startingPathBuilder.append(segment);
+                startingPathBuilder.append("/");
+            }
+            startingPath = startingPathBuilder.length() == 0
+                    ? "."
+                    : startingPathBuilder.toString();
+            /*
+             * Everything from the first wild card on is matched one directory
+             * at a time.
+             */
+            final List<WildcardMatcher> segments = new ArrayList<>();
+            for (; s < pathSegments.size(); s++)
+            {
+                final String segment = pathSegments.get(s);
+                if (ANY_DIRECTORIES.equals(segment))
+                    segments.add(null);
+                else
+                    segments.add(WildcardMatcher.compile(segment));
+            }
+            directorySegments = Collections.unmodifiableList(segments);
+        }
+    }
 
     /**
-     * @param wildcard
-     * @return
+     * Lists one directory and matches its files. The subdirectories that can
+     * still match are scanned by scans of their own, forked when the search is
+     * parallel. The files of a directory come before the files of its
+     * subdirectories, both in the order of their names, so the result does
+     * not depend on the order of the listing or on the parallelism.
      */
-    static Pattern convertDirWildCardToRegx(final String wildcard)
+    private final class DirectoryScan extends RecursiveTask<List<File>>
     {
-        if (wildcard == null || wildcard.length() == 0)
-            return Pattern.compile("\\.");
+        static private final long serialVersionUID = 1L;
 
-        String regex;
-        regex = wildcard;
+        final Path                directory;
+        final BitSet              states;
+        final int                 depth;
+        final DirectoryScan       parent;
+        Object                    fileKey;
 
-        regex = regex.replaceAll("\\\\", "\\\\\\\\");
-        regex = regex.replaceAll("[.]", "\\\\.");
-        regex = regex.replaceAll("[?]", ".");
-        regex = regex.replaceAll("\\*\\*", ".`");
-        regex = regex.replaceAll("[*]", "[^\\\\\\\\]*");
-        regex = regex.replaceAll("`", "*");
+        DirectoryScan(final Path _directory, final BitSet _states, final int _depth, final DirectoryScan _parent)
+        {
+            directory = _directory;
+            states = _states;
+            depth = _depth;
+            parent = _parent;
+        }
 
-        return Pattern.compile("^" + regex + "$", Pattern.CASE_INSENSITIVE);
+        @Override
+        protected List<File> compute()
+        {
+            final List<DirectoryScan> subscans = new ArrayList<>();
+            final List<Path> matchingFiles = scan(subscans);
+            final List<File> found = new ArrayList<>(matchingFiles.size());
+            for (final Path file : matchingFiles)
+                found.add(file.toFile());
+
+            if (parallelism <= 1)
+            {
+                for (final DirectoryScan subscan : subscans)
+                    found.addAll(subscan.compute());
+                return found;
+            }
+            invokeAll(subscans);
+            for (final DirectoryScan subscan : subscans)
+                found.addAll(subscan.join());
+            return found;
+        }
+
+        /**
+         * A directory that is its own ancestor through a link is not entered
+         * again.
+         */
+        boolean isAncestor(final Object key)
+        {
+            if (key == null)
+                return false;
+            for (DirectoryScan scan = this; scan != null; scan = scan.parent)
+                if (key.equals(scan.fileKey))
+                    return true;
+            return false;
+        }
+
+        /**
+         * A walk of one level lists the directory once, with the attributes
+         * that come with the listing.
+         */
+        void list(final List<Path> matchingFiles, final List<Path> subdirectories)
+        {
+            final boolean filesCanMatch = states.get(directorySegments.size());
+            try
+            {
+                Files.walkFileTree(directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), 1,
+                        new SimpleFileVisitor<Path>()
+                        {
+                            @Override
+                            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                            {
+                                fileKey = attrs.fileKey();
+                                return FileVisitResult.CONTINUE;
+                            }
+
+                            @Override
+                            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs)
+                            {
+                                if (attrs.isDirectory())
+                                {
+                                    if (!isAncestor(attrs.fileKey()))
+                                        subdirectories.add(file);
+                                    return FileVisitResult.CONTINUE;
+                                }
+                                scanFileCount.incrementAndGet();
+                                if (filesCanMatch && fileMatcher.matches(file.getFileName().toString()))
+                                    matchingFiles.add(file);
+                                return FileVisitResult.CONTINUE;
+                            }
+
+                            @Override
+                            public FileVisitResult visitFileFailed(final Path file, final IOException e)
+                            {
+                                /*
+                                 * Unreadable directories and entries are
+                                 * skipped.
+                                 */
+                                logger.trace("wildfile skipping {}: {}", file, e.toString());
+                                return FileVisitResult.CONTINUE;
+                            }
+                        });
+            } catch (final IOException e)
+            {
+                logger.trace("wildfile skipping {}: {}", directory, e.toString());
+            }
+        }
+
+        /**
+         * List the directory.
+         *
+         * @param subscans
+         *            gets the scans of the subdirectories that can still
+         *            match, in the order of their names.
+         * @return the matching files, in the order of their names.
+         */
+        List<Path> scan(final List<DirectoryScan> subscans)
+        {
+            scanDirCount.incrementAndGet();
+
+            final List<Path> matchingFiles = new ArrayList<>();
+            final List<Path> subdirectories = new ArrayList<>();
+            list(matchingFiles, subdirectories);
+
+            Collections.sort(matchingFiles, BY_NAME);
+            if (depth < maxDepth)
+            {
+                Collections.sort(subdirectories, BY_NAME);
+                for (final Path subdirectory : subdirectories)
+                {
+                    final BitSet subdirectoryStates = enter(states, subdirectory.getFileName().toString());
+                    if (!subdirectoryStates.isEmpty())
+                        subscans.add(new DirectoryScan(subdirectory, subdirectoryStates, depth + 1, this));
+                }
+            }
+            return matchingFiles;
+        }
+    }
+
+    /**
+     * Yields the matching files while the directories are being scanned, in
+     * the same order as {@link WildPath#files()}. Only the listings of the
+     * directories that are still to be scanned are kept, not the files that
+     * were found before.
+     */
+    private final class Matches implements Iterator<Path>
+    {
+        private final Deque<DirectoryScan> pending = new ArrayDeque<>();
+        private Iterator<Path>             current = Collections.<Path> emptyIterator();
+
+        Matches(final DirectoryScan start)
+        {
+            if (start != null)
+                pending.push(start);
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while (!current.hasNext())
+            {
+                if (pending.isEmpty())
+                    return false;
+                final List<DirectoryScan> subscans = new ArrayList<>();
+                current = pending.pop().scan(subscans).iterator();
+                for (int s = subscans.size() - 1; s >= 0; s--)
+                    pending.push(subscans.get(s));
+            }
+            return true;
+        }
+
+        @Override
+        public Path next()
+        {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return current.next();
+        }
+    }
+
+    static final Logger  logger                        = LoggerFactory.getLogger(WildPath.class);
+
+    static final String  ANY_DIRECTORIES               = "**";
+
+    static final Comparator<Path> BY_NAME             = new Comparator<Path>()
+                                                      {
+                                                          @Override
+                                                          public int compare(final Path p1, final Path p2)
+                                                          {
+                                                              return p1.getFileName().compareTo(p2.getFileName());
+                                                          }
+                                                      };
+
+    /**
+     * The most recently compiled patterns, direct-mapped by the hash of their
+     * text. A slot only ever holds the last pattern compiled into it, so the
+     * cache stays bounded without any eviction and is read and written
+     * without a lock. Two threads that compile the same pattern at once each
+     * get a correct instance and one of them stays cached.
+     */
+    static private final AtomicReferenceArray<CompiledPattern> compiledPatterns = new AtomicReferenceArray<>(256);
+
+    /**
+     * The compiled pattern, from the cache when it was compiled before.
+     */
+    static CompiledPattern compile(final String pattern)
+    {
+        final int hash = pattern.hashCode();
+        final int slot = (hash ^ (hash >>> 16)) & (compiledPatterns.length() - 1);
+        final CompiledPattern cached = compiledPatterns.get(slot);
+        if (cached != null && cached.pattern.equals(pattern))
+            return cached;
+        final CompiledPattern compiled = new CompiledPattern(pattern);
+        compiledPatterns.set(slot, compiled);
+        return compiled;
     }
 
     /**
@@ -57,7 +346,10 @@ public class WildPath
      *
      * @param wildcard a {@link java.lang.String} object.
      * @return a {@link java.util.regex.Pattern} object.
+     * @deprecated patterns are no longer matched as a regex, this is only
+     *             kept for callers that still want one.
      */
+    @Deprecated
     public static Pattern convertFileWildCardToRegx(final String wildcard)
     {
         String regex = wildcard;
@@ -67,16 +359,34 @@ public class WildPath
         return Pattern.compile("^" + regex + "$", Pattern.CASE_INSENSITIVE);
     }
 
-    String       userSuppliedPattern;
-    List<String> pathSegments = new ArrayList<>();
-    String       startingPath;
-    Matcher      directoryMatcher;
-    Matcher      fileMatcher;
-    List<File>   files        = new ArrayList<>();
-    boolean      directorySearchRequired;
+    /**
+     * A leading separator or a drive letter.
+     */
+    static boolean isAbsolute(final String pattern)
+    {
+        if (pattern.length() > 0 && isSeparator(pattern.charAt(0)))
+            return true;
+        return pattern.length() > 1 && pattern.charAt(1) == ':';
+    }
+
+    static boolean isSeparator(final char c)
+    {
+        return c == '/' || c == '\\';
+    }
+
+    final String                userSuppliedPattern;
+    final String                startingPath;
+    /**
+     * The segments of the directory part of the pattern below the starting
+     * path, null for a ** segment.
+     */
+    final List<WildcardMatcher> directorySegments;
+    final WildcardMatcher       fileMatcher;
+    int                         maxDepth    = Integer.MAX_VALUE;
+    int                         parallelism = 1;
 
-    int          scanDirCount;
-    int          scanFileCount;
+    final AtomicInteger scanDirCount  = new AtomicInteger();
+    final AtomicInteger scanFileCount = new AtomicInteger();
 
     /**
      * <p>
@@ -88,22 +398,34 @@ public class WildPath
     public WildPath(final String pattern)
     {
         userSuppliedPattern = pattern;
-        parsePattern(pattern);
-
-        final File exactRequest = new File(userSuppliedPattern);
-        File dir = exactRequest.getParentFile();
-        if (dir == null)
-            dir = new File(".");
-
-        final Pattern dirPattern = convertDirWildCardToRegx(dir.toString());
-        final Pattern filePattern = convertFileWildCardToRegx(exactRequest.getName());
+        final CompiledPattern compiled = compile(pattern);
+        startingPath = compiled.startingPath;
+        directorySegments = compiled.directorySegments;
+        fileMatcher = compiled.fileMatcher;
 
         logger.trace("user supplied {}", userSuppliedPattern);
-        logger.trace("dirPattern {}", dirPattern.toString());
-        logger.trace("filePattern {}", filePattern.toString());
+        logger.trace("directorySegments {}", directorySegments);
+        logger.trace("fileMatcher {}", fileMatcher);
+    }
 
-        directoryMatcher = dirPattern.matcher("");
-        fileMatcher = filePattern.matcher("");
+    /**
+     * The segments that are still to be matched in a directory, from the ones
+     * that were still to be matched in its parent. A ** segment takes any
+     * number of directories, every other segment takes exactly one.
+     */
+    BitSet enter(final BitSet parentStates, final String directoryName)
+    {
+        final BitSet states = new BitSet();
+        for (int s = parentStates.nextSetBit(0); s >= 0 && s < directorySegments.size(); s = parentStates
+                .nextSetBit(s + 1))
+        {
+            final WildcardMatcher segment = directorySegments.get(s);
+            if (segment == null)
+                states.set(s);
+            else if (segment.matches(directoryName))
+                states.set(s + 1);
+        }
+        return skipEmptyDoubleStars(states);
     }
 
     /**
@@ -119,118 +441,112 @@ public class WildPath
     {
         final List<File> files1 = files(new File(startingPath));
         logger.trace("wildfile counts: dir({}) files({}) matched({})",
-                scanDirCount, scanFileCount, files1.size());
+                scanDirCount.get(), scanFileCount.get(), files1.size());
         return files1;
     }
 
+    /**
+     * Scan the directories from the starting path, each one is listed a
+     * single time and the attributes of its entries come from that listing
+     * where the file system provides them. A directory is only entered while
+     * its path can still match the pattern, and is matched once for all of
+     * its files.
+     */
     List<File> files(final File directory) throws ParseException, IOException
     {
-        scanDirCount++;
-
-        final File[] foundDirectories = directory.listFiles(
-                new FileFilter()
-                {
-                    @Override
-                    public boolean accept(final File pathname)
-                    {
-                        if (pathname.isDirectory())
-                            return true;
-                        return false;
-                    }
-                });
-        File[] foundFiles = null;
+        final DirectoryScan scan = startingScan(directory.toPath());
+        if (scan == null)
+            return new ArrayList<>();
+        if (parallelism <= 1)
+            return scan.compute();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try
         {
-            foundFiles = directory.listFiles(
-                    new FileFilter()
-                    {
-                        @Override
-                        public boolean accept(final File pathname)
-                        {
-                            if (pathname.isDirectory())
-                                return false;
-
-                            scanFileCount++;
-
-                            // logger.trace("matching file " +
-                            // pathname.getPath());
-
-                            try
-                            {
-                                directoryMatcher.reset(pathname.getParentFile().getPath());
-                                final boolean directoryMatchFlag = directoryMatcher.matches();
-                                // if (directoryMatchFlag)
-                                // logger.trace(" dir matches: {}",
-                                // pathname.getParentFile().getPath());
-                                // else
-                                // logger.trace(" dir NOT matching: {} with {} "
-                                // , pathname.getParentFile().getPath()
-                                // , directoryMatcher.pattern().pattern());
-                                if (directoryMatchFlag)
-                                {
-                                    fileMatcher.reset(pathname.getName());
-                                    final boolean matchFlag = fileMatcher.matches();
-                                    // if (matchFlag)
-                                    // logger.trace(" file matches");
-                                    // else
-                                    // logger.trace(" not matching");
-                                    return matchFlag;
-                                }
-                                return false;
-                            } finally
-                            {
-                                if (DEBUG)
-                                    System.out.println();
-                            }
-                        }
-                    });
+            return pool.invoke(scan);
+        } finally
+        {
+            pool.shutdown();
         }
+    }
+
+    /**
+     * <p>
+     * The matching files, found while they are read. Every iterator scans
+     * the directories again. It scans them on the calling thread, whatever
+     * the parallelism is.
+     * </p>
+     *
+     * @return a {@link java.util.Iterator} object.
+     * @since 4.3.8
+     */
+    @Override
+    public Iterator<Path> iterator()
+    {
+        return new Matches(startingScan(Paths.get(startingPath)));
+    }
 
-        if (isDirectorySearchRequired() && foundDirectories != null)
-            for (final File oneDir : foundDirectories)
-                files(oneDir);
+    /**
+     * <p>
+     * A sequential stream of the matching files, found while the stream is
+     * read, see {@link #iterator()}.
+     * </p>
+     *
+     * @return a {@link java.util.stream.Stream} object.
+     * @since 4.3.8
+     */
+    public Stream<Path> paths()
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
 
-        if (foundFiles != null)
-            for (final File oneFile : foundFiles)
-                files.add(oneFile);
-        return files;
+    /**
+     * <p>
+     * Limit how deep the directories below the starting path are searched.
+     * </p>
+     *
+     * @param _maxDepth
+     *            0 to only search the starting path itself.
+     * @return this {@link com.obdobion.argument.type.WildPath}.
+     * @since 4.3.8
+     */
+    public WildPath setMaxDepth(final int _maxDepth)
+    {
+        if (_maxDepth < 0)
+            throw new IllegalArgumentException("maxDepth must not be negative, not " + _maxDepth);
+        maxDepth = _maxDepth;
+        return this;
     }
 
-    boolean isDirectorySearchRequired()
+    /**
+     * <p>
+     * Scan the directories with this many threads. The files are found in
+     * the same order as with one thread.
+     * </p>
+     *
+     * @param _parallelism
+     *            1, the default, to scan on the calling thread.
+     * @return this {@link com.obdobion.argument.type.WildPath}.
+     * @since 4.3.8
+     */
+    public WildPath setParallelism(final int _parallelism)
     {
-        return directorySearchRequired;
+        if (_parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be at least 1, not " + _parallelism);
+        parallelism = _parallelism;
+        return this;
     }
 
-    synchronized void parsePattern(final String pattern)
+    /**
+     * A ** segment also matches no directory at all, so the segment after it
+     * can be matched in the same directory.
+     */
+    BitSet skipEmptyDoubleStars(final BitSet states)
     {
-        pathSegmentMatcher.reset(pattern);
-        while (pathSegmentMatcher.find())
-            pathSegments.add(pathSegmentMatcher.group());
-        /*
-         * The last "segment" must always be the file specification.
-         */
-        pathSegments.remove(pathSegments.size() - 1);
-        /*
-         * Find the longest absolute path from the beginning of the specified
-         * path.
-         */
-        final StringBuilder startingPathBuilder = new StringBuilder();
-        firstSegmentIsAbsoluteMatcher.reset(pattern);
-        if (firstSegmentIsAbsoluteMatcher.matches())
-            startingPathBuilder.append("/");
-        for (final String segment : pathSegments)
-        {
-            wildCardInSegmentMatcher.reset(segment);
-            if (wildCardInSegmentMatcher.find())
-            {
-                directorySearchRequired = true;
-                break;
-            }
-            startingPathBuilder.append(segment);
-            startingPathBuilder.append("/");
-        }
-        startingPath = startingPathBuilder.toString();
-        if (startingPath.length() == 0)
-            startingPath = ".";
+        for (int s = states.nextSetBit(0); s >= 0 && s < directorySegments.size(); s = states.nextSetBit(s + 1))
+            if (directorySegments.get(s) == null)
+                states.set(s + 1);
+        return states;
     }
 
     /**
@@ -244,4 +560,24 @@ public class WildPath
     {
         return startingPath;
     }
+
+    /**
+     * @return null if the starting path is not a directory.
+     */
+    DirectoryScan startingScan(final Path start)
+    {
+        if (!Files.isDirectory(start))
+            return null;
+        return new DirectoryScan(start, startingStates(), 0, null);
+    }
+
+    /**
+     * The segments that are still to be matched in the starting path.
+     */
+    BitSet startingStates()
+    {
+        final BitSet states = new BitSet();
+        states.set(0);
+        return skipEmptyDoubleStars(states);
+    }
 }
@@ -0,0 +1,110 @@
+package com.obdobion.argument.type;
+
+/**
+ * One segment of a path pattern, a name in which * matches any number of
+ * characters and ? matches exactly one. Every other character matches itself
+ * without regard to case. It is compiled by hand rather than converted into a
+ * regex, so no character needs to be escaped, and it has no state so it can
+ * be shared between threads.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+final class WildcardMatcher
+{
+    static private final char ANY_CHARACTERS = '*';
+    static private final char ANY_CHARACTER  = '?';
+
+    /**
+     * <p>
+     * compile.
+     * </p>
+     *
+     * @param wildcard
+     *            one segment of a path pattern.
+     * @return a {@link com.obdobion.argument.type.WildcardMatcher} object.
+     */
+    static WildcardMatcher compile(final String wildcard)
+    {
+        return new WildcardMatcher(wildcard);
+    }
+
+    /**
+     * @return true if the segment has a * or a ? in it.
+     */
+    static boolean isWild(final String segment)
+    {
+        return segment.indexOf(ANY_CHARACTERS) >= 0 || segment.indexOf(ANY_CHARACTER) >= 0;
+    }
+
+    /**
+     * The same comparison as {@link String#equalsIgnoreCase(String)} makes
+     * for each character.
+     */
+    static private boolean same(final char c1, final char c2)
+    {
+        if (c1 == c2)
+            return true;
+        final char u1 = Character.toUpperCase(c1);
+        final char u2 = Character.toUpperCase(c2);
+        return u1 == u2 || Character.toLowerCase(u1) == Character.toLowerCase(u2);
+    }
+
+    private final String wildcard;
+    private final char[] pattern;
+    private final boolean literal;
+
+    private WildcardMatcher(final String _wildcard)
+    {
+        wildcard = _wildcard;
+        pattern = _wildcard.toCharArray();
+        literal = !isWild(_wildcard);
+    }
+
+    /**
+     * Match the whole name. A * is first matched to as few characters as
+     * possible and only takes more when the rest of the pattern does not
+     * match, going back to the last * only.
+     *
+     * @param name
+     *            the name of a file or a directory.
+     * @return true if the name matches.
+     */
+    boolean matches(final String name)
+    {
+        if (literal)
+            return wildcard.equalsIgnoreCase(name);
+
+        int p = 0;
+        int n = 0;
+        int lastStar = -1;
+        int nameAtLastStar = 0;
+        while (n < name.length())
+        {
+            if (p < pattern.length && pattern[p] == ANY_CHARACTERS)
+            {
+                lastStar = p++;
+                nameAtLastStar = n;
+            } else if (p < pattern.length && (pattern[p] == ANY_CHARACTER || same(pattern[p], name.charAt(n))))
+            {
+                p++;
+                n++;
+            } else if (lastStar >= 0)
+            {
+                p = lastStar + 1;
+                n = ++nameAtLastStar;
+            } else
+                return false;
+        }
+        while (p < pattern.length && pattern[p] == ANY_CHARACTERS)
+            p++;
+        return p == pattern.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString()
+    {
+        return wildcard;
+    }
+}
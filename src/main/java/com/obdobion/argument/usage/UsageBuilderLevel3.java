@@ -6,6 +6,7 @@ import java.util.Date;
 
 import com.obdobion.argument.CmdLine;
 import com.obdobion.argument.ICmdLine;
+import com.obdobion.argument.ParseContext;
 import com.obdobion.argument.type.AbstractCLA;
 import com.obdobion.argument.type.ByteCLA;
 import com.obdobion.argument.type.EnumCLA;
@@ -38,7 +39,7 @@ public class UsageBuilderLevel3 extends UsageBuilderLevel2
             try
             {
                 append("Allowable values: ");
-                final Object[] constants = CmdLine.ClassLoader.loadClass(instanceClass).getEnumConstants();
+                final Object[] constants = ParseContext.current().loadClass(instanceClass).getEnumConstants();
                 for (int o = 0; o < constants.length; o++)
                 {
                     if (o > 0)
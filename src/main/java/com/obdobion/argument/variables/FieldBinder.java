@@ -0,0 +1,553 @@
+package com.obdobion.argument.variables;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.obdobion.argument.type.ICmdLineArg;
+import com.obdobion.argument.type.WildFiles;
+
+/**
+ * The field that a variable is assigned to, found once for each class and
+ * variable and then kept with the class. It knows the shape of the field, so
+ * the value is taken from the argument without looking at the field type
+ * again, and it reads and writes the field through method handles rather than
+ * with {@link Field#set(Object, Object)}.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class FieldBinder
+{
+    /**
+     * How the value of an argument is taken for a field, in the order that the
+     * field types used to be tested.
+     */
+    public enum Shape
+    {
+        STRING_ARRAY("[Ljava.lang.String;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsStringArray();
+            }
+        },
+        INTEGER_ARRAY("[Ljava.lang.Integer;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsIntegerArray();
+            }
+        },
+        INT_ARRAY("[I")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsintArray();
+            }
+        },
+        DOUBLE_ARRAY("[Ljava.lang.Double;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsDoubleArray();
+            }
+        },
+        PRIMITIVE_DOUBLE_ARRAY("[D")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsdoubleArray();
+            }
+        },
+        LONG_ARRAY("[Ljava.lang.Long;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsLongArray();
+            }
+        },
+        PRIMITIVE_LONG_ARRAY("[J")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAslongArray();
+            }
+        },
+        PRIMITIVE_BYTE_ARRAY("[B")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsbyteArray();
+            }
+        },
+        PRIMITIVE_CHAR_ARRAY("[C")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAscharArray();
+            }
+        },
+        PRIMITIVE_FLOAT_ARRAY("[F")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsfloatArray();
+            }
+        },
+        FLOAT_ARRAY("[Ljava.lang.Float;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsFloatArray();
+            }
+        },
+        PATTERN_ARRAY("[Ljava.util.regex.Pattern;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsPatternArray();
+            }
+        },
+        PATTERN("java.util.regex.Pattern")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsPattern();
+            }
+        },
+        DATE_TIME_FORMATTER_ARRAY("[Ljava.time.format.DateTimeFormatter;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsDateTimeFormatterArray();
+            }
+        },
+        DATE_TIME_FORMATTER("java.time.format.DateTimeFormatter")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsDateTimeFormatter();
+            }
+        },
+        SIMPLE_DATE_FORMAT_ARRAY("[Ljava.text.SimpleDateFormat;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsSimpleDateFormatArray();
+            }
+        },
+        SIMPLE_DATE_FORMAT("java.text.SimpleDateFormat")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsSimpleDateFormat();
+            }
+        },
+        EQUATION_ARRAY("[Lcom.obdobion.algebrain.Equ;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsEquationArray();
+            }
+        },
+        EQUATION("com.obdobion.algebrain.Equ")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsEquation();
+            }
+        },
+        DATE_ARRAY("[Ljava.util.Date;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsDateArray();
+            }
+        },
+        CALENDAR_ARRAY("[Ljava.util.Calendar;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsCalendarArray();
+            }
+        },
+        LOCAL_DATE_TIME_ARRAY("[Ljava.time.LocalDateTime;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsLocalDateTimeArray();
+            }
+        },
+        LOCAL_DATE_ARRAY("[Ljava.time.LocalDate;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsLocalDateArray();
+            }
+        },
+        LOCAL_TIME_ARRAY("[Ljava.time.LocalTime;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsLocalTimeArray();
+            }
+        },
+        BYTE_ARRAY("[Ljava.lang.Byte;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsByteArray();
+            }
+        },
+        CHARACTER_ARRAY("[Ljava.lang.Character;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsCharacterArray();
+            }
+        },
+        FILE_ARRAY("[Ljava.io.File;")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.getValueAsFileArray();
+            }
+        },
+        ENUM(null)
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.asEnum(binder.field.getName(), binder.enumConstants);
+            }
+        },
+        ENUM_ARRAY(null)
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                return arg.asEnumArray(binder.field.getName(), binder.enumConstants);
+            }
+        },
+        /**
+         * A stream of the files that a wildfile argument matches, they are
+         * found while the stream is read.
+         */
+        PATH_STREAM("java.util.stream.Stream")
+        {
+            @Override
+            Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+            {
+                final Object value = arg.getDelegateOrValue();
+                if (value instanceof WildFiles)
+                    return ((WildFiles) value).paths();
+                return value;
+            }
+        },
+        /**
+         * The values are added to the collection in the field, which is
+         * created if it is null. This value may not be appropriate for the
+         * list. But since this is at runtime we can't make use of the
+         * generics definition they may have provided on the field. If the
+         * value is not what they expect then they need to provide a --factory
+         * set of methods.
+         */
+        LIST(null)
+        {
+            @Override
+            void assign(final ICmdLineArg<?> arg, final FieldBinder binder, final Object target)
+                    throws ParseException, IllegalAccessException
+            {
+                @SuppressWarnings("unchecked")
+                Collection<Object> alist = (Collection<Object>) binder.get(target);
+
+                if (alist == null)
+                {
+                    alist = new ArrayList<>();
+                    binder.set(target, alist);
+                }
+                for (int v = 0; v < arg.size(); v++)
+                    alist.add(arg.getDelegateOrValue(v));
+            }
+        },
+        SCALAR(null);
+
+        static private final Map<String, Shape> byTypeName = new HashMap<>();
+
+        static
+        {
+            for (final Shape shape : values())
+                if (shape.typeName != null)
+                    byTypeName.put(shape.typeName, shape);
+        }
+
+        static Shape of(final Class<?> fieldType)
+        {
+            final Shape named = byTypeName.get(fieldType.getName());
+            if (named != null)
+                return named;
+            if (fieldType.isEnum())
+                return ENUM;
+            if (fieldType.isArray() && fieldType.getComponentType().isEnum())
+                return ENUM_ARRAY;
+            for (final Class<?> iface : fieldType.getInterfaces())
+                if (Collection.class.getName().equals(iface.getName()))
+                    return LIST;
+            return SCALAR;
+        }
+
+        private final String typeName;
+
+        private Shape(final String _typeName)
+        {
+            typeName = _typeName;
+        }
+
+        /**
+         * Assign the value of the argument to the field of the target.
+         */
+        void assign(final ICmdLineArg<?> arg, final FieldBinder binder, final Object target)
+                throws ParseException, IllegalAccessException
+        {
+            binder.set(target, valueOf(arg, binder));
+        }
+
+        /**
+         * The value of the argument in the form that the field takes, as it
+         * is for a scalar field unless the shape says otherwise.
+         */
+        Object valueOf(final ICmdLineArg<?> arg, final FieldBinder binder) throws ParseException
+        {
+            return arg.getDelegateOrValue();
+        }
+    }
+
+    static private final MethodType                                     GETTER  = MethodType.methodType(
+            Object.class, Object.class);
+    static private final MethodType                                     SETTER  = MethodType.methodType(
+            void.class, Object.class, Object.class);
+
+    static private final ClassValue<ConcurrentMap<String, FieldBinder>> binders = new ClassValue<ConcurrentMap<String, FieldBinder>>()
+    {
+        @Override
+        protected ConcurrentMap<String, FieldBinder> computeValue(final Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Return the binder for a variable of a class, finding the field in the
+     * class or any of its parents the first time.
+     *
+     * @param arg a {@link com.obdobion.argument.type.ICmdLineArg} object
+     *            that names the variable.
+     * @param targetClass a {@link java.lang.Class} object.
+     * @param errMsg the message for the exception if there is no such field.
+     * @return a {@link com.obdobion.argument.variables.FieldBinder} object.
+     * @throws java.text.ParseException if the field is not found.
+     */
+    static public FieldBinder forVariable(final ICmdLineArg<?> arg, final Class<?> targetClass, final String errMsg)
+            throws ParseException
+    {
+        final ConcurrentMap<String, FieldBinder> classBinders = binders.get(targetClass);
+        final FieldBinder existing = classBinders.get(arg.getVariable());
+        if (existing != null)
+            return existing;
+        /*
+         * A variable that is not found is not remembered, it is an error
+         * anyway.
+         */
+        final FieldBinder binder = new FieldBinder(
+                VariableAssigner.findFieldInAnyParentOrMyself(arg, targetClass, errMsg));
+        final FieldBinder raced = classBinders.putIfAbsent(arg.getVariable(), binder);
+        return raced == null
+                ? binder
+                : raced;
+    }
+
+    static private MethodHandle getterFor(final Field field)
+    {
+        try
+        {
+            final MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers()))
+                return MethodHandles.dropArguments(getter, 0, Object.class).asType(GETTER);
+            return getter.asType(GETTER);
+        } catch (final IllegalAccessException e)
+        {
+            return null;
+        }
+    }
+
+    static private MethodHandle setterFor(final Field field)
+    {
+        try
+        {
+            final MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers()))
+                return MethodHandles.dropArguments(setter, 0, Object.class).asType(SETTER);
+            return setter.asType(SETTER);
+        } catch (final IllegalAccessException e)
+        {
+            return null;
+        }
+    }
+
+    final Field                field;
+    final Shape                shape;
+    final Object[]             enumConstants;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    private FieldBinder(final Field _field)
+    {
+        field = _field;
+        /*
+         * Allows access to non-public fields.
+         */
+        field.setAccessible(true);
+        shape = Shape.of(field.getType());
+        if (shape == Shape.ENUM)
+            enumConstants = field.getType().getEnumConstants();
+        else if (shape == Shape.ENUM_ARRAY)
+            enumConstants = field.getType().getComponentType().getEnumConstants();
+        else
+            enumConstants = null;
+        /*
+         * Final fields and the like are still read and written with
+         * reflection. So are primitive fields, which reflection also sets
+         * from a narrower type, like a long field from an Integer.
+         */
+        getter = getterFor(field);
+        setter = field.getType().isPrimitive()
+                ? null
+                : setterFor(field);
+    }
+
+    /**
+     * <p>
+     * get.
+     * </p>
+     *
+     * @param target a {@link java.lang.Object} object.
+     * @return the value of the field in the target.
+     * @throws java.lang.IllegalAccessException if any.
+     */
+    public Object get(final Object target) throws IllegalAccessException
+    {
+        if (getter == null)
+            return field.get(target);
+        try
+        {
+            return getter.invokeExact(target);
+        } catch (final RuntimeException | Error e)
+        {
+            throw e;
+        } catch (final Throwable e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * <p>
+     * getField.
+     * </p>
+     *
+     * @return a {@link java.lang.reflect.Field} object.
+     */
+    public Field getField()
+    {
+        return field;
+    }
+
+    /**
+     * <p>
+     * getShape.
+     * </p>
+     *
+     * @return a {@link com.obdobion.argument.variables.FieldBinder.Shape}
+     *         object.
+     */
+    public Shape getShape()
+    {
+        return shape;
+    }
+
+    /**
+     * Set the field in the target. A value of the wrong type is reported in
+     * the same way as by {@link Field#set(Object, Object)}.
+     *
+     * @param target a {@link java.lang.Object} object.
+     * @param value a {@link java.lang.Object} object.
+     * @throws java.lang.IllegalAccessException if any.
+     * @throws java.lang.IllegalArgumentException if the value can not be
+     *             assigned to the field.
+     */
+    public void set(final Object target, final Object value) throws IllegalAccessException
+    {
+        if (setter == null || target == null)
+        {
+            field.set(target, value);
+            return;
+        }
+        try
+        {
+            setter.invokeExact(target, value);
+        } catch (final ClassCastException e)
+        {
+            throw new IllegalArgumentException("Can not set "
+                    + field.getType().getName()
+                    + " field "
+                    + field.getDeclaringClass().getName()
+                    + "."
+                    + field.getName()
+                    + " to "
+                    + value.getClass().getName(), e);
+        } catch (final RuntimeException | Error e)
+        {
+            throw e;
+        } catch (final Throwable e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
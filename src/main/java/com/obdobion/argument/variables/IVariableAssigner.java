@@ -1,6 +1,7 @@
 package com.obdobion.argument.variables;
 
 import java.text.ParseException;
+import java.util.List;
 
 import com.obdobion.argument.type.CmdLineCLA;
 import com.obdobion.argument.type.ICmdLineArg;
@@ -39,4 +40,28 @@ public interface IVariableAssigner
      */
     Object newGroupVariable(final CmdLineCLA group, final Object target, final ICmdLineArg<?> factoryValueArg)
             throws ParseException;
+
+    /**
+     * Create the variables for all of the occurrences of a group at once, so
+     * that an array or list variable only has to grow once.
+     *
+     * @param group a {@link com.obdobion.argument.type.CmdLineCLA} object.
+     * @param target a {@link java.lang.Object} object.
+     * @param factoryValueArgs the factory value arg of each occurrence, any of
+     *            them can be null.
+     * @return the new variable of each occurrence, or null if there are none.
+     * @throws java.text.ParseException if any.
+     * @since 4.3.8
+     */
+    default Object[] newGroupVariables(
+            final CmdLineCLA group,
+            final Object target,
+            final List<ICmdLineArg<?>> factoryValueArgs)
+                    throws ParseException
+    {
+        final Object[] groupInstances = new Object[factoryValueArgs.size()];
+        for (int o = 0; o < groupInstances.length; o++)
+            groupInstances[o] = newGroupVariable(group, target, factoryValueArgs.get(o));
+        return groupInstances;
+    }
 }
@@ -0,0 +1,334 @@
+package com.obdobion.argument.variables;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.text.ParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.obdobion.argument.ParseContext;
+import com.obdobion.argument.type.AbstractCLA;
+import com.obdobion.argument.type.CmdLineCLA;
+import com.obdobion.argument.type.ICmdLineArg;
+
+/**
+ * The factory method or constructor that creates the instances for an
+ * argument. The class is loaded and the method is found once for each field
+ * and argument definition, and then kept with the class of the field. Each
+ * instance is then created with a direct call of a method handle rather than
+ * with {@link java.lang.reflect.Method#invoke(Object, Object...)}.
+ * <p>
+ * Arguments that are compiled from annotations are resolved when they are
+ * compiled, so a missing class or factory method is reported then rather
+ * than when the argument is first used.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class Instantiator
+{
+    static private final MethodType                                      WITH_VALUE    = MethodType.methodType(
+            Object.class, Object.class);
+    static private final MethodType                                      WITHOUT_VALUE = MethodType.methodType(
+            Object.class);
+
+    static private final ClassValue<ConcurrentMap<String, Instantiator>> instantiators = new ClassValue<ConcurrentMap<String, Instantiator>>()
+    {
+        @Override
+        protected ConcurrentMap<String, Instantiator> computeValue(final Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    static private Instantiator cached(final Field field, final String key)
+    {
+        return instantiators.get(field.getDeclaringClass()).get(key);
+    }
+
+    static private Instantiator cache(final Field field, final String key, final Instantiator instantiator)
+    {
+        final Instantiator raced = instantiators.get(field.getDeclaringClass()).putIfAbsent(key, instantiator);
+        return raced == null
+                ? instantiator
+                : raced;
+    }
+
+    /**
+     * Return the instantiator for one occurrence of a group, finding the
+     * factory method or the constructor the first time.
+     *
+     * @param group a {@link com.obdobion.argument.type.CmdLineCLA} object.
+     * @param field the {@link java.lang.reflect.Field} of the group.
+     * @param withFactoryValue true if the factory method is given the value
+     *            of the factory arg.
+     * @return a {@link com.obdobion.argument.variables.Instantiator} object.
+     * @throws java.text.ParseException if the class or the method can not be
+     *             found.
+     */
+    static public Instantiator forGroup(final CmdLineCLA group, final Field field, final boolean withFactoryValue)
+            throws ParseException
+    {
+        final String key = field.getName()
+                + "|" + group.getFactoryMethodName()
+                + "|" + group.getInstanceClass()
+                + "|" + group.isMultiple()
+                + "|" + withFactoryValue;
+        final Instantiator existing = cached(field, key);
+        if (existing != null)
+            return existing;
+
+        final String baseClassName;
+        if (group.getInstanceClass() != null)
+            baseClassName = group.getInstanceClass();
+        else if (group.isMultiple() && field.getType().isArray())
+            baseClassName = field.getType().getComponentType().getName();
+        else
+            baseClassName = field.getType().getName();
+
+        final String errMsg = "(" + group.getVariable() + ")";
+        try
+        {
+            if (group.getFactoryMethodName() == null)
+            {
+                final Class<?> clazz = ParseContext.current().loadClass(baseClassName);
+                if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers()))
+                    throw new ParseException("InstantiationException " + errMsg, -1);
+                final MethodHandle constructor;
+                try
+                {
+                    constructor = MethodHandles.lookup().unreflectConstructor(clazz.getDeclaredConstructor());
+                } catch (final NoSuchMethodException e)
+                {
+                    throw new ParseException("InstantiationException " + errMsg, -1);
+                }
+                return cache(field, key, new Instantiator(constructor.asType(WITHOUT_VALUE), null, errMsg));
+            }
+
+            final int methodPvt = group.getFactoryMethodName().lastIndexOf('.');
+            final Class<?> clazz;
+            final String methodName;
+            if (methodPvt < 0)
+            {
+                clazz = ParseContext.current().loadClass(baseClassName);
+                methodName = group.getFactoryMethodName();
+            } else
+            {
+                clazz = ParseContext.current().loadClass(group.getFactoryMethodName().substring(0, methodPvt));
+                methodName = group.getFactoryMethodName().substring(methodPvt + 1);
+            }
+            final MethodHandle method;
+            if (withFactoryValue)
+                method = MethodHandles.lookup().unreflect(clazz.getDeclaredMethod(methodName, String.class))
+                        .asType(WITH_VALUE);
+            else
+                method = MethodHandles.lookup().unreflect(clazz.getDeclaredMethod(methodName))
+                        .asType(WITHOUT_VALUE);
+            return cache(field, key, new Instantiator(method, withFactoryValue
+                    ? String.class
+                    : null, errMsg));
+
+        } catch (final ClassNotFoundException e)
+        {
+            throw new ParseException("ClassNotFoundException " + errMsg, -1);
+        } catch (final IllegalAccessException e)
+        {
+            throw new ParseException("IllegalAccessException " + errMsg, -1);
+        } catch (final SecurityException e)
+        {
+            throw new ParseException("SecurityException " + errMsg, -1);
+        } catch (final NoSuchMethodException e)
+        {
+            throw new ParseException("NoSuchMethodException ("
+                    + field.getDeclaringClass().getSimpleName()
+                    + " "
+                    + group.getVariable()
+                    + " "
+                    + group.getFactoryMethodName()
+                    + ")", -1);
+        }
+    }
+
+    /**
+     * Return the instantiator that turns each value of an argument into an
+     * instance with its factory method, finding the method the first time.
+     *
+     * @param arg a {@link com.obdobion.argument.type.ICmdLineArg} object with
+     *            a factory method.
+     * @param field the {@link java.lang.reflect.Field} that the instances are
+     *            assigned to.
+     * @param valueClass the class of the values, the parameter type of the
+     *            factory method.
+     * @return a {@link com.obdobion.argument.variables.Instantiator} object.
+     * @throws java.text.ParseException if the class or the method can not be
+     *             found.
+     */
+    static public Instantiator forValues(final ICmdLineArg<?> arg, final Field field, final Class<?> valueClass)
+            throws ParseException
+    {
+        final String key = field.getName()
+                + "|" + arg.getFactoryMethodName()
+                + "|" + arg.getInstanceClass()
+                + "|" + valueClass.getName();
+        final Instantiator existing = cached(field, key);
+        if (existing != null)
+            return existing;
+
+        String baseClassName;
+        if (field.getType().isArray())
+            baseClassName = field.getType().getComponentType().getName();
+        else if (arg.getInstanceClass() != null)
+            baseClassName = arg.getInstanceClass();
+        else
+            baseClassName = field.getType().getName();
+
+        final int methodPvt = arg.getFactoryMethodName().lastIndexOf('.');
+        final String className;
+        final String methodName;
+        if (methodPvt < 0)
+        {
+            /*
+             * It is too bad that the generic info on a field is not public. So
+             * here we can't determine the generic type of a list. To add multi
+             * value items to a list the --class parameter must be used.
+             */
+            className = baseClassName;
+            methodName = arg.getFactoryMethodName();
+        } else
+        {
+            baseClassName = arg.getFactoryMethodName().substring(0, methodPvt);
+            className = baseClassName;
+            methodName = arg.getFactoryMethodName().substring(methodPvt + 1);
+        }
+
+        final String errMsg = "expected: public static "
+                + baseClassName
+                + " "
+                + methodName
+                + "("
+                + valueClass.getName()
+                + ") on "
+                + className;
+        try
+        {
+            final Class<?> clazz = ParseContext.current().loadClass(className);
+            final MethodHandle method = MethodHandles.lookup().unreflect(
+                    clazz.getDeclaredMethod(methodName, valueClass));
+            return cache(field, key, new Instantiator(method.asType(WITH_VALUE), valueClass, errMsg));
+
+        } catch (final ClassNotFoundException e)
+        {
+            throw new ParseException("ClassNotFoundException " + errMsg, -1);
+        } catch (final IllegalAccessException e)
+        {
+            throw new ParseException("IllegalAccessException " + errMsg, -1);
+        } catch (final SecurityException e)
+        {
+            throw new ParseException("SecurityException " + errMsg, -1);
+        } catch (final NoSuchMethodException e)
+        {
+            throw new ParseException("NoSuchMethodException " + errMsg, -1);
+        }
+    }
+
+    /**
+     * Resolve the instantiators of an argument that was compiled for a field,
+     * so that errors in them are reported at compile time.
+     * <p>
+     * A group that is not multiple and has no factory method is left until it
+     * is used, an instance that is already in the field is used then instead
+     * of a new one.
+     * </p>
+     *
+     * @param arg a {@link com.obdobion.argument.type.ICmdLineArg} object.
+     * @param field the {@link java.lang.reflect.Field} of the argument.
+     * @throws java.text.ParseException if the class or the method can not be
+     *             found.
+     */
+    static public void resolve(final ICmdLineArg<?> arg, final Field field) throws ParseException
+    {
+        if (arg instanceof CmdLineCLA)
+        {
+            final CmdLineCLA group = (CmdLineCLA) arg;
+            if (group.getFactoryMethodName() != null)
+                forGroup(group, field, group.getFactoryArgName() != null);
+            else if (group.isMultiple())
+                forGroup(group, field, false);
+            return;
+        }
+        if (arg.getFactoryMethodName() == null)
+            return;
+        final Class<?> valueClass = valueClassOf(arg);
+        if (valueClass != null)
+            forValues(arg, field, valueClass);
+    }
+
+    /**
+     * The type of the values of an argument, as declared by its class.
+     *
+     * @param arg a {@link com.obdobion.argument.type.ICmdLineArg} object.
+     * @return the class of the values or null if it is not declared.
+     */
+    static public Class<?> valueClassOf(final ICmdLineArg<?> arg)
+    {
+        for (Class<?> clazz = arg.getClass(); clazz != null; clazz = clazz.getSuperclass())
+        {
+            final Type superclass = clazz.getGenericSuperclass();
+            if (superclass instanceof ParameterizedType
+                    && ((ParameterizedType) superclass).getRawType() == AbstractCLA.class)
+            {
+                final Type valueType = ((ParameterizedType) superclass).getActualTypeArguments()[0];
+                if (valueType instanceof Class)
+                    return (Class<?>) valueType;
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private final MethodHandle handle;
+    private final Class<?>     valueClass;
+    private final String       errMsg;
+
+    private Instantiator(final MethodHandle _handle, final Class<?> _valueClass, final String _errMsg)
+    {
+        handle = _handle;
+        valueClass = _valueClass;
+        errMsg = _errMsg;
+    }
+
+    /**
+     * <p>
+     * newInstance.
+     * </p>
+     *
+     * @param value the value that the instance is created from, ignored if
+     *            the factory method has no parameter.
+     * @return a {@link java.lang.Object} object.
+     * @throws java.text.ParseException if the factory method fails.
+     */
+    public Object newInstance(final Object value) throws ParseException
+    {
+        if (valueClass != null && !valueClass.isInstance(value))
+            throw new ParseException("IllegalArgumentException " + errMsg, -1);
+        try
+        {
+            if (valueClass == null)
+                return handle.invokeExact();
+            return handle.invokeExact(value);
+        } catch (final Throwable e)
+        {
+            /*
+             * Anything thrown by the factory method, the way that Method.invoke
+             * would have wrapped it.
+             */
+            throw new ParseException("InvocationTargetException " + errMsg, -1);
+        }
+    }
+}
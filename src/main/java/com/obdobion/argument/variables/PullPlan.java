@@ -0,0 +1,115 @@
+package com.obdobion.argument.variables;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Objects;
+
+import com.obdobion.argument.type.ICmdLineArg;
+
+/**
+ * The fields that the arguments of a command line are pulled from, found once
+ * for a class and a list of argument definitions. A command line keeps its
+ * plans with the definitions, that it shares with its copies, so pulling the
+ * same kind of object again only reads the fields.
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class PullPlan
+{
+    /**
+     * How the values are read from a field.
+     */
+    enum Source
+    {
+        ARRAY,
+        LIST,
+        VALUE
+    }
+
+    /**
+     * <p>
+     * Find the fields of the arguments in a class.
+     * </p>
+     *
+     * @param args the argument definitions, in the order of the command line.
+     * @param sourceClass the class that the values are pulled from.
+     * @return a {@link com.obdobion.argument.variables.PullPlan} object.
+     * @throws java.text.ParseException if a variable is not a field of the
+     *             class.
+     */
+    static public PullPlan of(final List<ICmdLineArg<?>> args, final Class<?> sourceClass) throws ParseException
+    {
+        final FieldBinder[] binders = new FieldBinder[args.size()];
+        final Source[] sources = new Source[args.size()];
+        for (int a = 0; a < binders.length; a++)
+        {
+            final ICmdLineArg<?> arg = args.get(a);
+            if (arg.getVariable() == null || arg.isSystemGenerated())
+                continue;
+            binders[a] = FieldBinder.forVariable(arg, sourceClass, "pulling "
+                    + arg.getVariable()
+                    + " from "
+                    + sourceClass.getName());
+            sources[a] = sourceOf(binders[a]);
+        }
+        return new PullPlan(args.toArray(new ICmdLineArg<?>[args.size()]), binders, sources);
+    }
+
+    static Source sourceOf(final FieldBinder binder)
+    {
+        if (binder.field.getType() == List.class)
+            return Source.LIST;
+        if (binder.field.getType().isArray())
+            return Source.ARRAY;
+        return Source.VALUE;
+    }
+
+    /**
+     * The arguments that the plan was made for, the copies of a command line
+     * share their definitions.
+     */
+    final ICmdLineArg<?>[] args;
+    /**
+     * The variable of each argument when the plan was made, a definition
+     * that is not shared is changed in place.
+     */
+    final String[]         variables;
+    final FieldBinder[]    binders;
+    final Source[]         sources;
+
+    private PullPlan(final ICmdLineArg<?>[] _args, final FieldBinder[] _binders, final Source[] _sources)
+    {
+        args = _args;
+        variables = new String[_args.length];
+        for (int a = 0; a < _args.length; a++)
+            variables[a] = _args[a].getVariable();
+        binders = _binders;
+        sources = _sources;
+    }
+
+    /**
+     * <p>
+     * fits.
+     * </p>
+     *
+     * @param _args the argument definitions.
+     * @return true if this plan was made for the arguments or for copies of
+     *         them.
+     * @since 4.3.8
+     */
+    public boolean fits(final List<ICmdLineArg<?>> _args)
+    {
+        if (args.length != _args.size())
+            return false;
+        for (int a = 0; a < args.length; a++)
+        {
+            final ICmdLineArg<?> arg = _args.get(a);
+            if (!arg.sharesDefinitionWith(args[a]))
+                return false;
+            if (!Objects.equals(variables[a], arg.getVariable()))
+                return false;
+        }
+        return true;
+    }
+}
@@ -1,6 +1,6 @@
 package com.obdobion.argument.variables;
 
-import java.lang.reflect.Field;
+import java.lang.reflect.Array;
 import java.text.ParseException;
 import java.util.List;
 
@@ -38,6 +38,29 @@ public class VariablePuller
         return instance;
     }
 
+    /**
+     * Each element of a group is pulled into its own occurrence of the group.
+     * The occurrences share the definitions of the template, and with them the
+     * pull plans.
+     */
+    static private void pullOccurrence(final ICmdLineArg<?> arg, final Object value) throws ParseException
+    {
+        if (!(arg instanceof CmdLineCLA))
+        {
+            arg.setObject(value);
+            return;
+        }
+        try
+        {
+            final ICmdLine occurrence = ((CmdLineCLA) arg).templateCmdLine.cloneOccurrence();
+            arg.setObject(occurrence);
+            occurrence.pull(value);
+        } catch (final CloneNotSupportedException e)
+        {
+            logger.error("pulling " + arg.getVariable(), e);
+        }
+    }
+
     /**
      * <p>
      * pull.
@@ -49,7 +72,6 @@ public class VariablePuller
      * @throws java.lang.IllegalArgumentException if any.
      * @throws java.lang.IllegalAccessException if any.
      */
-    @SuppressWarnings("unchecked")
     public void pull(final ICmdLineArg<?> arg, final Object variableSource)
             throws ParseException, IllegalArgumentException, IllegalAccessException
     {
@@ -62,74 +84,66 @@ public class VariablePuller
                 + " from "
                 + variableSource.getClass().getName();
 
-        final Field field = VariableAssigner.findFieldInAnyParentOrMyself(arg, variableSource.getClass(), errMsg);
-        if (field == null)
-            return;
+        final FieldBinder binder = FieldBinder.forVariable(arg, variableSource.getClass(), errMsg);
+        pull(arg, binder, PullPlan.sourceOf(binder), variableSource);
+    }
 
-        final boolean wasAccessible = field.isAccessible();
+    @SuppressWarnings("unchecked")
+    private void pull(
+            final ICmdLineArg<?> arg,
+            final FieldBinder binder,
+            final PullPlan.Source source,
+            final Object variableSource)
+                    throws ParseException, IllegalAccessException
+    {
+        final Object values = binder.get(variableSource);
+        if (values == null)
+            return;
 
-        try
+        switch (source)
         {
-            field.setAccessible(true);
-
-            if (field.getType() == List.class)
-            {
-                final List<Object> values = (List<Object>) field.get(variableSource);
-                if (values != null)
-                    for (final Object value : values)
-                        if (arg instanceof CmdLineCLA)
-                        {
-                            final ICmdLine cmdline = (((CmdLineCLA) arg).templateCmdLine).clone();
-                            arg.setObject(cmdline);
-                            for (final ICmdLineArg<?> innerArg : cmdline.allArgs())
-                            {
-                                pull(innerArg, value);
-                            }
-                        } else
-                            arg.setObject(value);
-
-            } else if (field.getType().isArray())
-            {
-                final Object[] values = (Object[]) field.get(variableSource);
-                if (values != null)
-                    for (final Object value : values)
-                        if (arg instanceof CmdLineCLA)
-                        {
-                            final ICmdLine cmdline = (((CmdLineCLA) arg).templateCmdLine).clone();
-                            arg.setObject(cmdline);
-                            for (final ICmdLineArg<?> innerArg : cmdline.allArgs())
-                            {
-                                pull(innerArg, value);
-                            }
-                        } else
-                            arg.setObject(value);
-            } else
-            {
-                final Object value = field.get(variableSource);
-                if (value != null)
-                {
-                    if (arg instanceof CmdLineCLA)
-                    {
-                        final ICmdLine cmdline = (((CmdLineCLA) arg).templateCmdLine).clone();
-                        arg.setObject(cmdline);
-                        for (final ICmdLineArg<?> innerArg : cmdline.allArgs())
-                        {
-                            pull(innerArg, value);
-                        }
-                    } else
-                        /*
-                         * Simple objects are handled here
-                         */
-                        arg.setObject(value);
-                }
-            }
+            case LIST:
+                for (final Object value : (List<Object>) values)
+                    pullOccurrence(arg, value);
+                break;
+            case ARRAY:
+                final int length = Array.getLength(values);
+                for (int v = 0; v < length; v++)
+                    pullOccurrence(arg, Array.get(values, v));
+                break;
+            default:
+                /*
+                 * Simple objects are handled here
+                 */
+                pullOccurrence(arg, values);
+        }
+    }
 
-        } catch (final CloneNotSupportedException e)
-        {
-            logger.error(errMsg, e);
-        } finally
+    /**
+     * Pull all of the arguments of a command line with a plan that was made
+     * for the class of the source.
+     *
+     * @param args the arguments of the command line.
+     * @param plan a {@link com.obdobion.argument.variables.PullPlan} made for
+     *            the args and the class of the variable source.
+     * @param variableSource a {@link java.lang.Object} object.
+     * @throws java.text.ParseException if any.
+     * @throws java.lang.IllegalAccessException if any.
+     * @since 4.3.8
+     */
+    public void pull(final List<ICmdLineArg<?>> args, final PullPlan plan, final Object variableSource)
+            throws ParseException, IllegalAccessException
+    {
+        if (!plan.fits(args))
+            throw new ParseException("the pull plan was not made for these arguments", 0);
+        for (int a = 0; a < plan.binders.length; a++)
         {
-            field.setAccessible(wasAccessible);
+            final ICmdLineArg<?> arg = args.get(a);
+            if (arg.getVariable() == null)
+                continue;
+            arg.reset();
+            if (plan.binders[a] != null)
+                pull(arg, plan.binders[a], plan.sources[a], variableSource);
         }
     }
 }
@@ -0,0 +1,276 @@
+package com.obdobion.argument;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.Processor;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.GeneratedArgs;
+import com.obdobion.argument.annotation.IGeneratedArgs;
+
+/**
+ * <p>
+ * ArgsProcessorTest class. The processor is built on its own, after this
+ * library, so it is compiled here from its sources and then run by javac on
+ * a class that is also compiled without it.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class ArgsProcessorTest
+{
+    static private final String PROCESSOR_SOURCES = "processor/src/main/java";
+    static private final String PROCESSOR_CLASS   = "com.obdobion.argument.processor.ArgsProcessor";
+    static private final String OPTIONS_CLASS     = "sample.Options";
+
+    static private final String OPTIONS_SOURCE    = ""
+            + "package sample;\n"
+            + "\n"
+            + "import java.util.List;\n"
+            + "import java.util.regex.Pattern;\n"
+            + "\n"
+            + "import com.obdobion.argument.annotation.Arg;\n"
+            + "import com.obdobion.argument.type.WildFiles;\n"
+            + "\n"
+            + "public class Options\n"
+            + "{\n"
+            + "    public enum Color\n"
+            + "    {\n"
+            + "        RED,\n"
+            + "        GREEN\n"
+            + "    }\n"
+            + "\n"
+            + "    @Arg(shortName = 'v')\n"
+            + "    boolean       verbose;\n"
+            + "\n"
+            + "    @Arg(shortName = 'n', multimin = 2)\n"
+            + "    String[]      names;\n"
+            + "\n"
+            + "    @Arg(shortName = 'c', defaultValues = \"7\")\n"
+            + "    int           count;\n"
+            + "\n"
+            + "    @Arg(shortName = 'r')\n"
+            + "    Double        ratio;\n"
+            + "\n"
+            + "    @Arg(shortName = 's')\n"
+            + "    List<Integer> sizes;\n"
+            + "\n"
+            + "    @Arg(shortName = 'k')\n"
+            + "    Color         color;\n"
+            + "\n"
+            + "    @Arg(shortName = 'p')\n"
+            + "    Pattern       pattern;\n"
+            + "\n"
+            + "    @Arg(shortName = 'w', maxDepth = 1, parallelism = 2)\n"
+            + "    WildFiles     wild;\n"
+            + "\n"
+            + "    public int wildFiles() throws Exception\n"
+            + "    {\n"
+            + "        return wild.files().size();\n"
+            + "    }\n"
+            + "}\n";
+
+    static private Path argumentClasses()
+    {
+        try
+        {
+            return new File(CmdLine.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toPath();
+        } catch (final Exception e)
+        {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    static private void compile(
+            final Iterable<? extends File> sources,
+            final Path output,
+            final List<String> options,
+            final Processor processor)
+            throws IOException
+    {
+        final JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = javac.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8))
+        {
+            final List<String> allOptions = new ArrayList<>(options);
+            allOptions.addAll(Arrays.asList(
+                    "-classpath", argumentClasses().toString(),
+                    "-d", output.toString()));
+            final CompilationTask task = javac.getTask(null, files, diagnostics, allOptions, null,
+                    files.getJavaFileObjectsFromFiles(sources));
+            if (processor != null)
+                task.setProcessors(Collections.singletonList(processor));
+            Assert.assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        }
+    }
+
+    /**
+     * @return the Options class, compiled with the processor when one is
+     *         given and without any annotation processing otherwise.
+     */
+    static private Class<?> compileOptions(final Path root, final String name, final Processor processor)
+            throws Exception
+    {
+        final Path source = root.resolve(name + "-src/sample/Options.java");
+        Files.createDirectories(source.getParent());
+        Files.write(source, OPTIONS_SOURCE.getBytes(StandardCharsets.UTF_8));
+        final Path output = Files.createDirectories(root.resolve(name));
+
+        compile(Collections.singletonList(source.toFile()), output,
+                processor == null
+                        ? Collections.singletonList("-proc:none")
+                        : Collections.<String> emptyList(),
+                processor);
+
+        return loaderFor(output).loadClass(OPTIONS_CLASS);
+    }
+
+    static private Processor compileProcessor(final Path root) throws Exception
+    {
+        final List<File> sources = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(new File(PROCESSOR_SOURCES).toPath()))
+        {
+            for (final Path path : paths.collect(Collectors.toList()))
+                if (path.toString().endsWith(".java"))
+                    sources.add(path.toFile());
+        }
+        final Path output = Files.createDirectories(root.resolve("processor"));
+        compile(sources, output, Collections.singletonList("-proc:none"), null);
+
+        return (Processor) loaderFor(output).loadClass(PROCESSOR_CLASS).getDeclaredConstructor().newInstance();
+    }
+
+    static private void deleteTree(final Path root) throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(root))
+        {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                Files.delete(path);
+        }
+    }
+
+    static private String exported(final Class<?> optionsClass, final String args) throws Exception
+    {
+        final StringBuilder out = new StringBuilder();
+        CmdLine.load(new CmdLine(), optionsClass.getDeclaredConstructor().newInstance(), args)
+                .exportCommandLine(out);
+        return out.toString();
+    }
+
+    static private String failure(final Class<?> optionsClass, final String args) throws Exception
+    {
+        try
+        {
+            CmdLine.load(new CmdLine(), optionsClass.getDeclaredConstructor().newInstance(), args);
+            return null;
+        } catch (final ParseException e)
+        {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * The classes are shared with this test, so that the annotations and the
+     * generated interface are the ones that the parser knows.
+     */
+    static private ClassLoader loaderFor(final Path output) throws IOException
+    {
+        return new URLClassLoader(new URL[] { output.toUri().toURL() }, ArgsProcessorTest.class.getClassLoader());
+    }
+
+    static private String loaded(final Class<?> optionsClass, final String args) throws Exception
+    {
+        final Object options = optionsClass.getDeclaredConstructor().newInstance();
+        CmdLine.load(new CmdLine(), options, args);
+
+        final StringBuilder values = new StringBuilder();
+        for (final Field field : optionsClass.getDeclaredFields())
+        {
+            field.setAccessible(true);
+            values.append(field.getName()).append("=");
+            values.append(Arrays.deepToString(new Object[] { field.get(options) })).append("\n");
+        }
+        return values.toString();
+    }
+
+    static private int wildFiles(final Class<?> optionsClass, final String args) throws Exception
+    {
+        final Object options = optionsClass.getDeclaredConstructor().newInstance();
+        CmdLine.load(new CmdLine(), options, args);
+        return (Integer) optionsClass.getMethod("wildFiles").invoke(options);
+    }
+
+    /**
+     * <p>
+     * generatedArgsBindLikeReflection.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void generatedArgsBindLikeReflection() throws Exception
+    {
+        Assume.assumeNotNull(ToolProvider.getSystemJavaCompiler());
+
+        final Path root = Files.createTempDirectory("ArgsProcessorTest");
+        try
+        {
+            final Class<?> generated = compileOptions(root, "generated", compileProcessor(root));
+            final Class<?> reflected = compileOptions(root, "reflected", null);
+
+            final IGeneratedArgs binder = GeneratedArgs.forClass(generated);
+            Assert.assertNotNull(binder);
+            Assert.assertEquals(GeneratedArgs.className(generated), binder.getClass().getName());
+            Assert.assertNull(GeneratedArgs.forClass(reflected));
+
+            for (final String args : new String[] {
+                    "-v -n a b -c 3 -r 1.5 -s 4 5 6 -k green -p 'a.*b'",
+                    "-n a b c",
+                    "-n x y -s 1",
+                    "-n x y -w src/main/java/com/obdobion/**/WildFiles.java"
+            })
+            {
+                Assert.assertEquals(args, loaded(reflected, args), loaded(generated, args));
+                Assert.assertEquals(args, exported(reflected, args), exported(generated, args));
+            }
+
+            Assert.assertEquals(1, wildFiles(reflected, "-n x y -w src/main/java/com/obdobion/argument/*/WildFiles.java"));
+            Assert.assertEquals(0, wildFiles(generated, "-n x y -w src/main/java/com/obdobion/**/WildFiles.java"));
+            Assert.assertEquals(wildFiles(reflected, "-n x y -w src/main/java/com/obdobion/**/WildFiles.java"),
+                    wildFiles(generated, "-n x y -w src/main/java/com/obdobion/**/WildFiles.java"));
+
+            Assert.assertEquals("insufficient required values for --names(-n)", failure(reflected, "-n a"));
+            Assert.assertEquals(failure(reflected, "-n a"), failure(generated, "-n a"));
+            Assert.assertEquals(failure(reflected, "-n a b -c x"), failure(generated, "-n a b -c x"));
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+}
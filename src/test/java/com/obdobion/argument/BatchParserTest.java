@@ -0,0 +1,207 @@
+package com.obdobion.argument;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * <p>
+ * BatchParserTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class BatchParserTest
+{
+    static public class Job
+    {
+        @Arg(shortName = 'i', required = true)
+        int    id;
+
+        @Arg(longName = "name")
+        String name;
+    }
+
+    static private Supplier<Job> jobs()
+    {
+        return new Supplier<Job>()
+        {
+            @Override
+            public Job get()
+            {
+                return new Job();
+            }
+        };
+    }
+
+    static private List<String> lines(final int count)
+    {
+        final List<String> lines = new ArrayList<>(count);
+        for (int l = 0; l < count; l++)
+            lines.add("-i " + l + " --name job" + l);
+        return lines;
+    }
+
+    /**
+     * <p>
+     * errorsAreReturnedInOrder.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void errorsAreReturnedInOrder() throws Exception
+    {
+        final List<String> lines = lines(20);
+        lines.set(7, "--name missingId");
+
+        final Iterator<BatchResult<Job>> results = CompiledCmdLine.compile(Job.class).batch(jobs())
+                .parseLines(lines.iterator());
+        for (int l = 0; l < lines.size(); l++)
+        {
+            final BatchResult<Job> result = results.next();
+            Assert.assertEquals(l, result.getIndex());
+            if (l != 7)
+            {
+                Assert.assertTrue(result.isSuccessful());
+                Assert.assertEquals(l, result.get().id);
+                continue;
+            }
+            Assert.assertFalse(result.isSuccessful());
+            Assert.assertNull(result.getCmdLine());
+            try
+            {
+                result.get();
+                Assert.fail("expected ParseException");
+            } catch (final ParseException e)
+            {
+                Assert.assertSame(result.getError(), e);
+            }
+        }
+        Assert.assertFalse(results.hasNext());
+    }
+
+    /**
+     * <p>
+     * inputIsOnlyReadAheadByMaxInFlight.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void inputIsOnlyReadAheadByMaxInFlight() throws Exception
+    {
+        final Iterator<String> source = lines(100).iterator();
+        final int[] read = new int[1];
+        final Iterator<String> counted = new Iterator<String>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return source.hasNext();
+            }
+
+            @Override
+            public String next()
+            {
+                read[0]++;
+                return source.next();
+            }
+        };
+
+        final Iterator<BatchResult<Job>> results = CompiledCmdLine.compile(Job.class).batch(jobs())
+                .setMaxInFlight(4)
+                .parseLines(counted);
+        Assert.assertEquals(0, read[0]);
+        for (int l = 0; l < 10; l++)
+        {
+            Assert.assertEquals(l, results.next().get().id);
+            Assert.assertTrue(read[0] <= l + 1 + 4);
+        }
+    }
+
+    /**
+     * <p>
+     * resultsAreInInputOrder.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void resultsAreInInputOrder() throws Exception
+    {
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try
+        {
+            final Iterator<BatchResult<Job>> results = CompiledCmdLine.compile(Job.class).batch(jobs())
+                    .setExecutor(pool)
+                    .setMaxInFlight(16)
+                    .parseLines(lines(500).iterator());
+            for (int l = 0; l < 500; l++)
+            {
+                final Job job = results.next().get();
+                Assert.assertEquals(l, job.id);
+                Assert.assertEquals("job" + l, job.name);
+            }
+            Assert.assertFalse(results.hasNext());
+        } finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * <p>
+     * streamOfArgumentVectors.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void streamOfArgumentVectors() throws Exception
+    {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Stream<String[]> argvs = Stream.of(
+                new String[] { "-i", "1" },
+                new String[] { "-i", "2", "--name", "two" },
+                new String[] { "-i", "3" }).onClose(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        closed.set(true);
+                    }
+                });
+
+        final List<BatchResult<Object>> results;
+        try (Stream<BatchResult<Object>> parsed = CompiledCmdLine.compile(Job.class).batch(null).parse(argvs))
+        {
+            results = parsed.collect(Collectors.<BatchResult<Object>> toList());
+        }
+        Assert.assertTrue(closed.get());
+        Assert.assertEquals(3, results.size());
+        for (int r = 0; r < results.size(); r++)
+        {
+            Assert.assertNull(results.get(r).getTarget());
+            Assert.assertEquals(r + 1, results.get(r).getCmdLine().arg("-i").getValue());
+        }
+        Assert.assertEquals("two", results.get(1).getCmdLine().arg("--name").getValue());
+    }
+}
@@ -16,6 +16,27 @@ import com.obdobion.argument.annotation.Arg;
 public class BracketTest
 {
 
+    static public class Inner
+    {
+        @Arg(shortName = 'a')
+        boolean b1;
+
+        @Arg(shortName = 's')
+        String  text;
+    }
+
+    static public class Middle
+    {
+        @Arg(shortName = 'i')
+        int    number;
+
+        @Arg(shortName = 's')
+        String text;
+
+        @Arg(shortName = 'n')
+        Inner  nested;
+    }
+
     static public class Group
     {
         @Arg(shortName = 'a')
@@ -23,6 +44,12 @@ public class BracketTest
 
         @Arg(shortName = 'b')
         boolean b2;
+
+        @Arg(shortName = 's')
+        String  text;
+
+        @Arg(shortName = 'n')
+        Middle  nested;
     }
 
     @Arg(shortName = 'g')
@@ -45,4 +72,58 @@ public class BracketTest
         Assert.assertFalse(group[1].b1);
         Assert.assertTrue(group[1].b2);
     }
+
+    /**
+     * <p>
+     * directiveInsideGroup.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void directiveInsideGroup() throws Exception
+    {
+        CmdLine.load(this, "-g[-n[-i _( 200 * 12)]]");
+        Assert.assertEquals(2400, group[0].nested.number);
+    }
+
+    /**
+     * <p>
+     * quotedLiteralsInsideNestedGroups.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void quotedLiteralsInsideNestedGroups() throws Exception
+    {
+        CmdLine.load(this, "-g[-s 'say \"hi\"' -n[-s \"it's\" -n[-a -s '[x]']]]");
+        Assert.assertEquals("say \"hi\"", group[0].text);
+        Assert.assertEquals("it's", group[0].nested.text);
+        Assert.assertTrue(group[0].nested.nested.b1);
+        Assert.assertEquals("[x]", group[0].nested.nested.text);
+    }
+
+    /**
+     * <p>
+     * unmatchedBracketInsideGroup.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void unmatchedBracketInsideGroup() throws Exception
+    {
+        try
+        {
+            CmdLine.load(this, "-g[-n[-a]");
+            Assert.fail("expected exception");
+        } catch (final Exception e)
+        {
+            Assert.assertEquals("Unmatched bracket", e.getMessage());
+        }
+    }
 }
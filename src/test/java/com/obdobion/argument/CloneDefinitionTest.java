@@ -0,0 +1,227 @@
+package com.obdobion.argument;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Calendar;
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.type.CmdLineCLA;
+import com.obdobion.argument.type.ICmdLineArg;
+import com.obdobion.argument.type.StringCLA;
+
+/**
+ * <p>
+ * CloneDefinitionTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class CloneDefinitionTest
+{
+    static public class Entry
+    {
+        @Arg(shortName = 'k', defaultValues = "none")
+        String key;
+    }
+
+    static public class Measures
+    {
+        @Arg(shortName = 'i')
+        int      count;
+
+        @Arg(shortName = 'l')
+        long     total;
+
+        @Arg(shortName = 'd')
+        double   ratio;
+
+        @Arg(shortName = 'f')
+        float    weight;
+
+        @Arg(shortName = 't')
+        Date     when;
+
+        @Arg(shortName = 'c')
+        Calendar since;
+    }
+
+    static public class MeasuresOptions
+    {
+        @Arg(shortName = 'm')
+        Measures[] measures;
+    }
+
+    static public class Options
+    {
+        @Arg(shortName = 'e', multimin = 1)
+        Entry[] entries;
+    }
+
+    /**
+     * A subclass outside of the type package, it has to reach the definition
+     * through the protected members.
+     */
+    static public class ShoutingCLA extends StringCLA
+    {
+        String keywordSeen()
+        {
+            return definition.keyword;
+        }
+
+        void shout()
+        {
+            definitionToChange().help = definition.help.toUpperCase();
+        }
+    }
+
+    /**
+     * <p>
+     * changingACloneDoesNotChangeTheOriginal.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void changingACloneDoesNotChangeTheOriginal() throws Exception
+    {
+        final StringCLA original = new StringCLA();
+        original.setKeyword("key").setHelp("original help").setDefaultValue("a");
+        final ICmdLineArg<String> clone = original.clone();
+
+        clone.setKeyword("other").setHelp("clone help").setDefaultValue("b");
+
+        Assert.assertEquals("key", original.getKeyword());
+        Assert.assertEquals("original help", original.getHelp());
+        Assert.assertEquals(1, original.getDefaultValues().size());
+        Assert.assertEquals("other", clone.getKeyword());
+        Assert.assertEquals("clone help", clone.getHelp());
+        Assert.assertEquals(2, clone.getDefaultValues().size());
+    }
+
+    /**
+     * <p>
+     * changingTheOriginalDoesNotChangeAClone.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void changingTheOriginalDoesNotChangeAClone() throws Exception
+    {
+        final StringCLA original = new StringCLA();
+        original.setKeyword("key").setRequired(true);
+        final ICmdLineArg<String> clone = original.clone();
+
+        original.setRequired(false);
+        original.setValue("value");
+
+        Assert.assertTrue(clone.isRequired());
+        Assert.assertFalse(clone.isParsed());
+        Assert.assertEquals(0, clone.size());
+    }
+
+    /**
+     * <p>
+     * cloneCopiesGroupTemplates.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void cloneCopiesGroupTemplates() throws Exception
+    {
+        final ICmdLine original = new CmdLine();
+        original.parse(new Options(), "-e[-k a]");
+        final ICmdLine clone = original.clone();
+
+        ((CmdLineCLA) clone.arg("-e")).templateCmdLine.add(new StringCLA().setKeyword("extra"));
+
+        Assert.assertEquals(1 + ((CmdLineCLA) original.arg("-e")).templateCmdLine.allArgs().size(),
+                ((CmdLineCLA) clone.arg("-e")).templateCmdLine.allArgs().size());
+    }
+
+    /**
+     * <p>
+     * groupOccurrenceOnlyAllocatesValueHolders. Copying the number and date
+     * formats used to cost several hundred bytes for each arg.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void groupOccurrenceOnlyAllocatesValueHolders() throws Exception
+    {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported()
+                && allocations.isThreadAllocatedMemoryEnabled());
+
+        final ICmdLine cmdLine = new CmdLine();
+        cmdLine.parse(new MeasuresOptions(), "-m[-i 1 -l 2 -d 3 -f 4 -t 'now' -c 'now']");
+        final ICmdLine template = ((CmdLineCLA) cmdLine.arg("-m")).templateCmdLine;
+        final int args = template.allArgs().size();
+        for (int warmup = 0; warmup < 1000; warmup++)
+            template.cloneOccurrence();
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = allocations.getThreadAllocatedBytes(threadId);
+        for (int occurrence = 0; occurrence < 1000; occurrence++)
+            template.cloneOccurrence();
+        final long bytesPerArg = (allocations.getThreadAllocatedBytes(threadId) - before) / 1000 / args;
+
+        Assert.assertTrue(bytesPerArg + " bytes for each arg", bytesPerArg < 200);
+    }
+
+    /**
+     * <p>
+     * groupOccurrencesKeepTheirOwnValues.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void groupOccurrencesKeepTheirOwnValues() throws Exception
+    {
+        final Options options = new Options();
+        CmdLine.load(options, "-e[-k a][][-k c]");
+
+        Assert.assertEquals(3, options.entries.length);
+        Assert.assertEquals("a", options.entries[0].key);
+        Assert.assertEquals("none", options.entries[1].key);
+        Assert.assertEquals("c", options.entries[2].key);
+    }
+
+    /**
+     * <p>
+     * subclassChangesOnlyItsOwnDefinition.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void subclassChangesOnlyItsOwnDefinition() throws Exception
+    {
+        final ShoutingCLA original = new ShoutingCLA();
+        original.setKeyword("key").setHelp("quiet");
+        final ShoutingCLA clone = (ShoutingCLA) original.clone();
+
+        clone.shout();
+
+        Assert.assertEquals("key", clone.keywordSeen());
+        Assert.assertEquals("QUIET", clone.getHelp());
+        Assert.assertEquals("quiet", original.getHelp());
+    }
+}
@@ -0,0 +1,168 @@
+package com.obdobion.argument;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.input.CommandFileReader;
+import com.obdobion.argument.input.CommandLineParser;
+import com.obdobion.argument.input.CommandLineTokenizer;
+import com.obdobion.argument.input.IParserInput;
+import com.obdobion.argument.input.Token;
+
+/**
+ * <p>
+ * CommandLineTokenizerTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class CommandLineTokenizerTest
+{
+    /**
+     * Hands out one character per read so that every token crosses a chunk
+     * boundary.
+     */
+    static private class OneCharReader extends FilterReader
+    {
+        OneCharReader(final Reader in)
+        {
+            super(in);
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException
+        {
+            return super.read(cbuf, off, Math.min(1, len));
+        }
+    }
+
+    static private String read(final Reader reader) throws IOException
+    {
+        final StringBuilder out = new StringBuilder();
+        for (int c = reader.read(); c != -1; c = reader.read())
+            out.append((char) c);
+        return out.toString();
+    }
+
+    static private File write(final String contents) throws IOException
+    {
+        final File file = File.createTempFile("tokenizer", ".txt");
+        file.deleteOnExit();
+        try (Writer out = new FileWriter(file))
+        {
+            out.write(contents);
+        }
+        return file;
+    }
+
+    /**
+     * <p>
+     * chunkBoundariesDoNotMatter.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void chunkBoundariesDoNotMatter() throws Exception
+    {
+        final String commandLine = "-a 1 --bee \"quoted (value)\" -c(-d -5 'x') =(1+2) -ef\\-g [z]; last ";
+        final Token[] expected = CommandLineParser.getInstance('-', true, write(commandLine)).parseTokens();
+
+        try (CommandLineTokenizer tokenizer = new CommandLineTokenizer('-', true,
+                new OneCharReader(new StringReader(commandLine))))
+        {
+            final Token[] actual = tokenizer.remainingTokens();
+            Assert.assertEquals(expected.length, actual.length);
+            for (int t = 0; t < expected.length; t++)
+            {
+                Assert.assertEquals(expected[t].getValue(), actual[t].getValue());
+                Assert.assertEquals(expected[t].getInputStartX(), actual[t].getInputStartX());
+                Assert.assertEquals(expected[t].getInputEndX(), actual[t].getInputEndX());
+                Assert.assertEquals(expected[t].isLiteral(), actual[t].isLiteral());
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * commentLinesAreDropped.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void commentLinesAreDropped() throws Exception
+    {
+        final String contents = "# heading\n-a 1\r\n\n  #not a comment\r-b\n#trailing";
+        Assert.assertEquals("-a 1   #not a comment -b ",
+                read(new CommandFileReader(new OneCharReader(new StringReader(contents)))));
+        Assert.assertEquals("last ", read(new CommandFileReader(new StringReader("last"))));
+        Assert.assertEquals("", read(new CommandFileReader(new StringReader("\n#only\n\n"))));
+    }
+
+    /**
+     * <p>
+     * commandFileCanBeQuotedFrom.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void commandFileCanBeQuotedFrom() throws Exception
+    {
+        final File file = write("# comment\n-a one\n-b two\n");
+        final IParserInput input = CommandLineParser.getInstance('-', file);
+        final Token[] tokens = input.parseTokens();
+        Assert.assertEquals(4, tokens.length);
+        Assert.assertEquals("two", tokens[3].getValue());
+        Assert.assertEquals("two", input.substring(tokens[3].getInputStartX(), tokens[3].getInputEndX() + 1));
+        Assert.assertEquals("-a one -b", input.substring(tokens[0].getInputStartX(), tokens[2].getInputEndX() + 1));
+    }
+
+    /**
+     * <p>
+     * largeFilesAreTokenizedIncrementally.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void largeFilesAreTokenizedIncrementally() throws Exception
+    {
+        final StringBuilder contents = new StringBuilder("-n");
+        for (int v = 0; v < 100000; v++)
+        {
+            contents.append(' ').append(v);
+            if (v % 20 == 0)
+                contents.append("\n# comment ").append(v).append('\n');
+        }
+        final File file = write(contents.toString());
+
+        int count = 0;
+        Token last = null;
+        try (CommandLineTokenizer tokenizer = CommandLineTokenizer.getInstance('-', false, new FileReader(file)))
+        {
+            for (Token token = tokenizer.nextToken(); token != null; token = tokenizer.nextToken())
+            {
+                last = token;
+                count++;
+            }
+        }
+        Assert.assertEquals(100001, count);
+        Assert.assertEquals("99999", last.getValue());
+    }
+}
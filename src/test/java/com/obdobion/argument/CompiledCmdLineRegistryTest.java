@@ -0,0 +1,150 @@
+package com.obdobion.argument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * <p>
+ * CompiledCmdLineRegistryTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class CompiledCmdLineRegistryTest
+{
+    static public class Options
+    {
+        @Arg(shortName = 'a')
+        String alpha;
+
+        @Arg(shortName = 'b')
+        int    beta;
+    }
+
+    /**
+     * Loads Options by itself so that it can be unloaded again.
+     */
+    static private class IsolatingClassLoader extends ClassLoader
+    {
+        IsolatingClassLoader()
+        {
+            super(CompiledCmdLineRegistryTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException
+        {
+            if (!name.equals(Options.class.getName()))
+                return super.loadClass(name, resolve);
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class"))
+            {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[4096];
+                int len;
+                while ((len = in.read(buffer)) > 0)
+                    bytes.write(buffer, 0, len);
+                return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+            } catch (final Exception e)
+            {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    static private WeakReference<ClassLoader> registerFromIsolatedLoader() throws Exception
+    {
+        final ClassLoader loader = new IsolatingClassLoader();
+        final Class<?> isolated = loader.loadClass(Options.class.getName());
+        Assert.assertNotSame(Options.class, isolated);
+        Assert.assertNotNull(CompiledCmdLineRegistry.get(isolated, '-', '!'));
+        return new WeakReference<>(loader);
+    }
+
+    /**
+     * <p>
+     * classLoaderIsNotPinned.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void classLoaderIsNotPinned() throws Exception
+    {
+        final WeakReference<ClassLoader> loader = registerFromIsolatedLoader();
+        for (int attempt = 0; attempt < 50 && loader.get() != null; attempt++)
+        {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull("class loader is still reachable", loader.get());
+    }
+
+    /**
+     * <p>
+     * excludesAreCompiledSeparately.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void excludesAreCompiledSeparately() throws Exception
+    {
+        final CompiledCmdLine all = CompiledCmdLineRegistry.get(Options.class, '-', '!');
+        final CompiledCmdLine withoutBeta = CompiledCmdLineRegistry.get(Options.class, '-', '!', "beta");
+        Assert.assertNotSame(all, withoutBeta);
+        Assert.assertSame(withoutBeta, CompiledCmdLineRegistry.get(Options.class, '-', '!', "BETA"));
+        Assert.assertNotNull(all.newParser().arg("-b"));
+        Assert.assertNull(withoutBeta.newParser().arg("-b"));
+    }
+
+    /**
+     * <p>
+     * forgetCausesRecompile.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void forgetCausesRecompile() throws Exception
+    {
+        final CompiledCmdLine first = CompiledCmdLineRegistry.get(Options.class, '-', '!');
+        CompiledCmdLineRegistry.forget(Options.class);
+        Assert.assertNotSame(first, CompiledCmdLineRegistry.get(Options.class, '-', '!'));
+    }
+
+    /**
+     * <p>
+     * repeatedLoadsUseOneDefinition.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void repeatedLoadsUseOneDefinition() throws Exception
+    {
+        final Options first = new Options();
+        CmdLine.load(first, "-a one -b 1");
+        final CompiledCmdLine definition = CompiledCmdLineRegistry.get(Options.class, '-', '!');
+
+        final Options second = new Options();
+        final ICmdLine cmdLine = CmdLine.load(second, "-a two");
+        Assert.assertSame(definition, CompiledCmdLineRegistry.get(Options.class, '-', '!'));
+
+        Assert.assertEquals("one", first.alpha);
+        Assert.assertEquals(1, first.beta);
+        Assert.assertEquals("two", second.alpha);
+        Assert.assertEquals(0, second.beta);
+        Assert.assertFalse(cmdLine.arg("-b").isParsed());
+    }
+}
@@ -0,0 +1,184 @@
+package com.obdobion.argument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.type.CmdLineCLA;
+import com.obdobion.argument.type.StringCLA;
+
+/**
+ * <p>
+ * CompiledCmdLineTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class CompiledCmdLineTest
+{
+    static public class Config
+    {
+        @Arg(shortName = 'i')
+        int     count;
+
+        @Arg(shortName = 'd')
+        double  rate;
+
+        @Arg(longName = "name")
+        String  name;
+
+        @Arg(shortName = 'g', required = true)
+        Group[] groups;
+    }
+
+    static public class Group
+    {
+        @Arg(shortName = 'k')
+        String key;
+
+        @Arg(shortName = 'v')
+        int    value;
+    }
+
+    static private ICmdLine templateOf(final ICmdLine cmdLine)
+    {
+        return ((CmdLineCLA) cmdLine.arg("-g")).templateCmdLine;
+    }
+
+    /**
+     * <p>
+     * callersCmdLineIsNotShared.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void callersCmdLineIsNotShared() throws Exception
+    {
+        final CmdLine cmdLine = new CmdLine();
+        final CompiledCmdLine spec = CompiledCmdLine.compile(cmdLine, Config.class);
+        final int groupArgs = templateOf(spec.newParser()).allArgs().size();
+
+        templateOf(cmdLine).add(new StringCLA().setKeyword("extra"));
+
+        Assert.assertEquals(groupArgs, templateOf(spec.newParser()).allArgs().size());
+    }
+
+    /**
+     * <p>
+     * concurrentParsesDoNotShareState.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void concurrentParsesDoNotShareState() throws Exception
+    {
+        final CompiledCmdLine spec = CompiledCmdLine.compile(Config.class);
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try
+        {
+            final List<Future<Config>> results = new ArrayList<>();
+            for (int p = 0; p < 400; p++)
+            {
+                final int job = p;
+                results.add(pool.submit(new Callable<Config>()
+                {
+                    @Override
+                    public Config call() throws Exception
+                    {
+                        final Config config = new Config();
+                        spec.load(config, "-i " + job + " -d " + job + ".5 --name job" + job
+                                + " -g[-k a" + job + " -v " + job + "][-k b -v " + (job + 1) + "]");
+                        return config;
+                    }
+                }));
+            }
+            for (int p = 0; p < results.size(); p++)
+            {
+                final Config config = results.get(p).get();
+                Assert.assertEquals(p, config.count);
+                Assert.assertEquals(p + 0.5, config.rate, 0.0001);
+                Assert.assertEquals("job" + p, config.name);
+                Assert.assertEquals(2, config.groups.length);
+                Assert.assertEquals("a" + p, config.groups[0].key);
+                Assert.assertEquals(p, config.groups[0].value);
+                Assert.assertEquals(p + 1, config.groups[1].value);
+            }
+        } finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * <p>
+     * definitionIsNotParsed.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void definitionIsNotParsed() throws Exception
+    {
+        final CompiledCmdLine spec = CompiledCmdLine.compile(Config.class);
+
+        final ICmdLine result = spec.load(new Config(), "-i 5 --name first -g[-k x]");
+        Assert.assertEquals(5, result.arg("-i").getValue());
+
+        final ICmdLine fresh = spec.newParser();
+        Assert.assertFalse(fresh.arg("-i").isParsed());
+        Assert.assertFalse(fresh.arg("--name").hasValue());
+    }
+
+    /**
+     * <p>
+     * errorsAreReportedPerParse.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void errorsAreReportedPerParse() throws Exception
+    {
+        final CompiledCmdLine spec = CompiledCmdLine.compile(Config.class);
+        try
+        {
+            spec.load(new Config(), "-i 1");
+            Assert.fail("expected exception");
+        } catch (final Exception e)
+        {
+            Assert.assertEquals("missing required parameters: --groups(-g) ", e.getMessage());
+        }
+        final Config config = new Config();
+        spec.load(config, "-i 2 -g[-k y]");
+        Assert.assertEquals(2, config.count);
+    }
+
+    /**
+     * <p>
+     * groupTemplatesOfParsersAreSealed.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void groupTemplatesOfParsersAreSealed() throws Exception
+    {
+        final ICmdLine parser = CompiledCmdLine.compile(Config.class).newParser();
+        templateOf(parser).add(new StringCLA().setKeyword("extra"));
+    }
+}
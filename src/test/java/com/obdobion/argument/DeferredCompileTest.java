@@ -0,0 +1,302 @@
+package com.obdobion.argument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.type.CmdLineCLA;
+
+/**
+ * <p>
+ * DeferredCompileTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class DeferredCompileTest
+{
+    static public class G1
+    {
+        @Arg
+        String g1a;
+
+        @Arg
+        String g1b;
+
+        @Arg
+        String g1c;
+
+        @Arg
+        String g1d;
+    }
+
+    static public class G2
+    {
+        @Arg
+        String g2a;
+
+        @Arg
+        String g2b;
+
+        @Arg
+        String g2c;
+
+        @Arg
+        String g2d;
+    }
+
+    static public class G3
+    {
+        @Arg
+        String g3a;
+
+        @Arg
+        String g3b;
+
+        @Arg
+        String g3c;
+
+        @Arg
+        String g3d;
+    }
+
+    static public class G4
+    {
+        @Arg
+        String g4a;
+
+        @Arg
+        String g4b;
+
+        @Arg
+        String g4c;
+
+        @Arg
+        String g4d;
+    }
+
+    static public class G5
+    {
+        @Arg
+        String g5a;
+
+        @Arg
+        String g5b;
+
+        @Arg
+        String g5c;
+
+        @Arg
+        String g5d;
+    }
+
+    static public class G6
+    {
+        @Arg
+        String g6a;
+
+        @Arg
+        String g6b;
+
+        @Arg
+        String g6c;
+
+        @Arg
+        String g6d;
+    }
+
+    static public class Node
+    {
+        @Arg(shortName = 'n')
+        String name;
+
+        @Arg(shortName = 'c')
+        Node[] children;
+    }
+
+    static public class Options
+    {
+        @Arg(shortName = 'u')
+        Used   used;
+
+        @Arg(shortName = 'x')
+        Unused unused;
+    }
+
+    static public class Race
+    {
+        @Arg
+        G1 g1;
+
+        @Arg
+        G2 g2;
+
+        @Arg
+        G3 g3;
+
+        @Arg
+        G4 g4;
+
+        @Arg
+        G5 g5;
+
+        @Arg
+        G6 g6;
+    }
+
+    static public class Unused
+    {
+        @Arg(shortName = 'k')
+        String key;
+    }
+
+    static public class Used
+    {
+        @Arg(shortName = 'k')
+        String key;
+    }
+
+    /**
+     * Every group of the race, the groups in a different order for each
+     * parse and each variable set to its own name.
+     */
+    static private String raceArgs(final int parse)
+    {
+        final StringBuilder args = new StringBuilder();
+        for (int g = 0; g < 6; g++)
+        {
+            final int group = 1 + (g + parse) % 6;
+            args.append(" --g").append(group).append("[");
+            for (final char variable : "abcd".toCharArray())
+                args.append(" --g").append(group).append(variable).append(" g").append(group).append(variable);
+            args.append("]");
+        }
+        return args.toString();
+    }
+
+    static private CmdLine templateOf(final ICmdLine cmdLine, final String command)
+    {
+        return (CmdLine) ((CmdLineCLA) cmdLine.arg(command)).templateCmdLine;
+    }
+
+    /**
+     * <p>
+     * concurrentFirstUseOfGroups.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void concurrentFirstUseOfGroups() throws Exception
+    {
+        final ExecutorService pool = Executors.newFixedThreadPool(16);
+        try
+        {
+            for (int round = 0; round < 20; round++)
+            {
+                final CompiledCmdLine definition = CompiledCmdLine.compile(new CmdLine(), Race.class);
+                final List<Future<Race>> results = new ArrayList<>();
+                for (int p = 0; p < 16; p++)
+                {
+                    final int parse = p;
+                    results.add(pool.submit(new Callable<Race>()
+                    {
+                        @Override
+                        public Race call() throws Exception
+                        {
+                            final Race race = new Race();
+                            definition.load(race, raceArgs(parse));
+                            return race;
+                        }
+                    }));
+                }
+                for (final Future<Race> result : results)
+                {
+                    final Race race = result.get();
+                    Assert.assertEquals("g1a", race.g1.g1a);
+                    Assert.assertEquals("g2b", race.g2.g2b);
+                    Assert.assertEquals("g3c", race.g3.g3c);
+                    Assert.assertEquals("g4d", race.g4.g4d);
+                    Assert.assertEquals("g5a", race.g5.g5a);
+                    Assert.assertEquals("g6d", race.g6.g6d);
+                }
+            }
+        } finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * <p>
+     * onlyUsedGroupsAreCompiled.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void onlyUsedGroupsAreCompiled() throws Exception
+    {
+        final Options options = new Options();
+        final ICmdLine cmdLine = new CmdLine().setParseContext(ParseContext.forClass(Options.class));
+        cmdLine.parse(options, "-u[-k a]");
+
+        Assert.assertEquals("a", options.used.key);
+        Assert.assertNull(templateOf(cmdLine, "-u").deferredCompile);
+        Assert.assertNotNull(templateOf(cmdLine, "-x").deferredCompile);
+        Assert.assertTrue(templateOf(cmdLine, "-x").isCompiled());
+    }
+
+    /**
+     * <p>
+     * readingTheArgsCompilesTheGroup.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void readingTheArgsCompilesTheGroup() throws Exception
+    {
+        final ICmdLine cmdLine = CompiledCmdLine.compile(Options.class).newParser();
+        final CmdLine template = templateOf(cmdLine, "-x");
+
+        Assert.assertEquals(1, template.allArgs().size());
+        /*
+         * Compiled once, into a copy that every parser shares.
+         */
+        Assert.assertSame(template.allArgs().get(0), template.allArgs().get(0));
+        Assert.assertSame(template, templateOf(CompiledCmdLine.compile(Options.class).newParser(), "-x"));
+    }
+
+    /**
+     * <p>
+     * recursiveGroups.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void recursiveGroups() throws Exception
+    {
+        final Node root = new Node();
+        CmdLine.load(root, "-n root -c[-n a -c[-n b]][-n c]");
+
+        Assert.assertEquals("root", root.name);
+        Assert.assertEquals(2, root.children.length);
+        Assert.assertEquals("a", root.children[0].name);
+        Assert.assertEquals("b", root.children[0].children[0].name);
+        Assert.assertEquals("c", root.children[1].name);
+    }
+}
@@ -0,0 +1,157 @@
+package com.obdobion.argument;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.type.ICmdLineArg;
+import com.obdobion.argument.variables.FieldBinder;
+
+/**
+ * <p>
+ * FieldBinderTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class FieldBinderTest
+{
+    static public class Base
+    {
+        @Arg(shortName = 'i')
+        int inherited;
+    }
+
+    public enum Color
+    {
+        RED,
+        GREEN
+    }
+
+    static public class Options extends Base
+    {
+        @Arg(shortName = 'a')
+        String        name;
+
+        @Arg(shortName = 'b')
+        int[]         ints;
+
+        @Arg(shortName = 'c')
+        Color         color;
+
+        @Arg(shortName = 'd')
+        List<Integer> numbers;
+
+        @Arg(shortName = 'e')
+        final long    fixed = 0;
+    }
+
+    static private ICmdLineArg<?> arg(final ICmdLine cmdLine, final String variableName) throws Exception
+    {
+        return cmdLine.argForVariableName(variableName);
+    }
+
+    /**
+     * <p>
+     * bindersAreFoundOnce.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void bindersAreFoundOnce() throws Exception
+    {
+        final ICmdLine cmdLine = CmdLine.load(new CmdLine(), new Options(), "-a x");
+        final FieldBinder first = FieldBinder.forVariable(arg(cmdLine, "name"), Options.class, "");
+        Assert.assertSame(first, FieldBinder.forVariable(arg(cmdLine, "name"), Options.class, ""));
+        Assert.assertEquals(FieldBinder.Shape.SCALAR, first.getShape());
+        Assert.assertEquals(FieldBinder.Shape.INT_ARRAY,
+                FieldBinder.forVariable(arg(cmdLine, "ints"), Options.class, "").getShape());
+        Assert.assertEquals(FieldBinder.Shape.ENUM,
+                FieldBinder.forVariable(arg(cmdLine, "color"), Options.class, "").getShape());
+        Assert.assertEquals(FieldBinder.Shape.LIST,
+                FieldBinder.forVariable(arg(cmdLine, "numbers"), Options.class, "").getShape());
+        Assert.assertEquals(Base.class,
+                FieldBinder.forVariable(arg(cmdLine, "inherited"), Options.class, "").getField().getDeclaringClass());
+    }
+
+    /**
+     * <p>
+     * everyShapeIsAssigned.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void everyShapeIsAssigned() throws Exception
+    {
+        final Options options = new Options();
+        CmdLine.load(new CmdLine(), options, "-a x -b 1 2 -c green -d 3 4 -i 5 -e 6");
+        Assert.assertEquals("x", options.name);
+        Assert.assertArrayEquals(new int[] { 1, 2 }, options.ints);
+        Assert.assertEquals(Color.GREEN, options.color);
+        Assert.assertEquals(2, options.numbers.size());
+        Assert.assertEquals(4, options.numbers.get(1).intValue());
+        Assert.assertEquals(5, options.inherited);
+        Assert.assertEquals(6L, Options.class.getDeclaredField("fixed").getLong(options));
+    }
+
+    /**
+     * <p>
+     * valuesThatNeedConversionAreStillSet.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void valuesThatNeedConversionAreStillSet() throws Exception
+    {
+        final ICmdLine cmdLine = CmdLine.load(new CmdLine(), new Options(), "-a x");
+        final FieldBinder binder = FieldBinder.forVariable(arg(cmdLine, "inherited"), Options.class, "");
+        final Options options = new Options();
+
+        binder.set(options, Short.valueOf((short) 7));
+        Assert.assertEquals(7, options.inherited);
+        Assert.assertEquals(7, binder.get(options));
+        try
+        {
+            binder.set(options, "seven");
+            Assert.fail("expected exception");
+        } catch (final IllegalArgumentException e)
+        {
+            Assert.assertEquals(7, options.inherited);
+        }
+    }
+
+    /**
+     * <p>
+     * wrongTypeForAnObjectFieldIsAnIllegalArgument.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void wrongTypeForAnObjectFieldIsAnIllegalArgument() throws Exception
+    {
+        final ICmdLine cmdLine = CmdLine.load(new CmdLine(), new Options(), "-a x");
+        final FieldBinder binder = FieldBinder.forVariable(arg(cmdLine, "name"), Options.class, "");
+        final Options options = new Options();
+
+        binder.set(options, "x");
+        try
+        {
+            binder.set(options, Integer.valueOf(7));
+            Assert.fail("expected exception");
+        } catch (final IllegalArgumentException e)
+        {
+            Assert.assertEquals("x", options.name);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.obdobion.argument;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.annotation.GeneratedArgs;
+import com.obdobion.argument.annotation.IGeneratedArgs;
+import com.obdobion.argument.type.CLAFactory;
+import com.obdobion.argument.type.ClaType;
+import com.obdobion.argument.type.ICmdLineArg;
+
+/**
+ * <p>
+ * GeneratedArgsTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class GeneratedArgsTest
+{
+    static public class Options
+    {
+        @Arg(shortName = 'v')
+        boolean  verbose;
+
+        @Arg(shortName = 'n', multimin = 2)
+        String[] names;
+
+        @Arg(shortName = 'c')
+        int      count;
+    }
+
+    /**
+     * Written the way the argument-processor would generate it, except that
+     * count is left to reflection.
+     */
+    static public class Options$$Args implements IGeneratedArgs
+    {
+        static final AtomicInteger assigned = new AtomicInteger();
+        static final AtomicInteger defined  = new AtomicInteger();
+
+        @Override
+        public boolean assign(final ICmdLineArg<?> arg, final Object target) throws ParseException
+        {
+            final Options t = (Options) target;
+            switch (arg.getVariable())
+            {
+                case "verbose":
+                    t.verbose = (Boolean) arg.getDelegateOrValue();
+                    break;
+                case "names":
+                    t.names = arg.getValueAsStringArray();
+                    break;
+                default:
+                    return false;
+            }
+            assigned.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public void define(final ICmdLine cmdLine, final CLAFactory factory) throws ParseException, IOException
+        {
+            defined.incrementAndGet();
+
+            factory.resetInstanceVariables();
+            factory.type = ClaType.BOOLEAN;
+            factory.variable = "verbose";
+            factory.required = false;
+            factory.camelCaps = false;
+            factory.metaphone = false;
+            factory.positional = false;
+            factory.caseSensitive = false;
+            cmdLine.add(factory.instanceFor(cmdLine.getCommandPrefix(), 'v', "verbose"));
+
+            factory.resetInstanceVariables();
+            factory.type = ClaType.STRING;
+            factory.multiple = new Integer[] { 2, Integer.MAX_VALUE };
+            factory.variable = "names";
+            factory.required = false;
+            factory.camelCaps = false;
+            factory.metaphone = false;
+            factory.positional = false;
+            factory.caseSensitive = false;
+            factory.instanceClass = "java.lang.String";
+            cmdLine.add(factory.instanceFor(cmdLine.getCommandPrefix(), 'n', "names"));
+
+            factory.resetInstanceVariables();
+            factory.type = ClaType.INTEGER;
+            factory.variable = "count";
+            factory.required = false;
+            factory.camelCaps = false;
+            factory.metaphone = false;
+            factory.positional = false;
+            factory.caseSensitive = false;
+            cmdLine.add(factory.instanceFor(cmdLine.getCommandPrefix(), 'c', "count"));
+        }
+    }
+
+    static public class ReflectedOptions
+    {
+        @Arg(shortName = 'v')
+        boolean  verbose;
+
+        @Arg(shortName = 'n', multimin = 2)
+        String[] names;
+
+        @Arg(shortName = 'c')
+        int      count;
+    }
+
+    /**
+     * <p>
+     * classesWithoutGeneratedArgsUseReflection.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void classesWithoutGeneratedArgsUseReflection() throws Exception
+    {
+        Assert.assertNull(GeneratedArgs.forClass(ReflectedOptions.class));
+
+        final ReflectedOptions options = new ReflectedOptions();
+        CmdLine.load(new CmdLine(), options, "-v -n a b -c 3");
+        Assert.assertTrue(options.verbose);
+        Assert.assertArrayEquals(new String[] { "a", "b" }, options.names);
+        Assert.assertEquals(3, options.count);
+    }
+
+    /**
+     * <p>
+     * generatedArgsAreUsed.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void generatedArgsAreUsed() throws Exception
+    {
+        Assert.assertTrue(GeneratedArgs.forClass(Options.class) instanceof Options$$Args);
+        CompiledCmdLineRegistry.forget(Options.class);
+        final int defined = Options$$Args.defined.get();
+        final int assigned = Options$$Args.assigned.get();
+
+        final Options options = new Options();
+        CmdLine.load(new CmdLine(), options, "-v -n a b -c 3");
+        Assert.assertTrue(options.verbose);
+        Assert.assertArrayEquals(new String[] { "a", "b" }, options.names);
+        Assert.assertEquals(3, options.count);
+
+        Assert.assertEquals(defined + 1, Options$$Args.defined.get());
+        Assert.assertEquals(assigned + 2, Options$$Args.assigned.get());
+    }
+
+    /**
+     * <p>
+     * generatedArgsMatchTheAnnotations.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void generatedArgsMatchTheAnnotations() throws Exception
+    {
+        final StringBuilder generated = new StringBuilder();
+        CmdLine.load(new CmdLine(), new Options(), "-v -n a b -c 3").exportCommandLine(generated);
+        final StringBuilder reflected = new StringBuilder();
+        CmdLine.load(new CmdLine(), new ReflectedOptions(), "-v -n a b -c 3").exportCommandLine(reflected);
+        Assert.assertEquals(reflected.toString(), generated.toString());
+
+        try
+        {
+            CmdLine.load(new CmdLine(), new Options(), "-n a");
+            Assert.fail("expected exception");
+        } catch (final ParseException e)
+        {
+            Assert.assertEquals("insufficient required values for --names(-n)", e.getMessage());
+        }
+    }
+}
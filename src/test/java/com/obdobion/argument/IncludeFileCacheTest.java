@@ -0,0 +1,168 @@
+package com.obdobion.argument;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.input.IncludeFileCache;
+
+/**
+ * <p>
+ * IncludeFileCacheTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class IncludeFileCacheTest
+{
+    static public class Options
+    {
+        @Arg(shortName = 'a')
+        boolean  boola;
+
+        @Arg(shortName = 'n')
+        String[] names;
+    }
+
+    static private Options load(final IncludeFileCache cache, final String args) throws Exception
+    {
+        final Options options = new Options();
+        final CmdLine cmdLine = new CmdLine().setIncludeFileCache(cache);
+        cmdLine.addDefaultIncludeDirectory(IncludeTest.workDir);
+        CmdLine.load(cmdLine, options, args);
+        return options;
+    }
+
+    static private void rewrite(final File file, final String contents) throws IOException
+    {
+        try (Writer out = new FileWriter(file))
+        {
+            out.write(contents);
+        }
+    }
+
+    /**
+     * <p>
+     * changedFileIsReadAgain.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void changedFileIsReadAgain() throws Exception
+    {
+        final IncludeFileCache cache = new IncludeFileCache(10, 1000);
+        final File spec = IncludeTest.createSpecFile("-n one");
+        try
+        {
+            Assert.assertArrayEquals(new String[] { "one" }, load(cache, "@" + spec.getName()).names);
+            rewrite(spec, "-n one two");
+            Assert.assertArrayEquals(new String[] { "one", "two" }, load(cache, "@" + spec.getName()).names);
+            Assert.assertEquals(0, cache.getHits());
+            Assert.assertEquals(2, cache.getMisses());
+        } finally
+        {
+            Assert.assertTrue(spec.delete());
+        }
+    }
+
+    /**
+     * <p>
+     * leastRecentlyUsedFileIsDropped.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void leastRecentlyUsedFileIsDropped() throws Exception
+    {
+        final IncludeFileCache cache = new IncludeFileCache(2, 1000);
+        final File spec1 = IncludeTest.createSpecFile("-n one");
+        final File spec2 = IncludeTest.createSpecFile("-n two");
+        final File spec3 = IncludeTest.createSpecFile("-n three");
+        try
+        {
+            cache.tokens(spec1.getPath(), new ArrayList<File>(), '-');
+            cache.tokens(spec2.getPath(), new ArrayList<File>(), '-');
+            cache.tokens(spec1.getPath(), new ArrayList<File>(), '-');
+            cache.tokens(spec3.getPath(), new ArrayList<File>(), '-');
+            Assert.assertEquals(2, cache.size());
+            Assert.assertEquals(1, cache.getHits());
+
+            cache.tokens(spec1.getPath(), new ArrayList<File>(), '-');
+            Assert.assertEquals(2, cache.getHits());
+            cache.tokens(spec2.getPath(), new ArrayList<File>(), '-');
+            Assert.assertEquals(2, cache.getHits());
+            Assert.assertEquals(4, cache.getMisses());
+        } finally
+        {
+            Assert.assertTrue(spec1.delete());
+            Assert.assertTrue(spec2.delete());
+            Assert.assertTrue(spec3.delete());
+        }
+    }
+
+    /**
+     * <p>
+     * repeatedIncludesAreReadOnce.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void repeatedIncludesAreReadOnce() throws Exception
+    {
+        final IncludeFileCache cache = new IncludeFileCache(10, 1000);
+        final File spec = IncludeTest.createSpecFile("# defaults\n-a -n one two");
+        try
+        {
+            for (int parse = 0; parse < 3; parse++)
+            {
+                final Options options = load(cache, "@" + spec.getName());
+                Assert.assertTrue(options.boola);
+                Assert.assertArrayEquals(new String[] { "one", "two" }, options.names);
+            }
+            Assert.assertEquals(2, cache.getHits());
+            Assert.assertEquals(1, cache.getMisses());
+            Assert.assertEquals(1, cache.size());
+        } finally
+        {
+            Assert.assertTrue(spec.delete());
+        }
+    }
+
+    /**
+     * <p>
+     * tooManyTokensAreNotKept.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void tooManyTokensAreNotKept() throws Exception
+    {
+        final IncludeFileCache cache = new IncludeFileCache(10, 3);
+        final File spec = IncludeTest.createSpecFile("-n one two three four");
+        try
+        {
+            Assert.assertEquals(4, load(cache, "@" + spec.getName()).names.length);
+            Assert.assertEquals(0, cache.size());
+            Assert.assertEquals(4, load(cache, "@" + spec.getName()).names.length);
+            Assert.assertEquals(2, cache.getMisses());
+        } finally
+        {
+            Assert.assertTrue(spec.delete());
+        }
+    }
+}
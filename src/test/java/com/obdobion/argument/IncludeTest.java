@@ -4,6 +4,7 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -20,6 +21,24 @@ import com.obdobion.argument.annotation.Arg;
  */
 public class IncludeTest
 {
+    static public class Entry
+    {
+        @Arg(shortName = 'k')
+        String key;
+    }
+
+    static public class LargeOptions
+    {
+        @Arg(shortName = 'n')
+        List<String> names;
+
+        @Arg(shortName = 'e')
+        Entry[]      entries;
+
+        @Arg(shortName = 'a')
+        boolean      boola;
+    }
+
     static final File workDir = new File(System.getProperty("java.io.tmpdir"));
 
     /**
@@ -168,4 +187,69 @@ public class IncludeTest
             Assert.assertTrue(spec.delete());
         }
     }
+
+    /**
+     * <p>
+     * largeIncludeFileIsParsedAsItIsRead.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void largeIncludeFileIsParsedAsItIsRead() throws Exception
+    {
+        final StringBuilder specs = new StringBuilder();
+        for (int n = 0; n < 3000; n++)
+        {
+            specs.append("-n v").append(n).append("\n");
+            if (n % 1000 == 500)
+                specs.append("-e[-k k").append(n).append("\n]\n");
+        }
+        specs.append("-a");
+        final File spec = createSpecFile(specs.toString());
+        try
+        {
+            final LargeOptions options = new LargeOptions();
+            CmdLine.load(options, "@'" + spec.getAbsolutePath().replaceAll("\\\\", "\\\\\\\\") + "'");
+            Assert.assertEquals(3000, options.names.size());
+            for (int n = 0; n < 3000; n++)
+                Assert.assertEquals("v" + n, options.names.get(n));
+            Assert.assertEquals(3, options.entries.length);
+            Assert.assertEquals("k2500", options.entries[2].key);
+            Assert.assertTrue(options.boola);
+        } finally
+        {
+            Assert.assertTrue(spec.delete());
+        }
+    }
+
+    /**
+     * <p>
+     * valuesCanFollowALaterArgInALargeIncludeFile.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void valuesCanFollowALaterArgInALargeIncludeFile() throws Exception
+    {
+        final StringBuilder specs = new StringBuilder("-n");
+        for (int n = 0; n < 1100; n++)
+            specs.append(" v").append(n);
+        specs.append(" -a w1 w2");
+        final File spec = createSpecFile(specs.toString());
+        try
+        {
+            final LargeOptions options = new LargeOptions();
+            CmdLine.load(options, "@'" + spec.getAbsolutePath().replaceAll("\\\\", "\\\\\\\\") + "'");
+            Assert.assertEquals(1102, options.names.size());
+            Assert.assertEquals("w2", options.names.get(1101));
+            Assert.assertTrue(options.boola);
+        } finally
+        {
+            Assert.assertTrue(spec.delete());
+        }
+    }
 }
@@ -1,11 +1,14 @@
 package com.obdobion.argument;
 
+import java.lang.reflect.Field;
 import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.type.ICmdLineArg;
+import com.obdobion.argument.variables.Instantiator;
 
 /**
  * <p>
@@ -29,6 +32,18 @@ public class InstantiatorTest
         }
     }
 
+    /**
+     * A factory method that does not exist is reported when the class is
+     * compiled.
+     */
+    static public class BadMethod
+    {
+        @Arg(shortName = 'm',
+                factoryMethod = "fXnd",
+                factoryArgName = Arg.SELF_REFERENCING_ARGNAME)
+        public Finder finder;
+    }
+
     static public class BlueColor extends AbstractColor
     {}
 
@@ -95,9 +110,6 @@ public class InstantiatorTest
     @Arg(factoryMethod = "create", factoryArgName = Arg.SELF_REFERENCING_ARGNAME, inList = { "red", "blue" })
     public AbstractColor color;
 
-    @Arg(shortName = 'm',
-            factoryMethod = "fXnd",
-            factoryArgName = Arg.SELF_REFERENCING_ARGNAME)
     @Arg(shortName = 'p',
             longName = "finderP",
             caseSensitive = true,
@@ -183,7 +195,7 @@ public class InstantiatorTest
     {
         try
         {
-            CmdLine.load(this, "-m WHAT");
+            CmdLine.load(new BadMethod(), "");
             Assert.fail("expected exception");
         } catch (final Exception e)
         {
@@ -246,6 +258,28 @@ public class InstantiatorTest
         Assert.assertEquals("finder value", "CLUBS", suits.get(1).value);
     }
 
+    /**
+     * <p>
+     * factoryMethodIsResolvedOnce.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void factoryMethodIsResolvedOnce() throws Exception
+    {
+        final ICmdLine cmdLine = CmdLine.load(this, "-p WHAT");
+        final ICmdLineArg<?> arg = cmdLine.argForVariableName("finder");
+        final Field field = InstantiatorTest.class.getField("finder");
+
+        Assert.assertEquals(String.class, Instantiator.valueClassOf(arg));
+        final Instantiator instantiator = Instantiator.forValues(arg, field, String.class);
+        Assert.assertSame(instantiator, Instantiator.forValues(arg, field, String.class));
+        Assert.assertTrue(instantiator.newInstance("when") instanceof WhenFinder);
+        Assert.assertTrue(finder instanceof WhatFinder);
+    }
+
     /**
      * <p>
      * integerListByDefault.
@@ -0,0 +1,201 @@
+package com.obdobion.argument;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.input.KeywordIndex;
+import com.obdobion.argument.input.Token;
+import com.obdobion.argument.type.BooleanCLA;
+import com.obdobion.argument.type.ICmdLineArg;
+import com.obdobion.argument.type.StringCLA;
+
+/**
+ * <p>
+ * KeywordIndexTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class KeywordIndexTest
+{
+    static private List<ICmdLineArg<?>> sampleArgs()
+    {
+        final List<ICmdLineArg<?>> args = new ArrayList<>();
+        args.add(new StringCLA().setKeychar('a').setKeyword("archive"));
+        args.add(new StringCLA().setKeychar('b').setKeyword("archiveAll"));
+        args.add(new StringCLA().setKeyword("allowAlternateNaming")
+                .setCamelCapsAllowed(true)
+                .setMetaphoneAllowed(true));
+        args.add(new BooleanCLA().setKeychar('c').setKeyword("Item"));
+        args.add(new BooleanCLA().setKeychar('c').setKeyword("Items"));
+        args.add(new StringCLA().setKeyword("verbose"));
+        args.add(new StringCLA().setKeychar('x'));
+        return args;
+    }
+
+    static private void assertSameAsLinearScan(final List<ICmdLineArg<?>> args, final String tokenValue)
+    {
+        final KeywordIndex index = new KeywordIndex(args);
+
+        final List<ICmdLineArg<?>> expected = new ArrayList<>();
+        final int expectedSalience = CmdLine.matchingArgs(expected, args, new Token('-', tokenValue), true);
+
+        final List<ICmdLineArg<?>> actual = new ArrayList<>();
+        final int actualSalience = index.matchingArgs(actual, new Token('-', tokenValue), true);
+
+        Assert.assertEquals(tokenValue, expectedSalience, actualSalience);
+        Assert.assertEquals(tokenValue, expected, actual);
+    }
+
+    /**
+     * <p>
+     * ambiguityIsReportedInDefinitionOrder.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void ambiguityIsReportedInDefinitionOrder() throws Exception
+    {
+        final List<ICmdLineArg<?>> args = sampleArgs();
+        final List<ICmdLineArg<?>> best = new ArrayList<>();
+        new KeywordIndex(args).matchingArgs(best, new Token('-', "--ARC"), true);
+        Assert.assertEquals(2, best.size());
+        Assert.assertSame(args.get(0), best.get(0));
+        Assert.assertSame(args.get(1), best.get(1));
+    }
+
+    /**
+     * <p>
+     * argsChangedThroughTheListAreReindexed.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void argsChangedThroughTheListAreReindexed() throws Exception
+    {
+        final CmdLine cmd = new CmdLine();
+        final ICmdLineArg<?> alpha = new StringCLA().setKeychar('a').setKeyword("alpha");
+        final ICmdLineArg<?> beta = new StringCLA().setKeychar('b').setKeyword("beta");
+        cmd.add(alpha);
+        cmd.add(beta);
+        Assert.assertSame(alpha, cmd.arg("--alpha"));
+
+        final ICmdLineArg<?> gamma = new StringCLA().setKeychar('g').setKeyword("gamma");
+        final int alphaAt = cmd.allArgs().indexOf(alpha);
+        cmd.allArgs().set(alphaAt, gamma);
+        Assert.assertSame(gamma, cmd.arg("--gamma"));
+        Assert.assertNull(cmd.arg("--alpha"));
+        Assert.assertSame(beta, cmd.arg("-b"));
+
+        final ICmdLineArg<?> delta = new StringCLA().setKeychar('d').setKeyword("delta");
+        cmd.allArgs().remove(beta);
+        cmd.allArgs().add(delta);
+        Assert.assertSame(delta, cmd.arg("--delta"));
+        Assert.assertNull(cmd.arg("--beta"));
+        Assert.assertSame(gamma, cmd.arg("-g"));
+    }
+
+    /**
+     * <p>
+     * exactKeywordWinsOverLongerKeywords.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void exactKeywordWinsOverLongerKeywords() throws Exception
+    {
+        final List<ICmdLineArg<?>> args = sampleArgs();
+        final List<ICmdLineArg<?>> best = new ArrayList<>();
+        new KeywordIndex(args).matchingArgs(best, new Token('-', "--item"), true);
+        Assert.assertEquals(1, best.size());
+        Assert.assertSame(args.get(3), best.get(0));
+    }
+
+    /**
+     * <p>
+     * matchesLinearScan.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void matchesLinearScan() throws Exception
+    {
+        final List<ICmdLineArg<?>> args = sampleArgs();
+        for (final String tokenValue : new String[] {
+                "-a", "-c", "-x", "-z", "-ax",
+                "--a", "--arc", "--ARCHIVE", "--archiveA", "--archiveall", "--archiveAllx",
+                "--AAN", "--aan", "--alowAlturnateNames", "--all", "--it", "--ITEMS",
+                "--v", "--verbosely", "--q", "plain" })
+            assertSameAsLinearScan(args, tokenValue);
+    }
+
+    /**
+     * <p>
+     * metaphoneAndCamelCapsMatchLinearScan.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void metaphoneAndCamelCapsMatchLinearScan() throws Exception
+    {
+        final List<ICmdLineArg<?>> args = new ArrayList<>();
+        args.add(new StringCLA().setKeyword("inputFileName").setMetaphoneAllowed(true).setCamelCapsAllowed(true));
+        args.add(new StringCLA().setKeyword("inputFileNames").setMetaphoneAllowed(true));
+        args.add(new StringCLA().setKeyword("outputFileName").setCamelCapsAllowed(true));
+        args.add(new StringCLA().setKeyword("IFN"));
+        for (final String tokenValue : new String[] {
+                "--inptFilNam", "--inputfylename", "--IFN", "--ifn", "--OFN", "--ofn",
+                "--inputFileNameX", "--noMatch", "--i" })
+            assertSameAsLinearScan(args, tokenValue);
+    }
+
+    /**
+     * <p>
+     * tokenEncodesItsWordOnce.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void tokenEncodesItsWordOnce() throws Exception
+    {
+        final Token token = new Token('-', "--alowAlturnateNames");
+        Assert.assertSame(token.getMetaphone(), token.getMetaphone());
+        Assert.assertSame(token.getFoldedWordCommand(), token.getFoldedWordCommand());
+        Assert.assertEquals("alowalturnatenames", token.getFoldedWordCommand());
+        Assert.assertNull(new Token('-', "-a").getMetaphone());
+    }
+
+    /**
+     * <p>
+     * usedTokensMatchNothing.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void usedTokensMatchNothing() throws Exception
+    {
+        final Token token = new Token('-', "--verbose");
+        token.setUsed(true);
+        final List<ICmdLineArg<?>> best = new ArrayList<>();
+        Assert.assertEquals(-1, new KeywordIndex(sampleArgs()).matchingArgs(best, token, true));
+        Assert.assertTrue(best.isEmpty());
+    }
+}
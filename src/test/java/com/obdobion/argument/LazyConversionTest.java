@@ -0,0 +1,160 @@
+package com.obdobion.argument;
+
+import java.text.ParseException;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.algebrain.Equ;
+import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.type.ICmdLineArg;
+
+/**
+ * <p>
+ * LazyConversionTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class LazyConversionTest
+{
+    static public class Lazy
+    {
+        @Arg(shortName = 'p', lazy = true)
+        Pattern pattern;
+
+        @Arg(shortName = 'i', lazy = true, range = { "1", "10" })
+        int     number;
+
+        @Arg(shortName = 'e', lazy = true)
+        Equ[]   equs;
+    }
+
+    /**
+     * <p>
+     * assignmentConvertsTheValues.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void assignmentConvertsTheValues() throws Exception
+    {
+        final Lazy lazy = new Lazy();
+        CmdLine.load(lazy, "-p 'a.c' -i 5 -e 'a+1' 'b+2'");
+        Assert.assertTrue(lazy.pattern.matcher("abc").matches());
+        Assert.assertEquals(5, lazy.number);
+        Assert.assertEquals(2, lazy.equs.length);
+    }
+
+    /**
+     * <p>
+     * assignmentReportsInvalidValue.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void assignmentReportsInvalidValue() throws Exception
+    {
+        try
+        {
+            CmdLine.load(new Lazy(), "-i 20");
+            Assert.fail("expected ParseException");
+        } catch (final ParseException e)
+        {
+            Assert.assertEquals("20 is not valid for --number(-i)", e.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * parseDoesNotConvert.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void parseDoesNotConvert() throws Exception
+    {
+        final ICmdLine cl = CompiledCmdLine.compile(Lazy.class).newParser();
+        cl.parse("-p '[+' -i 5");
+
+        Assert.assertTrue(cl.arg("-p").isParsed());
+        Assert.assertEquals(1, cl.arg("-p").size());
+        Assert.assertEquals(5, cl.arg("-i").getValue());
+    }
+
+    /**
+     * <p>
+     * readReportsInvalidValue.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void readReportsInvalidValue() throws Exception
+    {
+        final ICmdLine cl = CompiledCmdLine.compile(Lazy.class).newParser();
+        cl.parse("-i 20");
+        try
+        {
+            cl.arg("-i").getValue();
+            Assert.fail("expected IllegalArgumentException");
+        } catch (final IllegalArgumentException e)
+        {
+            Assert.assertEquals("20 is not valid for --number(-i)", e.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * validateReportsInvalidValue.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void validateReportsInvalidValue() throws Exception
+    {
+        final ICmdLine cl = CompiledCmdLine.compile(Lazy.class).newParser();
+        cl.parse("-i 20");
+        try
+        {
+            cl.validate();
+            Assert.fail("expected ParseException");
+        } catch (final ParseException e)
+        {
+            Assert.assertEquals("20 is not valid for --number(-i)", e.getMessage());
+        }
+        Assert.assertTrue(cl.arg("-i").isParsed());
+    }
+
+    /**
+     * <p>
+     * valueIsConvertedOnce.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void valueIsConvertedOnce() throws Exception
+    {
+        final ICmdLine cl = CompiledCmdLine.compile(Lazy.class).newParser();
+        cl.parse("-e 'a+1' 'b+2'");
+
+        final ICmdLineArg<?> arg = cl.arg("-e");
+        Assert.assertEquals(2, arg.size());
+        final Object first = arg.getValue(0);
+        Assert.assertSame(first, arg.getValue(0));
+        Assert.assertEquals(2, arg.size());
+    }
+}
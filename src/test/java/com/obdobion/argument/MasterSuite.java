@@ -46,32 +46,46 @@ import com.obdobion.argument.help.test1.HelpTest;
         ExportImportTest.class,
 
         AbbreviationTest.class,
+        ArgsProcessorTest.class,
+        BatchParserTest.class,
         BooleanTest.class,
         BracketTest.class,
         ByteCLATest.class,
         CaseSensitiveTest.class,
+        CloneDefinitionTest.class,
         CmdLineTest.class,
+        CommandLineTokenizerTest.class,
+        CompiledCmdLineRegistryTest.class,
+        CompiledCmdLineTest.class,
         CriteriaTest.class,
         DashingTest.class,
+        DeferredCompileTest.class,
         DirectiveTest.class,
         CalendarTest.class,
         EnumTest.class,
         EquTest.class,
         ExceptionTest.class,
+        FieldBinderTest.class,
+        GeneratedArgsTest.class,
+        IncludeFileCacheTest.class,
         IncludeTest.class,
         InstantiatorTest.class,
+        KeywordIndexTest.class,
+        LazyConversionTest.class,
         ListTest.class,
         LocalDateTimeTest.class,
         LocalDateTest.class,
         LocalTimeTest.class,
         MultipleTest.class,
         NumbersTest.class,
+        ParseContextTest.class,
         PositionalTest.class,
         QuotedLiteralsTest.class,
         RangeTest.class,
         RegexTest.class,
         RepeatParmTest.class,
         RequiredTest.class,
+        TokenIndexTest.class,
         VariableTest.class,
         WildFileTest.class,
         WildPathTest.class,
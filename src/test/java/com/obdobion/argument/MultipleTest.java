@@ -1,6 +1,7 @@
 package com.obdobion.argument;
 
 import java.text.ParseException;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -24,13 +25,44 @@ public class MultipleTest
     }
 
     @Arg(multimin = 3)
-    String[]      stringArray;
+    String[]          stringArray;
 
     @Arg(multimin = 3)
-    StringGroup[] stringGroupMulti;
+    StringGroup[]     stringGroupMulti;
 
     @Arg
-    StringGroup   stringGroup;
+    StringGroup       stringGroup;
+
+    @Arg
+    StringGroup[]     stringGroupArray;
+
+    @Arg
+    List<StringGroup> stringGroupList;
+
+    /**
+     * <p>
+     * groupOccurrencesAreAddedTogether.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void groupOccurrencesAreAddedTogether() throws Exception
+    {
+        final StringGroup existing = new StringGroup();
+        stringGroupArray = new StringGroup[] { existing };
+        CmdLine.load(this, "--stringGroupArray(-i ONE)(-i TWO)(-i THREE)"
+                + " --stringGroupList(-i A)(-i B)");
+
+        Assert.assertEquals(4, stringGroupArray.length);
+        Assert.assertSame(existing, stringGroupArray[0]);
+        Assert.assertEquals("one", stringGroupArray[1].stringArray);
+        Assert.assertEquals("three", stringGroupArray[3].stringArray);
+        Assert.assertEquals(2, stringGroupList.size());
+        Assert.assertEquals("a", stringGroupList.get(0).stringArray);
+        Assert.assertEquals("b", stringGroupList.get(1).stringArray);
+    }
 
     /**
      * <p>
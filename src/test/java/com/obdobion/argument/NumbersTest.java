@@ -1,9 +1,13 @@
 package com.obdobion.argument;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.type.AbstractCLA;
 
 /**
  * <p>
@@ -27,6 +31,35 @@ public class NumbersTest
     @Arg(shortName = 'c', longName = "bee-name")
     int beeName;
 
+    @Arg
+    int[] ids;
+
+    @Arg
+    double[] weights;
+
+    /**
+     * <p>
+     * manyIntegersAreKeptAsInts.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void manyIntegersAreKeptAsInts() throws Exception
+    {
+        final StringBuilder args = new StringBuilder("--ids");
+        for (int i = 0; i < 1000; i++)
+            args.append(" ").append(i);
+        args.append(" --weights 1.5 -2.25");
+        CmdLine.load(this, args.toString());
+
+        Assert.assertEquals(1000, ids.length);
+        for (int i = 0; i < 1000; i++)
+            Assert.assertEquals(i, ids[i]);
+        Assert.assertArrayEquals(new double[] { 1.5, -2.25 }, weights, 0);
+    }
+
     /**
      * <p>
      * negativeIntegers.
@@ -150,4 +183,29 @@ public class NumbersTest
         Assert.assertEquals(2, beeName);
     }
 
+    /**
+     * <p>
+     * primitiveValuesAreAList.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void primitiveValuesAreAList() throws Exception
+    {
+        final ICmdLine cmdLine = CmdLine.load(this, "--ids 1 2 3");
+        @SuppressWarnings("unchecked")
+        final List<Integer> values = ((AbstractCLA<Integer>) cmdLine.argForVariableName("ids")).getValues();
+        Assert.assertEquals(Arrays.asList(1, 2, 3), values);
+
+        values.add(0, 0);
+        values.remove(2);
+        values.set(1, null);
+        values.add(4);
+        Assert.assertEquals(Arrays.asList(0, null, 3, 4), values);
+        values.remove(1);
+        Assert.assertEquals(Arrays.asList(0, 3, 4), values);
+        Assert.assertArrayEquals(new int[] { 0, 3, 4 }, cmdLine.argForVariableName("ids").getValueAsintArray());
+    }
 }
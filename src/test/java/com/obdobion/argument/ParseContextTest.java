@@ -0,0 +1,126 @@
+package com.obdobion.argument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+
+/**
+ * <p>
+ * ParseContextTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class ParseContextTest
+{
+    static public class Impl
+    {
+        final ClassLoader loader = ParseContext.current().getClassLoader();
+
+        @Arg(shortName = 'k')
+        String            key;
+    }
+
+    static public class Target
+    {
+        @Arg(shortName = 'g', instanceClass = "com.obdobion.argument.ParseContextTest$Impl")
+        Object group;
+    }
+
+    static private class Tenant extends ClassLoader
+    {
+        Tenant()
+        {
+            super(ParseContextTest.class.getClassLoader());
+        }
+    }
+
+    static private ClassLoader loaderOf(final Target target)
+    {
+        return ((Impl) target.group).loader;
+    }
+
+    /**
+     * <p>
+     * concurrentParsesKeepTheirOwnContext.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void concurrentParsesKeepTheirOwnContext() throws Exception
+    {
+        final ClassLoader[] tenants = { new Tenant(), new Tenant() };
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try
+        {
+            final List<Future<Target>> results = new ArrayList<>();
+            for (int p = 0; p < 400; p++)
+            {
+                final ClassLoader tenant = tenants[p % 2];
+                results.add(pool.submit(new Callable<Target>()
+                {
+                    @Override
+                    public Target call() throws Exception
+                    {
+                        final Target target = new Target();
+                        new CmdLine().setParseContext(new ParseContext(tenant)).parse(target, "-g[-k a]");
+                        return target;
+                    }
+                }));
+            }
+            for (int p = 0; p < results.size(); p++)
+                Assert.assertSame(tenants[p % 2], loaderOf(results.get(p).get()));
+        } finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * <p>
+     * contextIsOnlyCurrentDuringTheParse.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void contextIsOnlyCurrentDuringTheParse() throws Exception
+    {
+        final ClassLoader tenant = new Tenant();
+        final Target target = new Target();
+        new CmdLine().setParseContext(new ParseContext(tenant)).parse(target, "-g[-k a]");
+
+        Assert.assertSame(tenant, loaderOf(target));
+        Assert.assertNotSame(tenant, ParseContext.current().getClassLoader());
+    }
+
+    /**
+     * <p>
+     * targetClassLoaderIsTheDefault.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void targetClassLoaderIsTheDefault() throws Exception
+    {
+        final Target target = new Target();
+        CmdLine.load(target, "-g[-k a]");
+
+        Assert.assertEquals("a", ((Impl) target.group).key);
+        Assert.assertSame(Target.class.getClassLoader(), loaderOf(target));
+    }
+}
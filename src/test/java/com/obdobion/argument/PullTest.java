@@ -1,5 +1,6 @@
 package com.obdobion.argument;
 
+import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -7,6 +8,12 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.type.CmdLineCLA;
+import com.obdobion.argument.type.ICmdLineArg;
+import com.obdobion.argument.type.IntegerCLA;
+import com.obdobion.argument.type.StringCLA;
+import com.obdobion.argument.variables.PullPlan;
+import com.obdobion.argument.variables.VariablePuller;
 
 /**
  * <p>
@@ -24,6 +31,12 @@ public class PullTest
         private String innerParmString;
     }
 
+    static final public class OuterParm
+    {
+        @Arg
+        private List<InnerParm> inner;
+    }
+
     @Arg
     private String          updatedStr;
     @Arg
@@ -40,6 +53,8 @@ public class PullTest
     private InnerParm[]     innerParmArray;
     @Arg
     private List<InnerParm> innerParmList;
+    @Arg
+    private List<OuterParm> outerParmList;
 
     /**
      * <p>
@@ -51,6 +66,94 @@ public class PullTest
     public PullTest()
     {}
 
+    /**
+     * <p>
+     * planOnlyFitsTheArgsItWasMadeFor.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void planOnlyFitsTheArgsItWasMadeFor() throws Exception
+    {
+        final List<ICmdLineArg<?>> args = new ArrayList<>();
+        args.add(new StringCLA().setKeyword("updatedStr").setVariable("updatedStr"));
+        args.add(new IntegerCLA().setKeyword("updatedInt").setVariable("updatedInt"));
+        final PullPlan plan = PullPlan.of(args, PullTest.class);
+
+        final List<ICmdLineArg<?>> copies = new ArrayList<>();
+        for (final ICmdLineArg<?> arg : args)
+            copies.add(arg.clone());
+        updatedStr = "pulled";
+        updatedInt = 5;
+        VariablePuller.getInstance().pull(copies, plan, this);
+        Assert.assertEquals("pulled", copies.get(0).getValue());
+        Assert.assertEquals(5, copies.get(1).getValue());
+
+        final List<ICmdLineArg<?>> replaced = new ArrayList<>(copies);
+        replaced.set(1, new IntegerCLA().setKeyword("updatedInt").setVariable("updatedInt"));
+        Assert.assertFalse(plan.fits(replaced));
+        try
+        {
+            VariablePuller.getInstance().pull(replaced, plan, this);
+            Assert.fail("expected ParseException");
+        } catch (final ParseException e)
+        {
+            Assert.assertEquals("the pull plan was not made for these arguments", e.getMessage());
+        }
+
+        final List<ICmdLineArg<?>> unshared = new ArrayList<>();
+        unshared.add(new StringCLA().setKeyword("updatedStr").setVariable("updatedStr"));
+        final PullPlan unsharedPlan = PullPlan.of(unshared, PullTest.class);
+        unshared.get(0).setVariable("innerParm");
+        Assert.assertFalse(unsharedPlan.fits(unshared));
+    }
+
+    /**
+     * <p>
+     * pullNestedGroups.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void pullNestedGroups() throws Exception
+    {
+        final ICmdLine cl = new CmdLine();
+        cl.parse(this, "--updatedStr was");
+
+        outerParmList = new ArrayList<>();
+        for (int o = 0; o < 100; o++)
+        {
+            final OuterParm outer = new OuterParm();
+            outer.inner = new ArrayList<>();
+            for (int i = 0; i < 2; i++)
+            {
+                final InnerParm inner = new InnerParm();
+                inner.innerParmString = "v" + o + "." + i;
+                outer.inner.add(inner);
+            }
+            outerParmList.add(outer);
+        }
+
+        for (int pull = 0; pull < 2; pull++)
+        {
+            cl.pull(this);
+            final CmdLineCLA outerArg = (CmdLineCLA) cl.arg("--outerParmList");
+            Assert.assertEquals(100, outerArg.size());
+            final CmdLineCLA innerArg = (CmdLineCLA) outerArg.getValue(99).arg("--inner");
+            Assert.assertEquals(2, innerArg.size());
+            Assert.assertEquals("v99.1", innerArg.getValue(1).arg("--innerParmString").getValue());
+            /*
+             * The occurrences share the templates of their groups.
+             */
+            Assert.assertSame(((CmdLineCLA) outerArg.templateCmdLine.arg("--inner")).templateCmdLine,
+                    innerArg.templateCmdLine);
+        }
+    }
+
     /**
      * <p>
      * updateArray.
@@ -0,0 +1,139 @@
+package com.obdobion.argument;
+
+import java.text.ParseException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.obdobion.argument.annotation.Arg;
+import com.obdobion.argument.input.CommandLineParser;
+import com.obdobion.argument.input.Token;
+import com.obdobion.argument.input.TokenIndex;
+
+/**
+ * <p>
+ * TokenIndexTest class.
+ * </p>
+ *
+ * @author Chris DeGreef fedupforone@gmail.com
+ * @since 4.3.8
+ */
+public class TokenIndexTest
+{
+    static public class Group
+    {
+        @Arg(shortName = 'i')
+        int[] ints;
+    }
+
+    @Arg(shortName = 'v')
+    boolean   verbose;
+
+    @Arg(shortName = 'n')
+    int[]     numbers;
+
+    @Arg(shortName = 'g', multimax = 100)
+    Group[]   groups;
+
+    @Arg(positional = true)
+    String    name;
+
+    /**
+     * <p>
+     * longValueListsAreParsed.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void longValueListsAreParsed() throws Exception
+    {
+        final StringBuilder input = new StringBuilder("thename -v -n");
+        for (int n = 0; n < 5000; n++)
+            input.append(' ').append(n);
+        input.append(" -g");
+        for (int g = 0; g < 100; g++)
+            input.append(" (-i ").append(g).append(' ').append(g + 1).append(')');
+
+        CmdLine.load(this, input.toString());
+
+        Assert.assertTrue(verbose);
+        Assert.assertEquals(5000, numbers.length);
+        Assert.assertEquals(4999, numbers[4999]);
+        Assert.assertEquals(100, groups.length);
+        Assert.assertEquals(99, groups[99].ints[0]);
+        Assert.assertEquals(100, groups[99].ints[1]);
+        Assert.assertEquals("thename", name);
+    }
+
+    /**
+     * <p>
+     * rangesAreRespected.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void rangesAreRespected() throws Exception
+    {
+        final Token[] tokens = CommandLineParser.getInstance('-', "-a ( -b c ) d").parseTokens();
+        final TokenIndex index = new TokenIndex(tokens);
+
+        Assert.assertEquals(0, index.nextCommand(0, tokens.length));
+        Assert.assertEquals(2, index.nextCommand(1, tokens.length));
+        Assert.assertEquals(4, index.nextCommand(3, 4));
+        Assert.assertEquals(1, index.nextBracket(0, tokens.length));
+        Assert.assertEquals(4, index.nextBracket(2, tokens.length));
+        Assert.assertEquals(tokens.length, index.nextDirective(0, tokens.length));
+        Assert.assertEquals(3, index.count(2, 5));
+    }
+
+    /**
+     * <p>
+     * unbalancedBracketsAreStillReported.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void unbalancedBracketsAreStillReported() throws Exception
+    {
+        try
+        {
+            CmdLine.load(this, "-g (-i 1");
+            Assert.fail("error should have occurred");
+        } catch (final ParseException e)
+        {
+            Assert.assertEquals("Unmatched bracket", e.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * usedTokensAreSkipped.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void usedTokensAreSkipped() throws Exception
+    {
+        final Token[] tokens = CommandLineParser.getInstance('-', "-a b -c d").parseTokens();
+        final TokenIndex index = new TokenIndex(tokens);
+
+        Assert.assertTrue(index.hasUnused(0, tokens.length));
+        tokens[0].setUsed(true);
+        tokens[1].setUsed(true);
+        Assert.assertEquals(2, index.nextUnused(0, tokens.length));
+        Assert.assertEquals(2, index.nextCommand(0, tokens.length));
+        tokens[2].setUsed(true);
+        tokens[3].setUsed(true);
+        Assert.assertFalse(index.hasUnused(0, tokens.length));
+        Assert.assertEquals(tokens.length, index.nextCommand(0, tokens.length));
+        Assert.assertEquals(0, index.count(0, tokens.length));
+    }
+}
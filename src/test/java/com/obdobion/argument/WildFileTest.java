@@ -1,6 +1,14 @@
 package com.obdobion.argument;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -19,9 +27,64 @@ import com.obdobion.argument.type.WildPath;
  */
 public class WildFileTest
 {
+    static public class PathIterable
+    {
+        @Arg(positional = true, multimin = 1)
+        Iterable<Path> paths;
+    }
+
+    static public class PathStream
+    {
+        @Arg(positional = true, multimin = 1)
+        Stream<Path> paths;
+    }
+
+    static public class ShallowPaths
+    {
+        @Arg(positional = true, multimin = 1, maxDepth = 1)
+        Stream<Path> paths;
+        @Arg(shortName = 'w', maxDepth = 1, parallelism = 4)
+        WildFiles    files;
+    }
+
+    static public class SingleThread
+    {
+        @Arg(positional = true, parallelism = 0)
+        WildFiles files;
+    }
+
+    static public class StringWithDepth
+    {
+        @Arg(positional = true, maxDepth = 1)
+        String name;
+    }
+
     @Arg(positional = true, multimin = 1)
     public WildFiles wildFile;
 
+    /**
+     * <p>
+     * iterableOfPaths.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void iterableOfPaths() throws Exception
+    {
+        final PathIterable target = new PathIterable();
+        CmdLine.load(target, "src/main/java/com/obdobion/argument/*java LICENSE");
+        int count = 0;
+        for (final Path path : target.paths)
+        {
+            Assert.assertTrue(Files.isRegularFile(path));
+            count++;
+        }
+        CmdLine.load(this, "src/main/java/com/obdobion/argument/*java LICENSE");
+        Assert.assertEquals(wildFile.files().size(), count);
+    }
+
     /**
      * <p>
      * patternConversionsNix.
@@ -94,6 +157,66 @@ public class WildFileTest
         Assert.assertEquals(0, wildFile.files().size());
     }
 
+    /**
+     * <p>
+     * scanSettingsFromTheAnnotation.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void scanSettingsFromTheAnnotation() throws Exception
+    {
+        final String deep = "src/main/java/com/obdobion/**/WildFiles.java";
+        final ShallowPaths target = new ShallowPaths();
+        CmdLine.load(target, deep + " -w " + deep + " src/main/java/com/obdobion/argument/*/WildFiles.java");
+        Assert.assertEquals(1, target.paths.count());
+        Assert.assertEquals(0, target.files.files().size());
+        CmdLine.load(this, deep);
+        Assert.assertEquals(1, wildFile.files().size());
+
+        try
+        {
+            CmdLine.load(new SingleThread(), deep);
+            Assert.fail("expected ParseException");
+        } catch (final ParseException e)
+        {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("parallelism must be at least 1, not 0"));
+        }
+        try
+        {
+            CmdLine.load(new StringWithDepth(), "name");
+            Assert.fail("expected ParseException");
+        } catch (final ParseException e)
+        {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("maxDepth is not allowed"));
+        }
+    }
+
+    /**
+     * <p>
+     * settingTheScanListsTheFilesAgain.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void settingTheScanListsTheFilesAgain() throws Exception
+    {
+        CmdLine.load(this, "src/main/java/com/obdobion/**/WildFiles.java");
+        Assert.assertEquals(1, wildFile.files().size());
+        wildFile.setMaxDepth(1);
+        Assert.assertEquals(0, wildFile.files().size());
+        wildFile.setParallelism(2).setMaxDepth(2);
+        Assert.assertEquals(1, wildFile.files().size());
+
+        final WildFiles known = new WildFiles(new File("LICENSE"));
+        known.setMaxDepth(0);
+        Assert.assertEquals(1, known.files().size());
+    }
+
     /**
      * <p>
      * specificDirSearch.
@@ -109,6 +232,31 @@ public class WildFileTest
         Assert.assertTrue(0 < wildFile.files().size());
     }
 
+    /**
+     * <p>
+     * streamOfPaths.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void streamOfPaths() throws Exception
+    {
+        final PathStream target = new PathStream();
+        CmdLine.load(target, "src/main/java/com/obdobion/argument/*java");
+        CmdLine.load(this, "src/main/java/com/obdobion/argument/*java");
+        final List<File> expected = wildFile.files();
+        Assert.assertEquals(expected, target.paths.map(new Function<Path, File>()
+        {
+            @Override
+            public File apply(final Path path)
+            {
+                return path.toFile();
+            }
+        }).collect(Collectors.<File> toList()));
+    }
+
     /**
      * <p>
      * validRegex.
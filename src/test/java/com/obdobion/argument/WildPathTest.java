@@ -1,5 +1,19 @@
 package com.obdobion.argument;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -15,6 +29,391 @@ import com.obdobion.argument.type.WildPath;
  */
 public class WildPathTest
 {
+    static private Path createTree(final String... files) throws IOException
+    {
+        final Path root = Files.createTempDirectory("WildPathTest");
+        for (final String file : files)
+        {
+            final Path path = root.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.createFile(path);
+        }
+        return root;
+    }
+
+    static private void deleteTree(final Path root) throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(root))
+        {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                Files.delete(path);
+        }
+    }
+
+    /**
+     * <p>
+     * concurrentPatternsAreParsedIndependently.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void concurrentPatternsAreParsedIndependently() throws Exception
+    {
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try
+        {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int p = 0; p < 400; p++)
+            {
+                final int directory = p % 20;
+                results.add(pool.submit(new Callable<String>()
+                {
+                    @Override
+                    public String call() throws Exception
+                    {
+                        return new WildPath("/a" + directory + "/b/*/*.txt").startingPath();
+                    }
+                }));
+            }
+            for (int p = 0; p < results.size(); p++)
+                Assert.assertEquals("/a" + (p % 20) + "/b/", results.get(p).get());
+        } finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * <p>
+     * doubleStarMatchesAnyDepth.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void doubleStarMatchesAnyDepth() throws Exception
+    {
+        final Path root = createTree("x.txt", "a/x.txt", "a/b/x.txt", "a/b/y.txt");
+        try
+        {
+            Assert.assertEquals(3, new WildPath(root + "/**/x.txt").files().size());
+            Assert.assertEquals(2, new WildPath(root + "/a/**/x.txt").files().size());
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * filesAreInNameOrder.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void filesAreInNameOrder() throws Exception
+    {
+        final Path root = createTree("b/x.txt", "a/y.txt", "a/x.txt", "c.txt", "a/b/x.txt");
+        try
+        {
+            final List<File> files = new WildPath(root + "/**/*.txt").files();
+            Assert.assertEquals(5, files.size());
+            Assert.assertEquals(root.resolve("c.txt").toFile(), files.get(0));
+            Assert.assertEquals(root.resolve("a/x.txt").toFile(), files.get(1));
+            Assert.assertEquals(root.resolve("a/y.txt").toFile(), files.get(2));
+            Assert.assertEquals(root.resolve("a/b/x.txt").toFile(), files.get(3));
+            Assert.assertEquals(root.resolve("b/x.txt").toFile(), files.get(4));
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * iteratorFindsTheSameFilesAsFiles.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void iteratorFindsTheSameFilesAsFiles() throws Exception
+    {
+        final Path root = createTree("b/x.txt", "a/y.txt", "a/x.txt", "c.txt", "a/b/x.txt", "a/b/z.csv");
+        try
+        {
+            final WildPath wildPath = new WildPath(root + "/**/*.txt");
+            final List<File> files = new ArrayList<>();
+            for (final Path path : wildPath)
+                files.add(path.toFile());
+            Assert.assertEquals(wildPath.files(), files);
+            Assert.assertEquals(root.resolve("c.txt"), wildPath.paths().findFirst().get());
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * linkLoopsAreNotFollowed.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void linkLoopsAreNotFollowed() throws Exception
+    {
+        final Path root = createTree("a/x.txt");
+        try
+        {
+            Files.createSymbolicLink(root.resolve("a/loop"), root);
+            Assert.assertEquals(1, new WildPath(root + "/**/x.txt").files().size());
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * matchingIgnoresCase.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void matchingIgnoresCase() throws Exception
+    {
+        final Path root = createTree("Logs/X.TXT", "logs/y.Txt", "other/z.txt");
+        try
+        {
+            Assert.assertEquals(2, new WildPath(root + "/LOG?/*.txt").files().size());
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * maxDepthLimitsDoubleStar.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void maxDepthLimitsDoubleStar() throws Exception
+    {
+        final Path root = createTree("x.txt", "a/x.txt", "a/b/x.txt");
+        try
+        {
+            Assert.assertEquals(2, new WildPath(root + "/**/x.txt").setMaxDepth(1).files().size());
+            Assert.assertEquals(1, new WildPath(root + "/**/x.txt").setMaxDepth(0).files().size());
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * missingStartingPathHasNoFiles.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void missingStartingPathHasNoFiles() throws Exception
+    {
+        final Path root = createTree();
+        try
+        {
+            Assert.assertEquals(0, new WildPath(root + "/missing/*/*.txt").files().size());
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * noWildDirectoryDoesNotDescend.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void noWildDirectoryDoesNotDescend() throws Exception
+    {
+        final Path root = createTree("x.txt", "a/x.txt");
+        try
+        {
+            final List<File> files = new WildPath(root + "/*.txt").files();
+            Assert.assertEquals(1, files.size());
+            Assert.assertEquals(root.resolve("x.txt").toFile(), files.get(0));
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * onlyFilesOfMatchingDirectories.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void onlyFilesOfMatchingDirectories() throws Exception
+    {
+        final Path root = createTree("c.txt", "a/x.txt", "a/y.csv", "b/z.txt");
+        try
+        {
+            final List<File> files = new WildPath(root + "/*/*.txt").files();
+            Assert.assertEquals(2, files.size());
+            Assert.assertTrue(files.contains(root.resolve("a/x.txt").toFile()));
+            Assert.assertTrue(files.contains(root.resolve("b/z.txt").toFile()));
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * onlyMatchingPrefixesAreSearched.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void onlyMatchingPrefixesAreSearched() throws Exception
+    {
+        final Path root = createTree("2026-01/in/a.csv", "2026-02/out/b.csv", "2025-01/in/c.csv",
+                "2026-03/in/deeper/d.csv");
+        try
+        {
+            final List<File> files = new WildPath(root + "/2026-*/in/*.csv").files();
+            Assert.assertEquals(1, files.size());
+            Assert.assertEquals(root.resolve("2026-01/in/a.csv").toFile(), files.get(0));
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * parallelScanHasTheSameResult.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void parallelScanHasTheSameResult() throws Exception
+    {
+        final List<String> tree = new ArrayList<>();
+        for (int d = 0; d < 20; d++)
+            for (int f = 0; f < 5; f++)
+                tree.add("d" + d + "/s" + (f % 2) + "/f" + f + ".txt");
+        final Path root = createTree(tree.toArray(new String[tree.size()]));
+        try
+        {
+            final List<File> serial = new WildPath(root + "/**/*.txt").files();
+            final List<File> parallel = new WildPath(root + "/**/*.txt").setParallelism(4).files();
+            Assert.assertEquals(100, serial.size());
+            Assert.assertEquals(serial, parallel);
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * regexCharactersMatchThemselves.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void regexCharactersMatchThemselves() throws Exception
+    {
+        final Path root = createTree("a+b(1).txt", "aab(1).txt", "a+b(1)xtxt", "[x]{2}$.txt", "xx.txt");
+        try
+        {
+            Assert.assertEquals(1, new WildPath(root + "/a+b(?).txt").files().size());
+            Assert.assertEquals(1, new WildPath(root + "/[x]{*}$.txt").files().size());
+            Assert.assertEquals(0, new WildPath(root + "/x.txt").files().size());
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * starOnlyMatchesOneDirectory.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void starOnlyMatchesOneDirectory() throws Exception
+    {
+        final Path root = createTree("a/x.txt", "a/b/x.txt");
+        try
+        {
+            final List<File> files = new WildPath(root + "/*/x.txt").files();
+            Assert.assertEquals(1, files.size());
+            Assert.assertEquals(root.resolve("a/x.txt").toFile(), files.get(0));
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
+    /**
+     * <p>
+     * starsBacktrack.
+     * </p>
+     *
+     * @throws java.lang.Exception if any.
+     * @since 4.3.8
+     */
+    @Test
+    public void starsBacktrack() throws Exception
+    {
+        final Path root = createTree("abab.txt", "abba.txt", "ab.txt.txt", "b.txt");
+        try
+        {
+            Assert.assertEquals(3, new WildPath(root + "/*ab*.txt").files().size());
+            Assert.assertEquals(1, new WildPath(root + "/*.txt.txt").files().size());
+            Assert.assertEquals(1, new WildPath(root + "/ab?b.*").files().size());
+        } finally
+        {
+            deleteTree(root);
+        }
+    }
+
     /**
      * <p>
      * startingPathAbsolute.